@@ -0,0 +1,96 @@
+package com.makestar.chat.websocket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.makestar.chat.dto.ChatMessageDto;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+/**
+ * 채팅방 메시지 바이너리 코덱({@link BinaryChatMessageCodec})과 기존 JSON(Jackson) 경로의
+ * 인코딩, 디코딩 왕복 비용과 페이로드 크기를 비교하는 벤치마크
+ * JSON 경로는 STOMP 기본 메시지 컨버터(MappingJackson2MessageConverter)와 같은 방식으로 만든 ObjectMapper를 사용합니다.
+ * <pre>
+ * ./gradlew :services:chat-service:codecBenchmark
+ * </pre>
+ * 측정 전에 워밍업을 반복하며, 결과는 측정 반복별 왕복 1회당 평균 시간(ns)입니다.
+ */
+public final class BinaryChatMessageCodecBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int MEASURE_ITERATIONS = 5;
+    private static final int OPERATIONS_PER_ITERATION = 200_000;
+
+    /** 결과가 최적화로 제거되지 않도록 누적하는 값 */
+    private static long blackhole;
+
+    private BinaryChatMessageCodecBenchmark() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        ChatMessageDto message = typicalMessage();
+
+        byte[] json = objectMapper.writeValueAsBytes(message);
+        byte[] binary = BinaryChatMessageCodec.encode(message);
+        verifyRoundTrip(message, objectMapper.readValue(json, ChatMessageDto.class), "json");
+        verifyRoundTrip(message, BinaryChatMessageCodec.decode(binary), "binary");
+        System.out.printf("payload size: json=%d bytes, binary=%d bytes%n", json.length, binary.length);
+
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            jsonRoundTrip(objectMapper, message);
+            binaryRoundTrip(message);
+        }
+        for (int i = 0; i < MEASURE_ITERATIONS; i++) {
+            long jsonNanos = jsonRoundTrip(objectMapper, message);
+            long binaryNanos = binaryRoundTrip(message);
+            System.out.printf("iteration %d: json=%d ns/op, binary=%d ns/op%n", i + 1,
+                    jsonNanos / OPERATIONS_PER_ITERATION, binaryNanos / OPERATIONS_PER_ITERATION);
+        }
+        System.out.println("(checksum " + blackhole + ")");
+    }
+
+    private static long jsonRoundTrip(ObjectMapper objectMapper, ChatMessageDto message) throws IOException {
+        long start = System.nanoTime();
+        for (int i = 0; i < OPERATIONS_PER_ITERATION; i++) {
+            byte[] payload = objectMapper.writeValueAsBytes(message);
+            blackhole += objectMapper.readValue(payload, ChatMessageDto.class).getContent().length();
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static long binaryRoundTrip(ChatMessageDto message) {
+        long start = System.nanoTime();
+        for (int i = 0; i < OPERATIONS_PER_ITERATION; i++) {
+            byte[] payload = BinaryChatMessageCodec.encode(message);
+            blackhole += BinaryChatMessageCodec.decode(payload).getContent().length();
+        }
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * 채팅방에 브로드캐스트되는 일반적인 텍스트 메시지
+     */
+    private static ChatMessageDto typicalMessage() {
+        return ChatMessageDto.builder()
+                .id(UUID.randomUUID().toString())
+                .chatRoomId(UUID.randomUUID().toString())
+                .seq(1234L)
+                .senderId(UUID.randomUUID().toString())
+                .senderName("김메이크")
+                .content("내일 회의는 3시에 2층 회의실에서 진행합니다. 자료는 미리 공유해 주세요!")
+                .type("TEXT")
+                .sentAt(LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS))
+                .build();
+    }
+
+    private static void verifyRoundTrip(ChatMessageDto expected, ChatMessageDto actual, String codec) {
+        if (!expected.equals(actual)) {
+            throw new IllegalStateException(codec + " round trip changed the message: " + actual);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.makestar.chat.broadcast;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 직렬화된 메시지를 현재 인스턴스의 메시지 브로커로 전달하는 컴포넌트
+ * 이미 직렬화된 본문을 다시 변환하지 않고 그대로 전달합니다.
+ * STOMP message-id는 세션마다 새로 만들지 않고 브로드캐스트 단위로 지정하여,
+ * 모든 구독자의 프레임을 한 번만 인코딩할 수 있게 합니다({@link SharedFrameStompEncoder}).
+ */
+@Component
+@RequiredArgsConstructor
+public class LocalRoomDelivery {
+
+    /** 인스턴스마다 다른 message-id prefix */
+    private static final String MESSAGE_ID_PREFIX = UUID.randomUUID().toString().substring(0, 8) + "-";
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final AtomicLong messageIdCounter = new AtomicLong();
+
+    /**
+     * 메시지를 현재 인스턴스의 구독자에게 전달합니다.
+     *
+     * @param destination STOMP 목적지
+     * @param contentType 메시지 본문 형식
+     * @param payload 직렬화된 메시지 본문
+     */
+    public void deliver(String destination, MimeType contentType, byte[] payload) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setContentType(contentType);
+        accessor.setNativeHeader(StompHeaderAccessor.STOMP_MESSAGE_ID_HEADER,
+                MESSAGE_ID_PREFIX + messageIdCounter.incrementAndGet());
+        accessor.setLeaveMutable(true);
+        messagingTemplate.send(destination, MessageBuilder.createMessage(payload, accessor.getMessageHeaders()));
+    }
+}
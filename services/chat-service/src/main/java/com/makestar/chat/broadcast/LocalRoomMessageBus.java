@@ -0,0 +1,23 @@
+package com.makestar.chat.broadcast;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+
+/**
+ * 메시지를 현재 인스턴스의 브로커로 바로 전달하는 RoomMessageBus 구현 클래스 (기본값)
+ * 단일 인스턴스이거나, 외부 브로커 릴레이(chat.broker.mode=relay)가 인스턴스 간 전달을 맡을 때 사용합니다.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "chat.broadcast.bus", havingValue = "local", matchIfMissing = true)
+public class LocalRoomMessageBus implements RoomMessageBus {
+
+    private final LocalRoomDelivery localRoomDelivery;
+
+    @Override
+    public void publish(String roomId, String destination, MimeType contentType, byte[] payload) {
+        localRoomDelivery.deliver(destination, contentType, payload);
+    }
+}
@@ -0,0 +1,126 @@
+package com.makestar.chat.broadcast;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Redis pub/sub 채널을 거쳐 모든 인스턴스로 메시지를 전달하는 RoomMessageBus 구현 클래스 (chat.broadcast.bus=redis)
+ * 채팅방마다 chat:room:{roomId} 채널을 사용하며, 각 인스턴스는 자신의 세션이 구독 중인 채팅방의 채널만 수신합니다.
+ * 발행한 인스턴스도 같은 채널로 메시지를 받아 전달하므로 전달 경로는 하나입니다.
+ * Redis 메시지 본문은 [목적지 길이(2바이트)][목적지][본문 형식 길이(2바이트)][본문 형식][메시지 본문] 형식이며,
+ * 문자열은 UTF-8로 기록합니다.
+ */
+@Component
+@ConditionalOnProperty(name = "chat.broadcast.bus", havingValue = "redis")
+@Slf4j
+public class RedisRoomMessageBus implements RoomMessageBus, MessageListener {
+
+    /** 채팅방 채널 prefix */
+    private static final String CHANNEL_PREFIX = "chat:room:";
+
+    private final RedisTemplate<String, byte[]> roomBroadcastRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final LocalRoomDelivery localRoomDelivery;
+    private final RoomSubscriptionTracker subscriptionTracker = new RoomSubscriptionTracker();
+
+    public RedisRoomMessageBus(RedisTemplate<String, byte[]> roomBroadcastRedisTemplate,
+                               RedisMessageListenerContainer roomBroadcastListenerContainer,
+                               LocalRoomDelivery localRoomDelivery,
+                               MeterRegistry meterRegistry) {
+        this.roomBroadcastRedisTemplate = roomBroadcastRedisTemplate;
+        this.listenerContainer = roomBroadcastListenerContainer;
+        this.localRoomDelivery = localRoomDelivery;
+        Gauge.builder("chat.broadcast.redis.subscribed.rooms", subscriptionTracker, RoomSubscriptionTracker::roomCount)
+                .description("Rooms whose Redis channel this instance listens to")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void publish(String roomId, String destination, MimeType contentType, byte[] payload) {
+        byte[] destinationBytes = destination.getBytes(StandardCharsets.UTF_8);
+        byte[] contentTypeBytes = contentType.toString().getBytes(StandardCharsets.UTF_8);
+        ByteBuffer body = ByteBuffer.allocate(
+                2 * Short.BYTES + destinationBytes.length + contentTypeBytes.length + payload.length);
+        body.putShort((short) destinationBytes.length);
+        body.put(destinationBytes);
+        body.putShort((short) contentTypeBytes.length);
+        body.put(contentTypeBytes);
+        body.put(payload);
+        roomBroadcastRedisTemplate.convertAndSend(CHANNEL_PREFIX + roomId, body.array());
+    }
+
+    /**
+     * Redis 채널로 받은 메시지를 현재 인스턴스의 구독자에게 전달합니다.
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        ByteBuffer buffer = ByteBuffer.wrap(message.getBody());
+        String destination = readString(buffer);
+        MimeType contentType = MimeType.valueOf(readString(buffer));
+        byte[] payload = new byte[buffer.remaining()];
+        buffer.get(payload);
+        localRoomDelivery.deliver(destination, contentType, payload);
+    }
+
+    /**
+     * 채팅방 구독이 생기면 해당 채팅방의 Redis 채널 수신을 시작합니다.
+     */
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        String roomId = RoomDestinations.roomIdOf(accessor.getDestination());
+        if (roomId != null
+                && subscriptionTracker.subscribe(accessor.getSessionId(), accessor.getSubscriptionId(), roomId)) {
+            log.debug("Listening to Redis channel for room {}", roomId);
+            listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL_PREFIX + roomId));
+        }
+    }
+
+    /**
+     * 채팅방의 마지막 구독이 해제되면 해당 채팅방의 Redis 채널 수신을 멈춥니다.
+     */
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        String roomId = subscriptionTracker.unsubscribe(accessor.getSessionId(), accessor.getSubscriptionId());
+        if (roomId != null) {
+            stopListening(roomId);
+        }
+    }
+
+    /**
+     * 세션이 종료되면 세션의 모든 구독을 해제합니다.
+     */
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        subscriptionTracker.removeSession(event.getSessionId()).forEach(this::stopListening);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[Short.toUnsignedInt(buffer.getShort())];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private void stopListening(String roomId) {
+        log.debug("Stopped listening to Redis channel for room {}", roomId);
+        listenerContainer.removeMessageListener(this, new ChannelTopic(CHANNEL_PREFIX + roomId));
+    }
+}
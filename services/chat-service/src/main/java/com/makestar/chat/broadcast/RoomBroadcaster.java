@@ -0,0 +1,58 @@
+package com.makestar.chat.broadcast;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 채팅방 구독자에게 메시지를 브로드캐스트하는 컴포넌트
+ * 메시지를 한 번만 직렬화한 뒤 {@link RoomMessageBus}로 발행합니다.
+ * 문자열은 그대로(text/plain), 그 외의 객체는 JSON(application/json)으로 직렬화합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class RoomBroadcaster {
+
+    private static final MimeType TEXT_PLAIN_UTF8 = new MimeType(MimeTypeUtils.TEXT_PLAIN, StandardCharsets.UTF_8);
+
+    private final RoomMessageBus roomMessageBus;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 채팅방 메시지 목적지(/topic/chat/{roomId})로 브로드캐스트합니다.
+     *
+     * @param roomId 채팅방 ID
+     * @param payload 전송할 메시지
+     */
+    public void broadcast(String roomId, Object payload) {
+        broadcast(roomId, null, payload);
+    }
+
+    /**
+     * 채팅방 부가 이벤트 목적지(/topic/chat/{roomId}/{event})로 브로드캐스트합니다.
+     *
+     * @param roomId 채팅방 ID
+     * @param event 이벤트 접미사 ({@link RoomDestinations#READ}, {@link RoomDestinations#TYPING} 등)
+     * @param payload 전송할 메시지
+     */
+    public void broadcast(String roomId, String event, Object payload) {
+        String destination = RoomDestinations.room(roomId, event);
+        if (payload instanceof String) {
+            roomMessageBus.publish(roomId, destination, TEXT_PLAIN_UTF8,
+                    ((String) payload).getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        byte[] serialized;
+        try {
+            serialized = objectMapper.writeValueAsBytes(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Failed to serialize broadcast payload for room " + roomId, e);
+        }
+        roomMessageBus.publish(roomId, destination, MimeTypeUtils.APPLICATION_JSON, serialized);
+    }
+}
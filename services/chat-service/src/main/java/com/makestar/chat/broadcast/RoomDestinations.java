@@ -0,0 +1,74 @@
+package com.makestar.chat.broadcast;
+
+/**
+ * 채팅방 브로드캐스트 목적지 규칙
+ * 채팅방 메시지는 /topic/chat/{roomId}, 부가 이벤트는 /topic/chat/{roomId}/{event} 로 전달됩니다.
+ */
+public final class RoomDestinations {
+
+    /** 채팅방 목적지 prefix */
+    public static final String ROOM_TOPIC_PREFIX = "/topic/chat/";
+
+    /** 읽음 이벤트 목적지 접미사 */
+    public static final String READ = "read";
+
+    /** 읽음 위치 이벤트 목적지 접미사 (사용자별 마지막으로 읽은 순번 목록) */
+    public static final String READ_RECEIPTS = "read-receipts";
+
+    /** 입력 중 이벤트 목적지 접미사 */
+    public static final String TYPING = "typing";
+
+    private RoomDestinations() {
+    }
+
+    /**
+     * 채팅방 메시지 목적지를 반환합니다.
+     *
+     * @param roomId 채팅방 ID
+     * @return 목적지
+     */
+    public static String room(String roomId) {
+        return ROOM_TOPIC_PREFIX + roomId;
+    }
+
+    /**
+     * 채팅방 부가 이벤트 목적지를 반환합니다.
+     *
+     * @param roomId 채팅방 ID
+     * @param event 이벤트 접미사 (null이면 채팅방 메시지 목적지)
+     * @return 목적지
+     */
+    public static String room(String roomId, String event) {
+        return event == null ? room(roomId) : room(roomId) + "/" + event;
+    }
+
+    /**
+     * 목적지에서 채팅방 ID를 추출합니다.
+     *
+     * @param destination 구독 또는 발행 목적지
+     * @return 채팅방 ID. 채팅방 목적지가 아니면 null
+     */
+    public static String roomIdOf(String destination) {
+        if (destination == null || !destination.startsWith(ROOM_TOPIC_PREFIX)) {
+            return null;
+        }
+        int start = ROOM_TOPIC_PREFIX.length();
+        int end = destination.indexOf('/', start);
+        String roomId = end < 0 ? destination.substring(start) : destination.substring(start, end);
+        return roomId.isEmpty() ? null : roomId;
+    }
+
+    /**
+     * 목적지에서 채팅방 부가 이벤트 접미사를 추출합니다.
+     *
+     * @param destination 구독 또는 발행 목적지
+     * @return 이벤트 접미사 (read, typing 등). 채팅방 부가 이벤트 목적지가 아니면 null
+     */
+    public static String eventOf(String destination) {
+        if (destination == null || !destination.startsWith(ROOM_TOPIC_PREFIX)) {
+            return null;
+        }
+        int end = destination.indexOf('/', ROOM_TOPIC_PREFIX.length());
+        return end < 0 || end == destination.length() - 1 ? null : destination.substring(end + 1);
+    }
+}
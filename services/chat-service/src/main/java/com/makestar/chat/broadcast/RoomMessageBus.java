@@ -0,0 +1,21 @@
+package com.makestar.chat.broadcast;
+
+import org.springframework.util.MimeType;
+
+/**
+ * 직렬화된 채팅방 메시지를 구독자가 연결된 인스턴스로 전달하는 버스
+ * chat.broadcast.bus 설정에 따라 현재 인스턴스의 브로커로 바로 전달(local)하거나,
+ * Redis pub/sub 채널을 거쳐 모든 인스턴스로 전달(redis)합니다.
+ */
+public interface RoomMessageBus {
+
+    /**
+     * 채팅방 메시지를 발행합니다.
+     *
+     * @param roomId 채팅방 ID
+     * @param destination STOMP 목적지
+     * @param contentType 메시지 본문 형식
+     * @param payload 직렬화된 메시지 본문
+     */
+    void publish(String roomId, String destination, MimeType contentType, byte[] payload);
+}
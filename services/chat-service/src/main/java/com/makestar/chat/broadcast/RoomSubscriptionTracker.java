@@ -0,0 +1,92 @@
+package com.makestar.chat.broadcast;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 현재 인스턴스의 세션이 구독 중인 채팅방을 참조 횟수로 추적하는 클래스
+ * 채팅방의 첫 구독과 마지막 구독 해제를 알려주어, 구독자가 있는 채팅방의 채널만 수신하도록 합니다.
+ * 모든 메서드는 동기화되어 있습니다.
+ */
+public class RoomSubscriptionTracker {
+
+    /** 세션 ID별 (구독 ID별 채팅방 ID) */
+    private final Map<String, Map<String, String>> subscriptionsBySession = new HashMap<>();
+
+    /** 채팅방 ID별 구독 수 */
+    private final Map<String, Integer> subscriptionCounts = new HashMap<>();
+
+    /**
+     * 구독을 추가합니다.
+     *
+     * @param sessionId 세션 ID
+     * @param subscriptionId 구독 ID
+     * @param roomId 채팅방 ID
+     * @return 채팅방의 첫 구독이면 true
+     */
+    public synchronized boolean subscribe(String sessionId, String subscriptionId, String roomId) {
+        String previousRoomId = subscriptionsBySession
+                .computeIfAbsent(sessionId, id -> new HashMap<>())
+                .put(subscriptionId, roomId);
+        if (previousRoomId != null) {
+            decrement(previousRoomId);
+        }
+        return subscriptionCounts.merge(roomId, 1, Integer::sum) == 1;
+    }
+
+    /**
+     * 구독을 해제합니다.
+     *
+     * @param sessionId 세션 ID
+     * @param subscriptionId 구독 ID
+     * @return 채팅방의 마지막 구독이 해제되었으면 해당 채팅방 ID, 아니면 null
+     */
+    public synchronized String unsubscribe(String sessionId, String subscriptionId) {
+        Map<String, String> subscriptions = subscriptionsBySession.get(sessionId);
+        if (subscriptions == null) {
+            return null;
+        }
+        String roomId = subscriptions.remove(subscriptionId);
+        if (subscriptions.isEmpty()) {
+            subscriptionsBySession.remove(sessionId);
+        }
+        return roomId != null && decrement(roomId) ? roomId : null;
+    }
+
+    /**
+     * 세션의 모든 구독을 해제합니다.
+     *
+     * @param sessionId 세션 ID
+     * @return 마지막 구독이 해제된 채팅방 ID 목록
+     */
+    public synchronized Set<String> removeSession(String sessionId) {
+        Map<String, String> subscriptions = subscriptionsBySession.remove(sessionId);
+        if (subscriptions == null) {
+            return Set.of();
+        }
+        return subscriptions.values().stream()
+                .filter(this::decrement)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * 구독자가 있는 채팅방 수를 반환합니다.
+     *
+     * @return 채팅방 수
+     */
+    public synchronized int roomCount() {
+        return subscriptionCounts.size();
+    }
+
+    /**
+     * 채팅방의 구독 수를 줄입니다.
+     *
+     * @return 구독 수가 0이 되었으면 true
+     */
+    private boolean decrement(String roomId) {
+        Integer remaining = subscriptionCounts.computeIfPresent(roomId, (id, count) -> count > 1 ? count - 1 : null);
+        return remaining == null;
+    }
+}
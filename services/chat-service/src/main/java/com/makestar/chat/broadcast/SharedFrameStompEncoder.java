@@ -0,0 +1,72 @@
+package com.makestar.chat.broadcast;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompEncoder;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.NativeMessageHeaderAccessor;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 같은 브로드캐스트의 STOMP MESSAGE 프레임을 한 번만 인코딩하여 재사용하는 인코더
+ * 브로커는 구독자마다 같은 페이로드 배열을 전달하므로, 페이로드 배열(동일성 기준)과
+ * STOMP 헤더가 같은 프레임은 처음 인코딩한 바이트 배열을 그대로 반환합니다.
+ * 프레임 헤더는 구독 ID와 message-id만 세션마다 다를 수 있으며,
+ * message-id는 {@link LocalRoomDelivery}가 브로드캐스트 단위로 지정합니다.
+ * 인코딩 결과는 커맨드, 네이티브 헤더, 페이로드로만 결정되므로 재사용해도 결과는 같습니다.
+ */
+public class SharedFrameStompEncoder extends StompEncoder {
+
+    /** 페이로드 배열별 (네이티브 헤더별 인코딩된 프레임). 페이로드가 GC되면 함께 제거됨 */
+    private final Cache<byte[], Map<Map<String, List<String>>, byte[]>> frames;
+
+    private final Counter encodedFrames;
+    private final Counter reusedFrames;
+
+    public SharedFrameStompEncoder(MeterRegistry meterRegistry, long maximumPayloads, Duration expireAfterWrite) {
+        this.frames = Caffeine.newBuilder()
+                .weakKeys()
+                .maximumSize(maximumPayloads)
+                .expireAfterWrite(expireAfterWrite)
+                .build();
+        this.encodedFrames = Counter.builder("chat.broadcast.frames.encoded")
+                .description("STOMP MESSAGE frames encoded")
+                .register(meterRegistry);
+        this.reusedFrames = Counter.builder("chat.broadcast.frames.reused")
+                .description("STOMP MESSAGE frames served from an already encoded frame")
+                .register(meterRegistry);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public byte[] encode(Map<String, Object> headers, byte[] payload) {
+        if (payload.length == 0 || !StompCommand.MESSAGE.equals(StompHeaderAccessor.getCommand(headers))) {
+            return super.encode(headers, payload);
+        }
+        Map<String, List<String>> nativeHeaders =
+                (Map<String, List<String>>) headers.get(NativeMessageHeaderAccessor.NATIVE_HEADERS);
+        if (nativeHeaders == null) {
+            return super.encode(headers, payload);
+        }
+
+        Map<Map<String, List<String>>, byte[]> framesByHeaders =
+                frames.get(payload, key -> new ConcurrentHashMap<>());
+        byte[] frame = framesByHeaders.get(nativeHeaders);
+        if (frame != null) {
+            reusedFrames.increment();
+            return frame;
+        }
+        frame = super.encode(headers, payload);
+        encodedFrames.increment();
+        framesByHeaders.put(new HashMap<>(nativeHeaders), frame);
+        return frame;
+    }
+}
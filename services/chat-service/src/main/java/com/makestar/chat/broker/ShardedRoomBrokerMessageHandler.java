@@ -0,0 +1,192 @@
+package com.makestar.chat.broker;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.SubscribableChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.broker.AbstractBrokerMessageHandler;
+import org.springframework.messaging.simp.broker.DefaultSubscriptionRegistry;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MultiValueMap;
+
+import com.makestar.chat.broadcast.RoomDestinations;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 채팅방 단위로 샤딩된 /topic 메시지 브로커 (chat.broker.mode=sharded)
+ * 채팅방 ID의 해시로 N개의 샤드 중 하나를 고르고, 각 샤드는 자신의 구독 레지스트리와
+ * 단일 스레드 처리 큐를 가집니다. 구독 등록과 메시지 fan-out이 같은 샤드 스레드에서 순서대로 처리되므로
+ * 채팅방 내 메시지 순서는 유지되고, 구독자가 많은 채팅방이 다른 채팅방의 전달을 지연시키지 않습니다.
+ * 아웃바운드 채널로는 세션별 순서를 유지하는 채널(preservePublishOrder)을 통해 보내므로
+ * 샤드에서 정한 순서가 세션까지 그대로 유지됩니다.
+ * 채팅방이 아닌 /topic 목적지는 목적지 전체를 키로 샤드를 고릅니다.
+ *
+ * CONNECT, 하트비트, /queue 목적지(사용자 목적지 포함)는 함께 등록되는 Simple Broker가 처리합니다.
+ */
+@Component
+@ConditionalOnProperty(name = "chat.broker.mode", havingValue = "sharded")
+@Slf4j
+public class ShardedRoomBrokerMessageHandler extends AbstractBrokerMessageHandler {
+
+    /** 샤드 스레드 종료를 기다리는 시간 (초) */
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 5;
+
+    private final Shard[] shards;
+
+    /** 세션 ID별 (구독 ID별 샤드 번호). UNSUBSCRIBE 프레임에는 목적지가 없으므로 샤드를 기억해 둠 */
+    private final Map<String, Map<String, Integer>> shardsBySession = new ConcurrentHashMap<>();
+
+    public ShardedRoomBrokerMessageHandler(@Qualifier("clientInboundChannel") SubscribableChannel clientInboundChannel,
+                                           @Qualifier("clientOutboundChannel") MessageChannel clientOutboundChannel,
+                                           @Qualifier("brokerChannel") SubscribableChannel brokerChannel,
+                                           MeterRegistry meterRegistry,
+                                           @Value("${chat.broker.sharded.shards:0}") int shardCount) {
+        super(clientInboundChannel, clientOutboundChannel, brokerChannel, Collections.singletonList("/topic"));
+        // 아웃바운드 채널은 스레드 풀로 전달하므로, 세션별로 샤드에서 보낸 순서대로 전달되도록 함
+        setPreservePublishOrder(true);
+        int count = shardCount > 0 ? shardCount : Runtime.getRuntime().availableProcessors();
+        this.shards = new Shard[count];
+        for (int i = 0; i < count; i++) {
+            shards[i] = new Shard(i);
+            Gauge.builder("chat.broker.shard.queue.size", shards[i].executor, executor -> executor.getQueue().size())
+                    .tag("shard", String.valueOf(i))
+                    .description("Broker operations waiting on a room shard")
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    protected void startInternal() {
+        log.info("Sharded room broker started with {} shards", shards.length);
+    }
+
+    @Override
+    protected void stopInternal() {
+        for (Shard shard : shards) {
+            shard.executor.shutdown();
+        }
+        for (Shard shard : shards) {
+            try {
+                shard.executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    @Override
+    protected void handleMessageInternal(Message<?> message) {
+        SimpMessageType messageType = SimpMessageHeaderAccessor.getMessageType(message.getHeaders());
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        String subscriptionId = SimpMessageHeaderAccessor.getSubscriptionId(message.getHeaders());
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+
+        if (SimpMessageType.MESSAGE.equals(messageType)) {
+            if (checkDestinationPrefix(destination)) {
+                Shard shard = shardFor(destination);
+                shard.executor.execute(() -> shard.sendToSubscribers(destination, message));
+            }
+        } else if (SimpMessageType.SUBSCRIBE.equals(messageType)) {
+            if (checkDestinationPrefix(destination) && sessionId != null && subscriptionId != null) {
+                Shard shard = shardFor(destination);
+                shardsBySession.computeIfAbsent(sessionId, id -> new ConcurrentHashMap<>())
+                        .put(subscriptionId, shard.index);
+                shard.executor.execute(() -> shard.registry.registerSubscription(message));
+            }
+        } else if (SimpMessageType.UNSUBSCRIBE.equals(messageType)) {
+            Map<String, Integer> subscriptions = sessionId != null ? shardsBySession.get(sessionId) : null;
+            Integer shardIndex = subscriptions != null && subscriptionId != null
+                    ? subscriptions.remove(subscriptionId) : null;
+            if (shardIndex != null) {
+                Shard shard = shards[shardIndex];
+                shard.executor.execute(() -> shard.registry.unregisterSubscription(message));
+            }
+        } else if (SimpMessageType.DISCONNECT.equals(messageType)) {
+            Map<String, Integer> subscriptions = sessionId != null ? shardsBySession.remove(sessionId) : null;
+            if (subscriptions != null) {
+                Set<Integer> shardIndexes = new HashSet<>(subscriptions.values());
+                for (Integer shardIndex : shardIndexes) {
+                    Shard shard = shards[shardIndex];
+                    shard.executor.execute(() -> shard.registry.unregisterAllSubscriptions(sessionId));
+                }
+            }
+        }
+    }
+
+    /**
+     * 목적지를 처리할 샤드를 고릅니다.
+     * 채팅방 목적지(/topic/chat/{roomId}/...)는 채팅방 ID로 고르므로 채팅방의 모든 이벤트가 같은 샤드에서 처리됩니다.
+     */
+    private Shard shardFor(String destination) {
+        String roomId = RoomDestinations.roomIdOf(destination);
+        String key = roomId != null ? roomId : destination;
+        return shards[Math.floorMod(key.hashCode(), shards.length)];
+    }
+
+    /**
+     * 구독 레지스트리와 처리 스레드를 가진 샤드
+     * 레지스트리는 샤드 스레드에서만 사용됩니다.
+     */
+    private final class Shard {
+        private final int index;
+        private final DefaultSubscriptionRegistry registry = new DefaultSubscriptionRegistry();
+        private final ThreadPoolExecutor executor;
+
+        private Shard(int index) {
+            this.index = index;
+            this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "chat-broker-shard-" + index);
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+        }
+
+        /**
+         * 목적지를 구독한 모든 세션에 메시지를 전달합니다.
+         */
+        private void sendToSubscribers(String destination, Message<?> message) {
+            MultiValueMap<String, String> subscriptions = registry.findSubscriptions(message);
+            if (subscriptions.isEmpty()) {
+                return;
+            }
+            if (log.isTraceEnabled()) {
+                log.trace("Shard {} broadcasting to {} sessions on {}", index, subscriptions.size(), destination);
+            }
+            Object payload = message.getPayload();
+            for (Map.Entry<String, List<String>> entry : subscriptions.entrySet()) {
+                for (String subscriptionId : entry.getValue()) {
+                    SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+                    accessor.setSessionId(entry.getKey());
+                    accessor.setSubscriptionId(subscriptionId);
+                    accessor.copyHeadersIfAbsent(message.getHeaders());
+                    accessor.setLeaveMutable(true);
+                    try {
+                        getClientOutboundChannelForSession(entry.getKey())
+                                .send(MessageBuilder.createMessage(payload, accessor.getMessageHeaders()));
+                    } catch (RuntimeException e) {
+                        log.error("Failed to send {} to session {}", destination, entry.getKey(), e);
+                    }
+                }
+            }
+        }
+    }
+}
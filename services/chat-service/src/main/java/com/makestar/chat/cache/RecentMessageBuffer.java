@@ -0,0 +1,449 @@
+package com.makestar.chat.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import com.makestar.chat.dto.ChatMessageDto;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * 채팅방별 최근 메시지(발신자 이름이 채워진 ChatMessageDto)를 순번 순서로 보관하는 메모리 링 버퍼
+ * 채팅방마다 최대 per-room 개를 보관하며, 전체 크기는 메시지 크기 추정치의 합이 max-memory를 넘지 않도록
+ * Caffeine의 크기 기반 정책으로 오래 사용되지 않은 채팅방부터 제거합니다.
+ * <ul>
+ *   <li>적재(seed): 첫 페이지 조회 시 데이터베이스의 최근 메시지와 전체 메시지 수를 채워 넣습니다.
+ *       적재된 채팅방은 첫 페이지와 최근 메시지를 데이터베이스 조회 없이 응답합니다.</li>
+ *   <li>추가(append): 이 인스턴스에서 커밋된 메시지를 순번 위치에 추가합니다.</li>
+ *   <li>재적재: 다른 인스턴스에서 저장된 메시지는 버퍼에 추가되지 않으므로, 적재 후 refresh-after가 지나면
+ *       다음 조회에서 다시 적재합니다. (0이면 다시 적재하지 않음)</li>
+ * </ul>
+ * 재연결 요청은 요청한 순번 이후 구간이 버퍼에 빠짐없이 있을 때만 버퍼에서 응답하며, 이때는 적재되지 않은 버퍼도 사용합니다.
+ * 여러 인스턴스가 채팅방을 함께 처리하는 구성(chat.broadcast.bus=redis 또는 chat.broker.mode=relay)에서는
+ * 다른 인스턴스의 저장, 삭제, 읽음 표시가 버퍼에 반영되지 않으므로 버퍼를 사용하지 않고 항상 데이터베이스에서 조회합니다.
+ * <ul>
+ *   <li>chat.recent-messages.reads{result=hit|miss}: 첫 페이지와 최근 메시지 조회의 버퍼 적중 여부</li>
+ *   <li>chat.resume.requests{source=memory|database}: 재연결 요청의 응답 경로</li>
+ * </ul>
+ */
+@Component
+@Slf4j
+public class RecentMessageBuffer {
+
+    /** 캐시 지표에 사용하는 캐시 이름 */
+    private static final String CACHE_NAME = "chat.recent-messages";
+
+    /** 메시지 한 건의 고정 크기 추정치 (객체 헤더, ID 문자열, 시간 객체) */
+    private static final int MESSAGE_OVERHEAD_BYTES = 360;
+
+    /** 채팅방 버퍼 한 개의 고정 크기 추정치 */
+    private static final int ROOM_OVERHEAD_BYTES = 200;
+
+    private final int perRoomCapacity;
+    private final long refreshAfterNanos;
+    /** 이 인스턴스가 채팅방 쓰기를 모두 보는 구성(단일 인스턴스 브로드캐스트)인지 여부 */
+    private final boolean enabled;
+    private final Cache<String, RoomBuffer> rooms;
+    private final Counter readHits;
+    private final Counter readMisses;
+    private final Counter resumeMemoryHits;
+    private final Counter resumeDatabaseFallbacks;
+
+    public RecentMessageBuffer(MeterRegistry meterRegistry,
+                               @Value("${chat.recent-messages.per-room:50}") int perRoomCapacity,
+                               @Value("${chat.recent-messages.max-memory:64MB}") DataSize maxMemory,
+                               @Value("${chat.recent-messages.refresh-after:60s}") Duration refreshAfter,
+                               @Value("${chat.broadcast.bus:local}") String broadcastBus,
+                               @Value("${chat.broker.mode:simple}") String brokerMode) {
+        if (perRoomCapacity <= 0) {
+            throw new IllegalArgumentException("chat.recent-messages.per-room must be positive: " + perRoomCapacity);
+        }
+        this.perRoomCapacity = perRoomCapacity;
+        this.refreshAfterNanos = refreshAfter.toNanos();
+        this.enabled = !"redis".equals(broadcastBus) && !"relay".equals(brokerMode);
+        if (!enabled) {
+            log.info("Recent message buffer disabled (broadcast bus: {}, broker mode: {}); "
+                    + "room pages are read from the database", broadcastBus, brokerMode);
+        }
+        this.rooms = Caffeine.newBuilder()
+                .maximumWeight(maxMemory.toBytes())
+                .weigher((String roomId, RoomBuffer buffer) -> buffer.weight())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, rooms, CACHE_NAME);
+        this.readHits = Counter.builder("chat.recent-messages.reads")
+                .tag("result", "hit")
+                .description("Room first-page and latest-message reads served from memory")
+                .register(meterRegistry);
+        this.readMisses = Counter.builder("chat.recent-messages.reads")
+                .tag("result", "miss")
+                .description("Room first-page and latest-message reads that went to the database")
+                .register(meterRegistry);
+        this.resumeMemoryHits = Counter.builder("chat.resume.requests")
+                .tag("source", "memory")
+                .description("Resume requests served from the recent message buffer")
+                .register(meterRegistry);
+        this.resumeDatabaseFallbacks = Counter.builder("chat.resume.requests")
+                .tag("source", "database")
+                .description("Resume requests that fell back to the database")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 채팅방당 보관하는 최대 메시지 수를 반환합니다.
+     * 적재 시 데이터베이스에서 이만큼 조회합니다.
+     *
+     * @return 채팅방당 최대 메시지 수
+     */
+    public int perRoomCapacity() {
+        return perRoomCapacity;
+    }
+
+    /**
+     * 버퍼를 사용하는 구성인지 반환합니다.
+     * 사용하지 않으면 갱신은 무시되고 조회는 항상 빈 값을 반환합니다.
+     *
+     * @return 버퍼를 사용하면 true
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 저장된 메시지를 버퍼에 추가합니다.
+     * 커밋 순서와 호출 순서가 다를 수 있으므로 순번 위치에 끼워 넣으며, 순번이 없는 메시지는 무시합니다.
+     * 갱신 후 크기 추정치를 다시 계산하도록 캐시 항목을 교체합니다.
+     *
+     * @param message 저장된 메시지
+     */
+    public void append(ChatMessageDto message) {
+        if (!enabled || message.getSeq() == null || message.getChatRoomId() == null) {
+            return;
+        }
+        rooms.asMap().compute(message.getChatRoomId(), (roomId, buffer) -> {
+            RoomBuffer target = buffer != null ? buffer : new RoomBuffer(perRoomCapacity);
+            target.add(message);
+            return target;
+        });
+    }
+
+    /**
+     * 데이터베이스에서 조회한 최근 메시지로 채팅방 버퍼를 적재합니다.
+     * 조회 이후 커밋되어 이미 추가된 메시지(적재한 마지막 순번보다 큰 메시지)는 유지합니다.
+     *
+     * @param chatRoomId 채팅방 ID
+     * @param latestFirst 최신순으로 조회한 최근 메시지 (최대 perRoomCapacity개)
+     * @param totalMessages 조회 시점의 채팅방 전체 메시지 수
+     */
+    public void seed(String chatRoomId, List<ChatMessageDto> latestFirst, long totalMessages) {
+        if (!enabled) {
+            return;
+        }
+        rooms.asMap().compute(chatRoomId, (roomId, existing) -> {
+            RoomBuffer seeded = new RoomBuffer(perRoomCapacity);
+            for (int i = latestFirst.size() - 1; i >= 0; i--) {
+                seeded.add(latestFirst.get(i));
+            }
+            long added = existing != null ? seeded.addNewerFrom(existing) : 0;
+            seeded.markSeeded(totalMessages + added, System.nanoTime());
+            return seeded;
+        });
+    }
+
+    /**
+     * 채팅방의 최근 메시지를 최신순으로 조회합니다.
+     * 적재된 버퍼가 size개 이상의 메시지를 갖고 있거나 채팅방의 모든 메시지를 갖고 있을 때만 응답합니다.
+     * size가 1이면 최근 메시지 조회로 사용합니다.
+     *
+     * @param chatRoomId 채팅방 ID
+     * @param size 조회할 메시지 수
+     * @return 최신순 메시지 목록과 전체 메시지 수. 버퍼로 응답할 수 없으면 빈 값
+     */
+    public Optional<LatestPage> readLatest(String chatRoomId, int size) {
+        RoomBuffer buffer = enabled ? rooms.getIfPresent(chatRoomId) : null;
+        LatestPage page = buffer != null ? buffer.readLatest(size, refreshAfterNanos) : null;
+        (page != null ? readHits : readMisses).increment();
+        return Optional.ofNullable(page);
+    }
+
+    /**
+     * 순번 이후의 메시지를 버퍼에서 조회합니다.
+     * afterSeq + 1부터 lastSeq까지의 메시지가 모두 버퍼에 있을 때만 결과를 반환합니다.
+     *
+     * @param chatRoomId 채팅방 ID
+     * @param afterSeq 클라이언트가 마지막으로 받은 순번
+     * @param lastSeq 채팅방에 마지막으로 할당된 순번
+     * @param limit 반환할 최대 메시지 수
+     * @return 순번 순서의 메시지 목록. 버퍼로 응답할 수 없으면 빈 값
+     */
+    public Optional<List<ChatMessageDto>> readAfter(String chatRoomId, long afterSeq, long lastSeq, int limit) {
+        if (afterSeq >= lastSeq) {
+            resumeMemoryHits.increment();
+            return Optional.of(Collections.emptyList());
+        }
+        RoomBuffer buffer = enabled ? rooms.getIfPresent(chatRoomId) : null;
+        List<ChatMessageDto> messages = buffer != null ? buffer.readAfter(afterSeq, lastSeq, limit) : null;
+        if (messages == null) {
+            resumeDatabaseFallbacks.increment();
+            return Optional.empty();
+        }
+        resumeMemoryHits.increment();
+        return Optional.of(messages);
+    }
+
+    /**
+     * 메시지 한 건의 읽음 표시를 버퍼에 반영합니다.
+     *
+     * @param chatRoomId 채팅방 ID
+     * @param messageId 메시지 ID
+     * @param readAt 읽은 시간
+     */
+    public void markRead(String chatRoomId, String messageId, LocalDateTime readAt) {
+        markRead(chatRoomId, message -> messageId.equals(message.getId()), readAt);
+    }
+
+    /**
+     * 다른 사용자가 지정한 시간까지 보낸 메시지의 읽음 표시를 버퍼에 반영합니다.
+     *
+     * @param chatRoomId 채팅방 ID
+     * @param userId 읽은 사용자 ID
+     * @param upTo 읽음 표시할 마지막 전송 시간 (포함)
+     * @param readAt 읽은 시간
+     */
+    public void markReadUpTo(String chatRoomId, String userId, LocalDateTime upTo, LocalDateTime readAt) {
+        markRead(chatRoomId, message -> !userId.equals(message.getSenderId())
+                && message.getSentAt() != null && !message.getSentAt().isAfter(upTo), readAt);
+    }
+
+    /**
+     * 채팅방의 버퍼를 비웁니다.
+     *
+     * @param chatRoomId 채팅방 ID
+     */
+    public void evict(String chatRoomId) {
+        rooms.invalidate(chatRoomId);
+    }
+
+    private void markRead(String chatRoomId, Predicate<ChatMessageDto> target, LocalDateTime readAt) {
+        RoomBuffer buffer = rooms.getIfPresent(chatRoomId);
+        if (buffer != null) {
+            buffer.markRead(target, readAt);
+        }
+    }
+
+    /**
+     * 메시지 한 건의 메모리 사용량 추정치를 계산합니다.
+     */
+    private static int estimateBytes(ChatMessageDto message) {
+        return MESSAGE_OVERHEAD_BYTES
+                + 2 * (length(message.getContent()) + length(message.getSenderName()));
+    }
+
+    private static int length(String value) {
+        return value != null ? value.length() : 0;
+    }
+
+    /**
+     * 버퍼에서 조회한 최근 메시지 페이지
+     */
+    public static final class LatestPage {
+
+        private final List<ChatMessageDto> messages;
+        private final long totalMessages;
+
+        private LatestPage(List<ChatMessageDto> messages, long totalMessages) {
+            this.messages = messages;
+            this.totalMessages = totalMessages;
+        }
+
+        /** 최신순 메시지 목록 */
+        public List<ChatMessageDto> getMessages() {
+            return messages;
+        }
+
+        /** 채팅방 전체 메시지 수 */
+        public long getTotalMessages() {
+            return totalMessages;
+        }
+    }
+
+    /**
+     * 한 채팅방의 메시지를 순번 오름차순으로 보관하는 고정 크기 버퍼
+     * 적재되기 전(seededAt이 0)에는 재연결과 최근 메시지 조회에만 사용합니다.
+     */
+    private static final class RoomBuffer {
+
+        private final int capacity;
+        private final ArrayDeque<ChatMessageDto> messages;
+        private int bytes;
+        private long totalMessages;
+        private long seededAt;
+
+        private RoomBuffer(int capacity) {
+            this.capacity = capacity;
+            this.messages = new ArrayDeque<>(capacity);
+        }
+
+        private synchronized int weight() {
+            return ROOM_OVERHEAD_BYTES + bytes;
+        }
+
+        private synchronized void markSeeded(long totalMessages, long now) {
+            this.totalMessages = totalMessages;
+            this.seededAt = now;
+        }
+
+        private boolean isFresh(long refreshAfterNanos) {
+            return seededAt != 0 && (refreshAfterNanos <= 0 || System.nanoTime() - seededAt < refreshAfterNanos);
+        }
+
+        /**
+         * 메시지를 순번 위치에 추가합니다.
+         *
+         * @return 새로 추가되었으면 true (이미 있거나 보관 범위보다 오래된 메시지이면 false)
+         */
+        private synchronized boolean add(ChatMessageDto message) {
+            long seq = message.getSeq();
+            ChatMessageDto newest = messages.peekLast();
+            if (newest == null || newest.getSeq() < seq) {
+                messages.addLast(message);
+            } else if (messages.size() >= capacity && messages.peekFirst().getSeq() > seq) {
+                return false;
+            } else if (!insertInOrder(message, seq)) {
+                return false;
+            }
+            bytes += estimateBytes(message);
+            totalMessages++;
+            while (messages.size() > capacity) {
+                bytes -= estimateBytes(messages.pollFirst());
+            }
+            return true;
+        }
+
+        /**
+         * 다른 버퍼에서 이 버퍼의 마지막 순번보다 큰 메시지를 가져옵니다.
+         *
+         * @return 가져온 메시지 수
+         */
+        private synchronized long addNewerFrom(RoomBuffer other) {
+            ChatMessageDto newest = messages.peekLast();
+            long newestSeq = newest != null ? newest.getSeq() : 0;
+            List<ChatMessageDto> newer = new ArrayList<>();
+            synchronized (other) {
+                for (ChatMessageDto message : other.messages) {
+                    if (message.getSeq() > newestSeq) {
+                        newer.add(message);
+                    }
+                }
+            }
+            newer.forEach(this::add);
+            return newer.size();
+        }
+
+        /**
+         * 늦게 도착한 메시지를 순번 위치에 끼워 넣습니다. 이미 있는 순번이면 무시합니다.
+         */
+        private boolean insertInOrder(ChatMessageDto message, long seq) {
+            List<ChatMessageDto> newer = new ArrayList<>();
+            while (!messages.isEmpty() && messages.peekLast().getSeq() > seq) {
+                newer.add(messages.pollLast());
+            }
+            ChatMessageDto previous = messages.peekLast();
+            boolean inserted = previous == null || previous.getSeq() != seq;
+            if (inserted) {
+                messages.addLast(message);
+            }
+            for (int i = newer.size() - 1; i >= 0; i--) {
+                messages.addLast(newer.get(i));
+            }
+            return inserted;
+        }
+
+        private synchronized LatestPage readLatest(int size, long refreshAfterNanos) {
+            if (!isFresh(refreshAfterNanos) || (messages.size() < size && messages.size() < totalMessages)) {
+                return null;
+            }
+            List<ChatMessageDto> latest = new ArrayList<>(Math.min(size, messages.size()));
+            Iterator<ChatMessageDto> iterator = messages.descendingIterator();
+            while (iterator.hasNext() && latest.size() < size) {
+                latest.add(iterator.next());
+            }
+            return new LatestPage(latest, totalMessages);
+        }
+
+        /**
+         * afterSeq + 1부터 lastSeq까지 순번이 이어지는 경우에만 최대 limit개를 반환합니다.
+         */
+        private synchronized List<ChatMessageDto> readAfter(long afterSeq, long lastSeq, int limit) {
+            ChatMessageDto oldest = messages.peekFirst();
+            ChatMessageDto newest = messages.peekLast();
+            if (oldest == null || oldest.getSeq() > afterSeq + 1 || newest.getSeq() < lastSeq) {
+                return null;
+            }
+            List<ChatMessageDto> result = new ArrayList<>(Math.min(limit, messages.size()));
+            long expected = afterSeq + 1;
+            Iterator<ChatMessageDto> iterator = messages.iterator();
+            while (iterator.hasNext() && result.size() < limit) {
+                ChatMessageDto message = iterator.next();
+                long seq = message.getSeq();
+                if (seq < expected) {
+                    continue;
+                }
+                if (seq != expected) {
+                    return null;
+                }
+                result.add(message);
+                expected++;
+            }
+            return result;
+        }
+
+        /**
+         * 읽음 표시할 메시지를 읽음 상태의 복사본으로 교체합니다.
+         * 이미 내보낸 DTO는 변경하지 않습니다.
+         */
+        private synchronized void markRead(Predicate<ChatMessageDto> target, LocalDateTime readAt) {
+            boolean changed = false;
+            List<ChatMessageDto> updated = new ArrayList<>(messages.size());
+            for (ChatMessageDto message : messages) {
+                if (!message.isRead() && target.test(message)) {
+                    ChatMessageDto copy = ChatMessageDto.builder()
+                            .id(message.getId())
+                            .chatRoomId(message.getChatRoomId())
+                            .seq(message.getSeq())
+                            .senderId(message.getSenderId())
+                            .senderName(message.getSenderName())
+                            .content(message.getContent())
+                            .type(message.getType())
+                            .sentAt(message.getSentAt())
+                            .read(true)
+                            .readAt(readAt)
+                            .build();
+                    updated.add(copy);
+                    changed = true;
+                } else {
+                    updated.add(message);
+                }
+            }
+            if (changed) {
+                messages.clear();
+                messages.addAll(updated);
+            }
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.makestar.chat.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import com.makestar.chat.client.UserServiceClient;
+import com.makestar.commons.dto.user.UserSummaryDto;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 발신자 ID와 사용자 이름의 매핑을 보관하는 로컬 캐시
+ * 메시지에 발신자 이름을 채울 때마다 User Service를 호출하지 않도록
+ * 최대 크기와 만료 시간이 있는 Caffeine 캐시에 사용자 이름을 저장합니다.
+ * 캐시 적중/실패/제거 통계는 Micrometer 지표(cache.*, cache=chat.sender-names)로 노출됩니다.
+ */
+@Component
+@Slf4j
+public class SenderNameCache {
+
+    /** 캐시 지표에 사용하는 캐시 이름 */
+    private static final String CACHE_NAME = "chat.sender-names";
+
+    /** User Service 일괄 조회 한 번에 요청하는 최대 사용자 수 */
+    private static final int BULK_LOOKUP_SIZE = 100;
+
+    private final UserServiceClient userServiceClient;
+    private final Cache<String, String> cache;
+
+    public SenderNameCache(UserServiceClient userServiceClient,
+                           MeterRegistry meterRegistry,
+                           @Value("${chat.sender-cache.maximum-size:10000}") long maximumSize,
+                           @Value("${chat.sender-cache.expire-after-write:10m}") Duration expireAfterWrite) {
+        this.userServiceClient = userServiceClient;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * 사용자 이름을 조회합니다.
+     * 캐시에 없으면 User Service에서 조회하여 저장하며, 조회에 실패한 결과는 저장하지 않습니다.
+     *
+     * @param userId 사용자 ID
+     * @return 사용자 이름. 조회에 실패한 경우 null
+     */
+    public String getName(String userId) {
+        if (userId == null) {
+            return null;
+        }
+        return cache.get(userId, this::fetchName);
+    }
+
+    /**
+     * 여러 사용자의 이름을 한 번에 조회합니다.
+     * 캐시에 없는 사용자만 User Service의 일괄 조회 API로 조회하며, 조회에 실패한 사용자는 결과에 포함되지 않습니다.
+     *
+     * @param userIds 사용자 ID 목록
+     * @return 사용자 ID별 사용자 이름
+     */
+    public Map<String, String> getNames(Collection<String> userIds) {
+        if (userIds.isEmpty()) {
+            return new HashMap<>();
+        }
+        return cache.getAll(userIds, missingIds -> {
+            List<String> ids = new ArrayList<>();
+            missingIds.forEach(ids::add);
+            return fetchNames(ids);
+        });
+    }
+
+    /**
+     * 사용자 이름을 캐시에서 제거합니다.
+     * 사용자 프로필이 변경되었을 때 호출됩니다.
+     *
+     * @param userId 사용자 ID
+     */
+    public void invalidate(String userId) {
+        log.debug("Invalidating cached sender name for user: {}", userId);
+        cache.invalidate(userId);
+    }
+
+    /**
+     * User Service에서 사용자 이름을 조회합니다.
+     *
+     * @param userId 사용자 ID
+     * @return 사용자 이름. 조회에 실패한 경우 null
+     */
+    private String fetchName(String userId) {
+        try {
+            ResponseEntity<Map<String, Object>> userResponse = userServiceClient.getUserById(userId);
+            if (userResponse.getStatusCode().is2xxSuccessful() && userResponse.getBody() != null) {
+                return (String) userResponse.getBody().get("username");
+            }
+        } catch (Exception e) {
+            log.error("Error fetching sender info: {}", e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * User Service의 일괄 조회 API로 여러 사용자의 이름을 조회합니다.
+     * 요청 URL이 지나치게 길어지지 않도록 일정 개수씩 나누어 조회합니다.
+     *
+     * @param userIds 사용자 ID 목록
+     * @return 사용자 ID별 사용자 이름. 조회에 실패한 사용자는 포함되지 않습니다.
+     */
+    private Map<String, String> fetchNames(List<String> userIds) {
+        Map<String, String> names = new HashMap<>();
+        for (int from = 0; from < userIds.size(); from += BULK_LOOKUP_SIZE) {
+            List<String> chunk = userIds.subList(from, Math.min(from + BULK_LOOKUP_SIZE, userIds.size()));
+            try {
+                ResponseEntity<Map<String, UserSummaryDto>> response = userServiceClient.getUserSummaries(chunk);
+                if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
+                    response.getBody().forEach((userId, summary) -> {
+                        if (summary != null && summary.getUsername() != null) {
+                            names.put(userId, summary.getUsername());
+                        }
+                    });
+                }
+            } catch (Exception e) {
+                log.error("Error fetching sender names for {} users: {}", chunk.size(), e.getMessage());
+            }
+        }
+        return names;
+    }
+}
@@ -4,9 +4,14 @@ import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 
-import java.util.List;
+import com.makestar.commons.dto.user.UserPresenceDto;
+import com.makestar.commons.dto.user.UserSummaryDto;
+
+import java.util.Collection;
 import java.util.Map;
 
 /**
@@ -35,11 +40,20 @@ public interface UserServiceClient {
     ResponseEntity<Map<String, Object>> getUserByUsername(@PathVariable("username") String username);
 
     /**
-     * 여러 사용자 ID에 대한 사용자 이름 목록을 조회합니다.
+     * 여러 사용자의 요약 정보를 한 번에 조회합니다.
      * 
      * @param userIds 조회할 사용자 ID 목록
-     * @return 사용자 이름 목록이 담긴 ResponseEntity
+     * @return 사용자 ID별 요약 정보가 담긴 ResponseEntity. 존재하지 않는 사용자는 포함되지 않습니다.
      */
     @GetMapping("/api/users/names")
-    ResponseEntity<List<String>> getUserNames(@RequestParam("userIds") List<String> userIds);
-} 
\ No newline at end of file
+    ResponseEntity<Map<String, UserSummaryDto>> getUserSummaries(@RequestParam("userIds") Collection<String> userIds);
+
+    /**
+     * 여러 사용자의 접속 상태와 마지막 접속 시간을 한 번에 저장합니다.
+     * 
+     * @param presences 사용자별 접속 상태
+     * @return 빈 응답
+     */
+    @PutMapping("/api/users/presence")
+    ResponseEntity<Void> updatePresence(@RequestBody Collection<UserPresenceDto> presences);
+}
@@ -0,0 +1,133 @@
+package com.makestar.chat.codec;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * 채팅 메시지 바이너리 인코딩에서 공통으로 사용하는 기본 형식
+ * 저널 레코드와 WebSocket 바이너리 프레임이 같은 규칙을 사용합니다.
+ * <ul>
+ *   <li>정수: 7비트 단위 varint (부호 있는 값은 zigzag)</li>
+ *   <li>문자열: varint 길이(null은 0, 그 외에는 길이 + 1)와 UTF-8 바이트</li>
+ *   <li>ID: 표준 형식 UUID는 표시 1바이트와 16바이트, 그 외에는 표시 1바이트와 문자열</li>
+ * </ul>
+ * 읽기 메서드는 형식이 올바르지 않으면 IllegalArgumentException을 던집니다.
+ */
+public final class CompactEncoding {
+
+    /** ID가 문자열로 기록되었음을 나타내는 표시 */
+    private static final byte ID_STRING = 0;
+
+    /** ID가 16바이트 UUID로 기록되었음을 나타내는 표시 */
+    private static final byte ID_UUID = 1;
+
+    private CompactEncoding() {
+    }
+
+    public static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    public static long readVarLong(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = get(in);
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    public static void writeZigZagLong(ByteArrayOutputStream out, long value) {
+        writeVarLong(out, (value << 1) ^ (value >> 63));
+    }
+
+    public static long readZigZagLong(ByteBuffer in) {
+        long encoded = readVarLong(in);
+        return (encoded >>> 1) ^ -(encoded & 1);
+    }
+
+    public static void writeString(ByteArrayOutputStream out, String value) {
+        if (value == null) {
+            writeVarLong(out, 0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(out, bytes.length + 1L);
+        out.write(bytes, 0, bytes.length);
+    }
+
+    public static String readString(ByteBuffer in) {
+        long length = readVarLong(in);
+        if (length == 0) {
+            return null;
+        }
+        if (length - 1 > in.remaining()) {
+            throw new IllegalArgumentException("String length exceeds remaining bytes");
+        }
+        byte[] bytes = new byte[(int) (length - 1)];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * ID를 기록합니다.
+     * 표준 형식(소문자 36자)의 UUID만 16바이트로 기록하며, 그 외에는 원래 문자열을 보존합니다.
+     */
+    public static void writeId(ByteArrayOutputStream out, String id) {
+        UUID uuid = parseUuid(id);
+        if (uuid == null) {
+            out.write(ID_STRING);
+            writeString(out, id);
+            return;
+        }
+        out.write(ID_UUID);
+        writeLong(out, uuid.getMostSignificantBits());
+        writeLong(out, uuid.getLeastSignificantBits());
+    }
+
+    public static String readId(ByteBuffer in) {
+        if (get(in) == ID_UUID) {
+            try {
+                return new UUID(in.getLong(), in.getLong()).toString();
+            } catch (BufferUnderflowException e) {
+                throw new IllegalArgumentException("Truncated UUID", e);
+            }
+        }
+        return readString(in);
+    }
+
+    public static byte get(ByteBuffer in) {
+        if (!in.hasRemaining()) {
+            throw new IllegalArgumentException("Unexpected end of data");
+        }
+        return in.get();
+    }
+
+    private static void writeLong(ByteArrayOutputStream out, long value) {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            out.write((int) (value >>> shift));
+        }
+    }
+
+    private static UUID parseUuid(String id) {
+        if (id == null || id.length() != 36) {
+            return null;
+        }
+        try {
+            UUID uuid = UUID.fromString(id);
+            return uuid.toString().equals(id) ? uuid : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.makestar.chat.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.activemq.artemis.core.config.impl.ConfigurationImpl;
+import org.apache.activemq.artemis.core.server.embedded.EmbeddedActiveMQ;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 로컬 개발과 테스트를 위한 내장 STOMP 브로커 설정 클래스
+ * chat.broker.relay.embedded=true 일 때 프로세스 안에서 ActiveMQ Artemis를 STOMP 수신기와 함께 실행하여
+ * 외부 브로커 없이 릴레이 모드(chat.broker.mode=relay)를 사용할 수 있게 합니다.
+ * 여러 인스턴스를 띄울 때는 한 인스턴스에서만 켜고, 나머지 인스턴스는 같은 호스트와 포트를 바라보게 합니다.
+ * 운영 환경에서는 외부 브로커(RabbitMQ STOMP 플러그인, ActiveMQ 등)를 사용합니다.
+ * Artemis는 개발용 의존성(developmentOnly)이므로 bootRun으로 실행할 때만 사용할 수 있으며,
+ * 패키징된 jar에서는 설정을 켜도 브로커를 실행하지 않습니다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "chat.broker.relay.embedded", havingValue = "true")
+@ConditionalOnClass(name = "org.apache.activemq.artemis.core.server.embedded.EmbeddedActiveMQ")
+@Slf4j
+public class EmbeddedStompBrokerConfig {
+
+    /**
+     * 내장 Artemis 브로커를 생성합니다.
+     * 메시지는 메모리에만 보관하며 인증을 사용하지 않습니다.
+     *
+     * @param host STOMP 수신기가 바인딩할 호스트
+     * @param port STOMP 수신기가 바인딩할 포트
+     * @return 내장 브로커 (빈 초기화 시 시작, 종료 시 중지)
+     * @throws Exception 브로커 설정에 실패한 경우
+     */
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public EmbeddedActiveMQ embeddedStompBroker(@Value("${chat.broker.relay.host:localhost}") String host,
+                                                @Value("${chat.broker.relay.port:61613}") int port) throws Exception {
+        ConfigurationImpl configuration = new ConfigurationImpl();
+        configuration.setPersistenceEnabled(false);
+        configuration.setSecurityEnabled(false);
+        configuration.setJMXManagementEnabled(false);
+        configuration.addAcceptorConfiguration("stomp", "tcp://" + host + ":" + port + "?protocols=STOMP");
+
+        EmbeddedActiveMQ broker = new EmbeddedActiveMQ();
+        broker.setConfiguration(configuration);
+        log.info("Starting embedded STOMP broker on {}:{}", host, port);
+        return broker;
+    }
+}
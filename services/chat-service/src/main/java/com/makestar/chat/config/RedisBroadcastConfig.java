@@ -0,0 +1,46 @@
+package com.makestar.chat.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+/**
+ * Redis pub/sub 채팅방 브로드캐스트 설정 클래스 (chat.broadcast.bus=redis)
+ */
+@Configuration
+@ConditionalOnProperty(name = "chat.broadcast.bus", havingValue = "redis")
+public class RedisBroadcastConfig {
+
+    /**
+     * 직렬화된 메시지를 그대로 발행하기 위한 RedisTemplate을 생성합니다.
+     *
+     * @param connectionFactory Redis 연결 팩토리
+     * @return 채널 이름은 문자열, 본문은 바이트 배열로 다루는 RedisTemplate
+     */
+    @Bean
+    public RedisTemplate<String, byte[]> roomBroadcastRedisTemplate(RedisConnectionFactory connectionFactory) {
+        RedisTemplate<String, byte[]> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(RedisSerializer.string());
+        template.setValueSerializer(RedisSerializer.byteArray());
+        return template;
+    }
+
+    /**
+     * 채팅방 채널 수신을 위한 리스너 컨테이너를 생성합니다.
+     * 채널 구독은 채팅방 구독 상황에 따라 실행 중에 추가/제거됩니다.
+     *
+     * @param connectionFactory Redis 연결 팩토리
+     * @return 리스너 컨테이너
+     */
+    @Bean
+    public RedisMessageListenerContainer roomBroadcastListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+}
@@ -0,0 +1,65 @@
+package com.makestar.chat.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 애플리케이션 시작 시 채팅 조회 쿼리에 필요한 인덱스가 있는지 확인하는 컴포넌트
+ * 인덱스는 db/migration의 Flyway 스크립트로 생성되며,
+ * 인덱스가 없거나 CONCURRENTLY 생성이 실패해 유효하지 않은 상태이면 경고 로그를 남깁니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SchemaIndexVerifier implements ApplicationRunner {
+
+    /** 필요한 인덱스 이름 목록 */
+    private static final List<String> REQUIRED_INDEXES = Arrays.asList(
+            "idx_chat_messages_room_sent_at_id",
+            "idx_chat_messages_room_unread",
+            "idx_chat_room_participants_user_room",
+            "idx_chat_room_participants_room",
+            "idx_chat_inbox_entries_user_last_message",
+            "uk_chat_inbox_entries_user_room",
+            "uk_chat_read_cursors_room_user",
+            "uk_chat_messages_room_seq",
+            "idx_chat_message_search_tokens",
+            "idx_chat_message_search_room_sent_at");
+
+    /** 현재 스키마의 유효한 인덱스 이름을 조회하는 쿼리 */
+    private static final String VALID_INDEXES_QUERY =
+            "SELECT c.relname FROM pg_index i " +
+            "JOIN pg_class c ON c.oid = i.indexrelid " +
+            "JOIN pg_namespace n ON n.oid = c.relnamespace " +
+            "WHERE n.nspname = current_schema() AND i.indisvalid";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            Set<String> validIndexes = new HashSet<>(jdbcTemplate.queryForList(VALID_INDEXES_QUERY, String.class));
+            List<String> missingIndexes = REQUIRED_INDEXES.stream()
+                    .filter(index -> !validIndexes.contains(index))
+                    .collect(Collectors.toList());
+
+            if (missingIndexes.isEmpty()) {
+                log.info("All {} required chat indexes are present", REQUIRED_INDEXES.size());
+            } else {
+                log.warn("Missing or invalid chat indexes: {}. Check the Flyway migration history (db/migration).", missingIndexes);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to verify chat indexes: {}", e.getMessage());
+        }
+    }
+}
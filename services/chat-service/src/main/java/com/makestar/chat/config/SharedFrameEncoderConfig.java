@@ -0,0 +1,66 @@
+package com.makestar.chat.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.messaging.StompSubProtocolHandler;
+import org.springframework.web.socket.messaging.SubProtocolHandler;
+import org.springframework.web.socket.messaging.SubProtocolWebSocketHandler;
+
+import com.makestar.chat.broadcast.SharedFrameStompEncoder;
+import com.makestar.chat.websocket.SlowConsumerProtocolHandler;
+
+import java.time.Duration;
+
+/**
+ * STOMP 프레임 공유 인코더 설정 클래스 (chat.broadcast.shared-frames.enabled)
+ * WebSocket 메시지 브로커 설정이 만든 STOMP 하위 프로토콜 핸들러에 {@link SharedFrameStompEncoder}를 지정하여,
+ * 채팅방 브로드캐스트 프레임을 구독자 수만큼 인코딩하지 않고 한 번만 인코딩하도록 합니다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "chat.broadcast.shared-frames.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class SharedFrameEncoderConfig implements SmartInitializingSingleton {
+
+    private final WebSocketHandler subProtocolWebSocketHandler;
+    private final MeterRegistry meterRegistry;
+    private final long maximumPayloads;
+    private final Duration expireAfterWrite;
+
+    public SharedFrameEncoderConfig(@Qualifier("subProtocolWebSocketHandler") WebSocketHandler subProtocolWebSocketHandler,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${chat.broadcast.shared-frames.maximum-payloads:1024}") long maximumPayloads,
+                                    @Value("${chat.broadcast.shared-frames.expire-after-write:10s}") Duration expireAfterWrite) {
+        this.subProtocolWebSocketHandler = subProtocolWebSocketHandler;
+        this.meterRegistry = meterRegistry;
+        this.maximumPayloads = maximumPayloads;
+        this.expireAfterWrite = expireAfterWrite;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        WebSocketHandler handler = subProtocolWebSocketHandler;
+        if (handler instanceof WebSocketHandlerDecorator) {
+            handler = ((WebSocketHandlerDecorator) handler).getLastHandler();
+        }
+        if (!(handler instanceof SubProtocolWebSocketHandler)) {
+            log.warn("STOMP handler not found; shared frame encoding disabled");
+            return;
+        }
+        SharedFrameStompEncoder encoder = new SharedFrameStompEncoder(meterRegistry, maximumPayloads, expireAfterWrite);
+        for (SubProtocolHandler protocolHandler : ((SubProtocolWebSocketHandler) handler).getProtocolHandlers()) {
+            if (protocolHandler instanceof SlowConsumerProtocolHandler) {
+                protocolHandler = ((SlowConsumerProtocolHandler) protocolHandler).getDelegate();
+            }
+            if (protocolHandler instanceof StompSubProtocolHandler) {
+                ((StompSubProtocolHandler) protocolHandler).setEncoder(encoder);
+            }
+        }
+    }
+}
@@ -1,8 +1,12 @@
 package com.makestar.chat.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.converter.MessageConverter;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.messaging.simp.config.StompBrokerRelayRegistration;
 import org.springframework.scheduling.TaskScheduler;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
@@ -10,8 +14,18 @@ import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
 import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import com.makestar.chat.presence.PresenceRegistry;
+import com.makestar.chat.websocket.BinaryChatMessageConverter;
+import com.makestar.chat.websocket.BinaryRoomMessageInterceptor;
+import com.makestar.chat.websocket.ChatCodecNegotiator;
+import com.makestar.chat.websocket.ClientChannelExecutors;
+import com.makestar.chat.websocket.TransportSessionRegistry;
+
+import java.util.List;
+
 /**
  * WebSocket 통신을 위한 설정 클래스입니다.
  * STOMP 프로토콜을 사용하여 실시간 양방향 통신을 구현합니다.
@@ -19,9 +33,68 @@ import lombok.extern.slf4j.Slf4j;
  */
 @Configuration
 @EnableWebSocketMessageBroker
+@RequiredArgsConstructor
 @Slf4j
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    /** 인스턴스 내장 브로커 모드 (단일 인스턴스) */
+    private static final String BROKER_MODE_SIMPLE = "simple";
+
+    /** 외부 STOMP 브로커 릴레이 모드 (다중 인스턴스) */
+    private static final String BROKER_MODE_RELAY = "relay";
+
+    /** 채팅방 단위 샤드 브로커 모드 (단일 인스턴스, 다중 코어) */
+    private static final String BROKER_MODE_SHARDED = "sharded";
+
+    /** 세션별 채팅 메시지 코덱(JSON, 바이너리)을 정하는 인터셉터 */
+    private final ChatCodecNegotiator chatCodecNegotiator;
+
+    /** 바이너리 코덱 세션으로 가는 채팅방 메시지를 변환하는 인터셉터 */
+    private final BinaryRoomMessageInterceptor binaryRoomMessageInterceptor;
+
+    /** 세션 전송 방식 기록 및 연결 지표 */
+    private final TransportSessionRegistry transportSessionRegistry;
+
+    /** 세션 프레임으로 사용자 접속 상태를 갱신하는 인터셉터 */
+    private final PresenceRegistry presenceRegistry;
+
+    /** 클라이언트 인바운드/아웃바운드 채널 실행기 */
+    private final ClientChannelExecutors clientChannelExecutors;
+
+    /** SockJS 없이 연결하는 네이티브 WebSocket 엔드포인트 경로 */
+    @Value("${chat.websocket.native-endpoint:/api/chat-ws/native}")
+    private String nativeEndpointPath;
+
+    /** 메시지 브로커 모드 (simple, relay, sharded) */
+    @Value("${chat.broker.mode:simple}")
+    private String brokerMode;
+
+    /** 외부 STOMP 브로커 호스트 */
+    @Value("${chat.broker.relay.host:localhost}")
+    private String relayHost;
+
+    /** 외부 STOMP 브로커 포트 */
+    @Value("${chat.broker.relay.port:61613}")
+    private int relayPort;
+
+    /** 클라이언트 세션이 브로커에 연결할 때 사용하는 계정 */
+    @Value("${chat.broker.relay.client-login:guest}")
+    private String relayClientLogin;
+
+    @Value("${chat.broker.relay.client-passcode:guest}")
+    private String relayClientPasscode;
+
+    /** 서버가 메시지를 발행할 때 사용하는 공유 연결의 계정 */
+    @Value("${chat.broker.relay.system-login:guest}")
+    private String relaySystemLogin;
+
+    @Value("${chat.broker.relay.system-passcode:guest}")
+    private String relaySystemPasscode;
+
+    /** 브로커의 가상 호스트 (CONNECT 프레임의 host 헤더, 비어 있으면 생략) */
+    @Value("${chat.broker.relay.virtual-host:}")
+    private String relayVirtualHost;
+
     /**
      * WebSocket 하트비트를 위한 TaskScheduler 빈을 생성합니다.
      * 이 스케줄러는 클라이언트와 서버 간의 하트비트 메시지를 주기적으로 전송하는 데 사용됩니다.
@@ -38,12 +111,16 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
     /**
      * WebSocket 연결을 위한 엔드포인트를 등록합니다.
-     * SockJS를 통해 WebSocket을 지원하지 않는 브라우저에서도 동작하도록 설정합니다.
+     * SockJS를 통해 WebSocket을 지원하지 않는 브라우저에서도 동작하도록 설정하고,
+     * WebSocket을 지원하는 클라이언트를 위해 SockJS 프레이밍 없는 네이티브 엔드포인트를 함께 제공합니다.
+     * 네이티브 엔드포인트의 permessage-deflate 압축은 클라이언트가 제안한 경우 세션마다 컨테이너가 협상합니다.
      *
      * @param registry STOMP 엔드포인트 등록을 위한 레지스트리
      */
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
+        registry.addEndpoint(nativeEndpointPath)
+                .setAllowedOriginPatterns("*");
         registry.addEndpoint("/api/chat-ws")
                 .setAllowedOriginPatterns("*")
                 .withSockJS()
@@ -60,16 +137,63 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
      * - /app: 클라이언트에서 메시지 발행 시 사용할 prefix
      * - /user: 특정 사용자에게 메시지 발송 시 사용할 prefix
      *
+     * chat.broker.mode 설정에 따라 인스턴스 내장 브로커(simple),
+     * 외부 STOMP 브로커 릴레이(relay), 채팅방 단위 샤드 브로커(sharded)를 사용합니다.
+     *
      * @param registry 메시지 브로커 설정을 위한 레지스트리
      */
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry) {
-        registry.enableSimpleBroker("/topic", "/queue")
-               .setHeartbeatValue(new long[] {10000, 10000}) // 클라이언트와 서버 하트비트 간격 설정
-               .setTaskScheduler(webSocketHeartbeatTaskScheduler()); // 하트비트 스케줄러 설정
+        switch (brokerMode) {
+            case BROKER_MODE_SIMPLE:
+                registry.enableSimpleBroker("/topic", "/queue")
+                       .setHeartbeatValue(new long[] {10000, 10000}) // 클라이언트와 서버 하트비트 간격 설정
+                       .setTaskScheduler(webSocketHeartbeatTaskScheduler()); // 하트비트 스케줄러 설정
+                break;
+            case BROKER_MODE_RELAY:
+                configureBrokerRelay(registry);
+                break;
+            case BROKER_MODE_SHARDED:
+                // /topic은 ShardedRoomBrokerMessageHandler가 처리하고, Simple Broker는 /queue와 하트비트만 처리
+                registry.enableSimpleBroker("/queue")
+                       .setHeartbeatValue(new long[] {10000, 10000})
+                       .setTaskScheduler(webSocketHeartbeatTaskScheduler());
+                // /queue 메시지 순서 유지 (/topic 순서는 ShardedRoomBrokerMessageHandler가 직접 유지)
+                registry.setPreservePublishOrder(true);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown chat.broker.mode: " + brokerMode);
+        }
         registry.setApplicationDestinationPrefixes("/app");
         registry.setUserDestinationPrefix("/user");
     }
+
+    /**
+     * 외부 STOMP 브로커 릴레이를 설정합니다.
+     * 각 인스턴스는 자신에게 연결된 세션만 관리하고, 구독과 발행은 브로커로 전달되므로
+     * 어느 인스턴스에서 발행한 채팅방 메시지든 모든 인스턴스의 구독자에게 전달됩니다.
+     * 사용자 목적지(/user)는 인스턴스 간에 사용자 레지스트리를 공유하여
+     * 다른 인스턴스에 연결된 사용자에게도 전달되도록 합니다.
+     *
+     * @param registry 메시지 브로커 설정을 위한 레지스트리
+     */
+    private void configureBrokerRelay(MessageBrokerRegistry registry) {
+        log.info("Using STOMP broker relay at {}:{}", relayHost, relayPort);
+        StompBrokerRelayRegistration relay = registry.enableStompBrokerRelay("/topic", "/queue")
+                .setRelayHost(relayHost)
+                .setRelayPort(relayPort)
+                .setClientLogin(relayClientLogin)
+                .setClientPasscode(relayClientPasscode)
+                .setSystemLogin(relaySystemLogin)
+                .setSystemPasscode(relaySystemPasscode)
+                .setSystemHeartbeatSendInterval(10000)
+                .setSystemHeartbeatReceiveInterval(10000)
+                .setUserDestinationBroadcast("/topic/unresolved-user-destination")
+                .setUserRegistryBroadcast("/topic/simp-user-registry");
+        if (!relayVirtualHost.isEmpty()) {
+            relay.setVirtualHost(relayVirtualHost);
+        }
+    }
     
     /**
      * WebSocket 전송 설정을 구성합니다.
@@ -81,6 +205,46 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
         registration.setMessageSizeLimit(64 * 1024) // 64KB
                    .setSendBufferSizeLimit(512 * 1024) // 512KB
-                   .setSendTimeLimit(20000); // 20 seconds
+                   .setSendTimeLimit(20000) // 20 seconds
+                   .addDecoratorFactory(transportSessionRegistry); // 세션 전송 방식 기록
+    }
+
+    /**
+     * 클라이언트 인바운드 채널을 설정합니다.
+     * 메시지 핸들러는 설정한 스레드 풀 또는 가상 스레드에서 실행합니다 (chat.websocket.channel.inbound).
+     * CONNECT 프레임에서 세션의 메시지 코덱을 정하고, 들어오는 프레임으로 사용자 접속 상태를 갱신합니다.
+     *
+     * @param registration 채널 등록 객체
+     */
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.taskExecutor(clientChannelExecutors.inboundExecutor());
+        registration.interceptors(chatCodecNegotiator, presenceRegistry);
+    }
+
+    /**
+     * 클라이언트 아웃바운드 채널을 설정합니다.
+     * 세션 전송은 설정한 스레드 풀 또는 가상 스레드에서 실행합니다 (chat.websocket.channel.outbound).
+     * 바이너리 코덱을 사용하는 세션으로 가는 채팅방 메시지를 바이너리 형식으로 변환합니다.
+     *
+     * @param registration 채널 등록 객체
+     */
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.taskExecutor(clientChannelExecutors.outboundExecutor());
+        registration.interceptors(binaryRoomMessageInterceptor);
+    }
+
+    /**
+     * 메시지 컨버터를 설정합니다.
+     * 기본 컨버터(문자열, 바이트 배열, JSON)에 바이너리 채팅 메시지 컨버터를 추가합니다.
+     *
+     * @param messageConverters 메시지 컨버터 목록
+     * @return 기본 컨버터도 등록하려면 true
+     */
+    @Override
+    public boolean configureMessageConverters(List<MessageConverter> messageConverters) {
+        messageConverters.add(new BinaryChatMessageConverter());
+        return true;
     }
 } 
\ No newline at end of file
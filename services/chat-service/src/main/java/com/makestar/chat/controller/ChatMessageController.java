@@ -1,19 +1,28 @@
 package com.makestar.chat.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.makestar.chat.dto.ChatMessageDto;
+import com.makestar.chat.dto.MessageCursor;
+import com.makestar.chat.dto.MessageSearchHitDto;
 import com.makestar.chat.service.ChatMessageService;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -27,8 +36,15 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ChatMessageController {
 
+    /** 커서 기반 조회에서 다음 커서를 전달하는 응답 헤더 */
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    /** 커서 기반 조회에서 한 번에 조회할 수 있는 최대 메시지 수 */
+    private static final int MAX_HISTORY_SIZE = 100;
+
     private final ChatMessageService chatMessageService;
     private final SimpMessagingTemplate messagingTemplate;
+    private final ObjectMapper objectMapper;
 
     /**
      * 새로운 채팅 메시지를 전송합니다.
@@ -57,6 +73,34 @@ public class ChatMessageController {
         return chatMessageService.getChatMessages(chatRoomId, pageable);
     }
 
+    /**
+     * 특정 채팅방의 메시지 목록을 커서 기반으로 조회합니다.
+     * 응답의 마지막 메시지로 만든 커서가 {@value #NEXT_CURSOR_HEADER} 헤더로 전달되며,
+     * 다음 요청의 before 파라미터로 사용하면 이전 메시지를 이어서 조회합니다.
+     *
+     * @param chatRoomId 채팅방 ID
+     * @param before "sentAt,id" 형식의 커서. 없으면 최근 메시지부터 조회
+     * @param size 조회할 메시지 수 (최대 {@value #MAX_HISTORY_SIZE})
+     * @return 채팅 메시지 슬라이스
+     */
+    @GetMapping("/room/{chatRoomId}/history")
+    public ResponseEntity<Slice<ChatMessageDto>> getMessageHistory(
+            @PathVariable String chatRoomId,
+            @RequestParam(required = false) String before,
+            @RequestParam(defaultValue = "20") int size) {
+        log.info("Getting message history for room: {} before: {}", chatRoomId, before);
+        MessageCursor cursor = before != null ? MessageCursor.parse(before) : null;
+        Slice<ChatMessageDto> messages = chatMessageService.getChatMessagesBefore(
+                chatRoomId, cursor, Math.max(1, Math.min(size, MAX_HISTORY_SIZE)));
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (messages.hasNext()) {
+            List<ChatMessageDto> content = messages.getContent();
+            response.header(NEXT_CURSOR_HEADER, MessageCursor.of(content.get(content.size() - 1)).toString());
+        }
+        return response.body(messages);
+    }
+
     /**
      * 특정 시간 이후의 채팅방 메시지를 조회합니다.
      * @param chatRoomId 채팅방 ID
@@ -111,8 +155,8 @@ public class ChatMessageController {
             @PathVariable String chatRoomId,
             @RequestParam String userId) {
         log.info("Marking all messages as read in room: {} by user: {}", chatRoomId, userId);
-        chatMessageService.markAllAsRead(chatRoomId, userId);
-        return ResponseEntity.ok(chatMessageService.countUnreadMessages(chatRoomId, userId));
+        long updated = chatMessageService.markAllAsRead(chatRoomId, userId);
+        return ResponseEntity.ok(updated);
     }
 
     /**
@@ -146,18 +190,54 @@ public class ChatMessageController {
 
     /**
      * 메시지 내용으로 메시지를 검색합니다.
+     * 결과는 관련도 순으로 정렬됩니다.
      * @param chatRoomId 채팅방 ID
      * @param keyword 검색 키워드
-     * @return 검색된 메시지 목록
+     * @param page 페이지 번호 (0부터 시작)
+     * @param size 페이지 크기 (최대 {@value #MAX_HISTORY_SIZE})
+     * @return 검색된 메시지 페이지
      */
     @GetMapping("/room/{chatRoomId}/search")
-    public ResponseEntity<List<ChatMessageDto>> searchMessages(@PathVariable String chatRoomId,
-                                                             @RequestParam String keyword) {
+    public ResponseEntity<Page<ChatMessageDto>> searchMessages(@PathVariable String chatRoomId,
+                                                             @RequestParam String keyword,
+                                                             @RequestParam(defaultValue = "0") int page,
+                                                             @RequestParam(defaultValue = "20") int size) {
         log.info("Searching messages in room: {} with keyword: {}", chatRoomId, keyword);
-        List<ChatMessageDto> messages = chatMessageService.searchMessages(chatRoomId, keyword);
+        Page<ChatMessageDto> messages = chatMessageService.searchMessages(chatRoomId, keyword,
+                PageRequest.of(Math.max(0, page), Math.max(1, Math.min(size, MAX_HISTORY_SIZE))));
         return ResponseEntity.ok(messages);
     }
 
+    /**
+     * 사용자가 참여한 모든 채팅방에서 메시지를 검색합니다.
+     * 결과는 관련도 순으로 한 줄에 하나씩(NDJSON) 전송되며, 조회되는 대로 묶음 단위로 내려보냅니다.
+     * @param userId 사용자 ID
+     * @param keyword 검색 키워드
+     * @param limit 최대 결과 수
+     * @return 채팅방 정보가 포함된 검색 결과 스트림
+     */
+    @GetMapping(value = "/search", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> searchUserMessages(@RequestParam String userId,
+                                                                    @RequestParam String keyword,
+                                                                    @RequestParam(defaultValue = "50") int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        log.info("Searching messages of user: {} with keyword: {}", userId, keyword);
+        StreamingResponseBody body = outputStream -> chatMessageService.searchUserMessages(userId, keyword, limit, hits -> {
+            try {
+                for (MessageSearchHitDto hit : hits) {
+                    outputStream.write(objectMapper.writeValueAsBytes(hit));
+                    outputStream.write('\n');
+                }
+                outputStream.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
     /**
      * 메시지를 삭제합니다.
      * @param messageId 삭제할 메시지 ID
@@ -0,0 +1,35 @@
+package com.makestar.chat.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import com.makestar.chat.cache.SenderNameCache;
+
+/**
+ * 서비스 간 호출용 캐시 관리 API 컨트롤러
+ * 다른 서비스에서 데이터가 변경되었을 때 채팅 서비스의 로컬 캐시를 무효화합니다.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/internal")
+@RequiredArgsConstructor
+public class InternalCacheController {
+
+    private final SenderNameCache senderNameCache;
+
+    /**
+     * 사용자의 발신자 이름 캐시를 무효화합니다.
+     * User Service에서 사용자 프로필이 변경되었을 때 호출합니다.
+     *
+     * @param userId 사용자 ID
+     * @return 빈 응답
+     */
+    @DeleteMapping("/sender-cache/{userId}")
+    public ResponseEntity<Void> evictSenderName(@PathVariable String userId) {
+        log.info("Evicting sender name cache for user: {}", userId);
+        senderNameCache.invalidate(userId);
+        return ResponseEntity.noContent().build();
+    }
+}
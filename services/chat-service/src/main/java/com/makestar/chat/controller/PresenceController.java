@@ -0,0 +1,38 @@
+package com.makestar.chat.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import com.makestar.chat.presence.PresenceRegistry;
+import com.makestar.commons.dto.user.UserPresenceDto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 사용자 접속 상태 조회 API 컨트롤러
+ * WebSocket 연결로 관리하는 접속 상태를 데이터베이스 조회 없이 반환합니다.
+ * chat.presence.store=redis이면 모든 인스턴스의 세션을 기준으로 응답합니다.
+ */
+@RestController
+@RequestMapping("/api/chat/presence")
+@RequiredArgsConstructor
+@Slf4j
+public class PresenceController {
+
+    private final PresenceRegistry presenceRegistry;
+
+    /**
+     * 여러 사용자의 접속 상태를 한 번에 조회합니다.
+     *
+     * @param userIds 조회할 사용자 ID 목록
+     * @return 사용자 ID별 접속 상태
+     */
+    @GetMapping
+    public ResponseEntity<Map<String, UserPresenceDto>> getPresence(@RequestParam List<String> userIds) {
+        log.debug("Getting presence for {} users", userIds.size());
+        return ResponseEntity.ok(presenceRegistry.getPresence(userIds));
+    }
+}
@@ -3,13 +3,22 @@ package com.makestar.chat.controller;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.Payload;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
 import org.springframework.stereotype.Controller;
 
+import com.makestar.chat.broadcast.RoomBroadcaster;
+import com.makestar.chat.broadcast.RoomDestinations;
 import com.makestar.chat.dto.ChatMessageDto;
+import com.makestar.chat.dto.ReadUpToRequest;
+import com.makestar.chat.read.ReadReceiptBatcher;
 import com.makestar.chat.service.ChatMessageService;
+import com.makestar.chat.service.MessageIngestService;
+import com.makestar.chat.typing.TypingIndicatorAggregator;
+
+import java.util.List;
 
 /**
  * WebSocket을 통한 실시간 채팅 메시지를 처리하는 컨트롤러
@@ -20,11 +29,20 @@ import com.makestar.chat.service.ChatMessageService;
 @Slf4j
 public class WebSocketChatController {
 
-    /** WebSocket 메시지 전송을 위한 템플릿 */
-    private final SimpMessagingTemplate messagingTemplate;
+    /** 채팅방 구독자에게 메시지를 브로드캐스트하는 컴포넌트 */
+    private final RoomBroadcaster roomBroadcaster;
     
     /** 채팅 메시지 관련 비즈니스 로직을 처리하는 서비스 */
     private final ChatMessageService chatMessageService;
+    
+    /** WebSocket으로 받은 메시지의 저장 방식을 결정하는 서비스 (chat.ingest.mode) */
+    private final MessageIngestService messageIngestService;
+    
+    /** 입력 중 이벤트를 채팅방 단위로 모아 전달하는 컴포넌트 */
+    private final TypingIndicatorAggregator typingIndicatorAggregator;
+    
+    /** 읽음 위치 갱신 요청을 모아 저장하는 컴포넌트 */
+    private final ReadReceiptBatcher readReceiptBatcher;
 
     /**
      * 채팅방에 새로운 메시지를 전송합니다.
@@ -38,10 +56,10 @@ public class WebSocketChatController {
         log.info("Received message in room {}: {}", roomId, chatMessageDto.getContent());
         
         // 메시지 저장
-        ChatMessageDto savedMessage = chatMessageService.saveMessage(chatMessageDto);
+        ChatMessageDto savedMessage = messageIngestService.ingest(chatMessageDto);
         
         // 채팅방 전체에 메시지 발송
-        messagingTemplate.convertAndSend("/topic/chat/" + roomId, savedMessage);
+        roomBroadcaster.broadcast(roomId, savedMessage);
     }
 
     /**
@@ -62,7 +80,29 @@ public class WebSocketChatController {
         chatMessageService.markAsRead(messageId, userId);
         
         // 해당 채팅방에 메시지가 읽혔음을 알림
-        messagingTemplate.convertAndSend("/topic/chat/" + roomId + "/read", messageId);
+        roomBroadcaster.broadcast(roomId, RoomDestinations.READ, messageId);
+    }
+    
+    /**
+     * 사용자가 채팅방의 순번까지 읽었음을 기록합니다.
+     * 메시지마다 읽음 요청을 보내는 대신 마지막으로 읽은 순번 하나만 보내며,
+     * 짧은 시간 동안 들어온 요청은 (채팅방, 사용자)별로 한 번 저장되어
+     * 채팅방마다 하나의 읽음 위치 목록으로 /topic/chat/{roomId}/read-receipts 에 전달됩니다.
+     *
+     * @param roomId 채팅방 ID
+     * @param request 읽은 사용자 ID와 마지막으로 읽은 메시지 순번
+     * @throws IllegalArgumentException 사용자 ID나 순번이 없는 경우
+     * @throws IllegalStateException 메시지에 순번을 할당하지 않는 저장 방식(write-behind)인 경우
+     */
+    @MessageMapping("/chat.readUpTo/{roomId}")
+    public void readUpTo(@DestinationVariable String roomId, @Payload ReadUpToRequest request) {
+        requireSeqSupport("chat.readUpTo");
+        if (request.getUserId() == null || request.getUpToSeq() == null) {
+            throw new IllegalArgumentException("userId and upToSeq are required");
+        }
+        log.debug("User {} read room {} up to seq {}", request.getUserId(), roomId, request.getUpToSeq());
+        
+        readReceiptBatcher.onReadUpTo(roomId, request.getUserId(), request.getUpToSeq());
     }
     
     /**
@@ -85,8 +125,8 @@ public class WebSocketChatController {
                 .build();
         
         // 메시지 저장 및 발송
-        ChatMessageDto savedMessage = chatMessageService.saveMessage(joinMessage);
-        messagingTemplate.convertAndSend("/topic/chat/" + roomId, savedMessage);
+        ChatMessageDto savedMessage = messageIngestService.ingest(joinMessage);
+        roomBroadcaster.broadcast(roomId, savedMessage);
     }
 
     /**
@@ -109,21 +149,52 @@ public class WebSocketChatController {
                 .build();
         
         // 메시지 저장 및 발송
-        ChatMessageDto savedMessage = chatMessageService.saveMessage(leaveMessage);
-        messagingTemplate.convertAndSend("/topic/chat/" + roomId, savedMessage);
+        ChatMessageDto savedMessage = messageIngestService.ingest(leaveMessage);
+        roomBroadcaster.broadcast(roomId, savedMessage);
     }
 
     /**
      * 사용자가 메시지를 입력 중임을 다른 참여자들에게 알립니다.
+     * 이벤트는 채팅방 단위로 모아 주기적으로 입력 중인 사용자 목록(TypingIndicatorDto)으로 전달됩니다.
      *
      * @param roomId 채팅방 ID
      * @param userId 입력 중인 사용자 ID
      */
     @MessageMapping("/chat.typing/{roomId}")
     public void notifyTyping(@DestinationVariable String roomId, @Payload String userId) {
-        log.info("User {} is typing in room {}", userId, roomId);
+        log.debug("User {} is typing in room {}", userId, roomId);
         
-        // 타이핑 상태 브로드캐스트
-        messagingTemplate.convertAndSend("/topic/chat/" + roomId + "/typing", userId);
+        // 타이핑 상태 집계 (변경이 있을 때만 주기적으로 브로드캐스트)
+        typingIndicatorAggregator.onTyping(roomId, userId);
+    }
+
+    /**
+     * 재연결한 클라이언트에게 마지막으로 받은 순번 이후의 메시지를 다시 보냅니다.
+     * 클라이언트는 /topic/chat/{roomId}를 먼저 구독한 뒤 /app/chat.resume/{roomId}를
+     * last-seq 헤더와 함께 구독하며, 응답은 브로커를 거치지 않고 해당 세션에만 한 번 전달됩니다.
+     * 실시간 메시지와 겹치는 메시지는 클라이언트가 순번으로 걸러냅니다.
+     *
+     * @param roomId 채팅방 ID
+     * @param lastSeq 클라이언트가 마지막으로 받은 메시지 순번
+     * @return 순번 순서의 누락 메시지 목록
+     * @throws IllegalStateException 메시지에 순번을 할당하지 않는 저장 방식(write-behind)인 경우
+     */
+    @SubscribeMapping("/chat.resume/{roomId}")
+    public List<ChatMessageDto> resume(@DestinationVariable String roomId, @Header("last-seq") long lastSeq) {
+        requireSeqSupport("chat.resume");
+        log.debug("Resuming room {} after seq {}", roomId, lastSeq);
+        
+        return chatMessageService.getMessagesAfterSeq(roomId, lastSeq);
+    }
+
+    /**
+     * 실시간 메시지에 순번이 있는 저장 방식인지 확인합니다.
+     * write-behind 저장에서는 브로드캐스트하는 메시지에 순번이 없고 저장 순서가 전달 순서와 다를 수 있어
+     * 순번 기반 요청을 처리하지 않습니다.
+     */
+    private void requireSeqSupport(String operation) {
+        if (!messageIngestService.assignsSeq()) {
+            throw new IllegalStateException(operation + " is not supported with chat.ingest.mode=write-behind");
+        }
     }
-} 
\ No newline at end of file
+}
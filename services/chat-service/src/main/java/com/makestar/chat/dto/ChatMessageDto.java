@@ -22,6 +22,8 @@ public class ChatMessageDto {
     private String id;
     /** 메시지가 속한 채팅방 ID */
     private String chatRoomId;
+    /** 채팅방 안에서 단조 증가하는 메시지 순번 (저장 전이면 null) */
+    private Long seq;
     /** 메시지 발신자 ID */
     private String senderId;
     /** 메시지 발신자 이름 (사용자 서비스에서 조회) */
@@ -47,6 +49,7 @@ public class ChatMessageDto {
         return ChatMessageDto.builder()
                 .id(chatMessage.getId())
                 .chatRoomId(chatMessage.getChatRoomId())
+                .seq(chatMessage.getSeq())
                 .senderId(chatMessage.getSenderId())
                 .content(chatMessage.getContent())
                 .type(chatMessage.getType().name())
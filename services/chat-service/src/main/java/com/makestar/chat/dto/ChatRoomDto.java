@@ -9,6 +9,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Set;
 
+import com.makestar.chat.model.ChatInboxEntry;
 import com.makestar.chat.model.ChatRoom;
 
 /**
@@ -80,4 +81,37 @@ public class ChatRoomDto {
         dto.setUnreadCount(unreadCount);
         return dto;
     }
-} 
\ No newline at end of file
+
+    /**
+     * 인박스 항목을 DTO로 변환합니다.
+     * 채팅방 정보는 인박스 항목에 저장된 값으로, 마지막 메시지의 내용은 인박스에 저장된 미리보기로 채워집니다.
+     *
+     * @param entry 사용자의 인박스 항목
+     * @return 변환된 ChatRoomDto 객체
+     */
+    public static ChatRoomDto fromInboxEntry(ChatInboxEntry entry) {
+        ChatRoomDto dto = ChatRoomDto.builder()
+                .id(entry.getChatRoomId())
+                .name(entry.getChatRoomName())
+                .description(entry.getChatRoomDescription())
+                .type(entry.getChatRoomType() != null ? entry.getChatRoomType().name() : null)
+                .participantIds(entry.getParticipantIds())
+                .createdAt(entry.getChatRoomCreatedAt())
+                .updatedAt(entry.getChatRoomUpdatedAt())
+                .build();
+        dto.setUnreadCount(entry.getUnreadCount());
+        if (entry.getLastMessageId() != null) {
+            dto.setLastMessageAt(entry.getLastMessageAt());
+            dto.setLastMessage(ChatMessageDto.builder()
+                    .id(entry.getLastMessageId())
+                    .chatRoomId(entry.getChatRoomId())
+                    .senderId(entry.getLastSenderId())
+                    .senderName(entry.getLastSenderName())
+                    .content(entry.getLastMessageSnippet())
+                    .type(entry.getLastMessageType())
+                    .sentAt(entry.getLastMessageAt())
+                    .build());
+        }
+        return dto;
+    }
+}
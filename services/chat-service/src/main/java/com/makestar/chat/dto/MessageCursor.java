@@ -0,0 +1,61 @@
+package com.makestar.chat.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * 메시지 이력 조회용 커서
+ * 메시지의 (전송 시간, ID) 쌍으로 위치를 나타내며, "sentAt,id" 형식의 문자열로 주고받습니다.
+ * 예: 2024-05-01T12:30:45.123,3f1c2a9e-...
+ */
+@Data
+@AllArgsConstructor
+public class MessageCursor {
+    /** 기준 메시지의 전송 시간 */
+    private LocalDateTime sentAt;
+    /** 기준 메시지 ID */
+    private String id;
+
+    /**
+     * "sentAt,id" 형식의 문자열을 커서로 변환합니다.
+     *
+     * @param value 커서 문자열
+     * @return 변환된 커서
+     * @throws IllegalArgumentException 형식이 올바르지 않은 경우
+     */
+    public static MessageCursor parse(String value) {
+        int separator = value != null ? value.lastIndexOf(',') : -1;
+        if (separator <= 0 || separator == value.length() - 1) {
+            throw new IllegalArgumentException("Invalid message cursor: " + value);
+        }
+
+        try {
+            return new MessageCursor(LocalDateTime.parse(value.substring(0, separator)), value.substring(separator + 1));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid message cursor: " + value, e);
+        }
+    }
+
+    /**
+     * 메시지의 위치를 가리키는 커서를 생성합니다.
+     *
+     * @param message 기준 메시지
+     * @return 커서
+     */
+    public static MessageCursor of(ChatMessageDto message) {
+        return new MessageCursor(message.getSentAt(), message.getId());
+    }
+
+    /**
+     * 커서를 "sentAt,id" 형식의 문자열로 변환합니다.
+     *
+     * @return 커서 문자열
+     */
+    @Override
+    public String toString() {
+        return sentAt + "," + id;
+    }
+}
@@ -0,0 +1,25 @@
+package com.makestar.chat.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 사용자 전체 채팅방 검색 결과 데이터 전송 객체 (DTO)
+ * 검색된 메시지와 메시지가 속한 채팅방 정보를 함께 전달합니다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MessageSearchHitDto {
+    /** 검색된 메시지 (발신자 이름 포함) */
+    private ChatMessageDto message;
+    /** 메시지가 속한 채팅방 이름 */
+    private String chatRoomName;
+    /** 메시지가 속한 채팅방 타입 */
+    private String chatRoomType;
+    /** 관련도 점수 (클수록 관련도가 높음) */
+    private double rank;
+}
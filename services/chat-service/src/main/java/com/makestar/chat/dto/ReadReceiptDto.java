@@ -0,0 +1,30 @@
+package com.makestar.chat.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 사용자의 채팅방 읽음 위치 데이터 전송 객체 (DTO)
+ * /topic/chat/{roomId}/read-receipts 로 채팅방 단위 목록으로 모아 전달되며,
+ * 사용자는 lastReadSeq 이하의 메시지를 모두 읽은 것입니다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReadReceiptDto {
+    /** 채팅방 ID */
+    private String chatRoomId;
+    /** 읽은 사용자 ID */
+    private String userId;
+    /** 마지막으로 읽은 메시지의 채팅방 순번 */
+    private Long lastReadSeq;
+    /** 마지막으로 읽은 메시지 ID */
+    private String lastReadMessageId;
+    /** 읽은 시간 */
+    private LocalDateTime readAt;
+}
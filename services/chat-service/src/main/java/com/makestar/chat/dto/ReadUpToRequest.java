@@ -0,0 +1,17 @@
+package com.makestar.chat.dto;
+
+import lombok.Data;
+
+/**
+ * 읽음 위치 갱신 요청 DTO (/app/chat.readUpTo/{roomId})
+ * 메시지마다 읽음 요청을 보내는 대신 마지막으로 읽은 메시지의 채팅방 순번 하나만 보냅니다.
+ */
+@Data
+public class ReadUpToRequest {
+
+    /** 읽은 사용자 ID */
+    private String userId;
+
+    /** 마지막으로 읽은 메시지의 채팅방 순번 (포함) */
+    private Long upToSeq;
+}
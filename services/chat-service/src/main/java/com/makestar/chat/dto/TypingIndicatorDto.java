@@ -0,0 +1,23 @@
+package com.makestar.chat.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 채팅방에서 메시지를 입력 중인 사용자 목록 데이터 전송 객체 (DTO)
+ * /topic/chat/{roomId}/typing 으로 전달되며, 목록이 바뀔 때마다 전체 목록을 보냅니다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TypingIndicatorDto {
+    /** 채팅방 ID */
+    private String chatRoomId;
+    /** 입력 중인 사용자 ID 목록 (비어 있으면 입력 중인 사용자 없음) */
+    private List<String> typingUserIds;
+}
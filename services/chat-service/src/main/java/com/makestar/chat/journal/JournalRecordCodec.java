@@ -0,0 +1,86 @@
+package com.makestar.chat.journal;
+
+import com.makestar.chat.codec.CompactEncoding;
+import com.makestar.chat.dto.ChatMessageDto;
+import com.makestar.chat.model.ChatMessage;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * 저널 레코드의 바이너리 인코딩
+ * {@link CompactEncoding} 규칙으로 ID, 문자열 필드, 1바이트 메시지 타입 ordinal,
+ * UTC 기준 epoch 마이크로초 전송 시간을 차례로 기록합니다.
+ */
+final class JournalRecordCodec {
+
+    /** 레코드 형식 버전 */
+    private static final byte FORMAT_VERSION = 1;
+
+    private static final ChatMessage.MessageType[] MESSAGE_TYPES = ChatMessage.MessageType.values();
+
+    private JournalRecordCodec() {
+    }
+
+    /**
+     * 메시지를 레코드 페이로드로 인코딩합니다.
+     *
+     * @param message 인코딩할 메시지
+     * @return 인코딩된 바이트
+     */
+    static byte[] encode(ChatMessageDto message) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64 + lengthHint(message.getContent()));
+        out.write(FORMAT_VERSION);
+        CompactEncoding.writeId(out, message.getId());
+        CompactEncoding.writeString(out, message.getChatRoomId());
+        CompactEncoding.writeString(out, message.getSenderId());
+        CompactEncoding.writeString(out, message.getSenderName());
+        CompactEncoding.writeString(out, message.getContent());
+        out.write(ChatMessage.MessageType.valueOf(message.getType()).ordinal());
+        CompactEncoding.writeVarLong(out, toEpochMicros(message.getSentAt()));
+        return out.toByteArray();
+    }
+
+    /**
+     * 레코드 페이로드를 메시지로 디코딩합니다.
+     *
+     * @param payload 레코드 페이로드
+     * @return 디코딩된 메시지
+     * @throws IllegalArgumentException 형식이 올바르지 않은 경우
+     */
+    static ChatMessageDto decode(ByteBuffer payload) {
+        byte version = CompactEncoding.get(payload);
+        if (version != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported journal record version: " + version);
+        }
+        ChatMessageDto.ChatMessageDtoBuilder builder = ChatMessageDto.builder()
+                .id(CompactEncoding.readId(payload))
+                .chatRoomId(CompactEncoding.readString(payload))
+                .senderId(CompactEncoding.readString(payload))
+                .senderName(CompactEncoding.readString(payload))
+                .content(CompactEncoding.readString(payload));
+        int type = CompactEncoding.get(payload);
+        if (type < 0 || type >= MESSAGE_TYPES.length) {
+            throw new IllegalArgumentException("Unknown message type ordinal: " + type);
+        }
+        return builder
+                .type(MESSAGE_TYPES[type].name())
+                .sentAt(fromEpochMicros(CompactEncoding.readVarLong(payload)))
+                .build();
+    }
+
+    private static long toEpochMicros(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + time.getNano() / 1_000;
+    }
+
+    private static LocalDateTime fromEpochMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+
+    private static int lengthHint(String value) {
+        return value != null ? value.length() * 3 : 0;
+    }
+}
@@ -0,0 +1,392 @@
+package com.makestar.chat.journal;
+
+import lombok.extern.slf4j.Slf4j;
+
+import com.makestar.chat.dto.ChatMessageDto;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+/**
+ * 데이터베이스에 저장되기 전의 메시지를 보관하는 로컬 추가 전용 저널
+ * 저널은 고정 크기의 세그먼트 파일로 나뉘며, 각 세그먼트는 메모리 매핑되어
+ * [길이(4바이트)][CRC32(4바이트)][페이로드] 형식의 레코드가 차례로 기록됩니다.
+ * 길이가 0인 위치가 세그먼트의 끝입니다.
+ *
+ * 디스크 동기화는 그룹 커밋으로 처리합니다. 전용 스레드가 마지막 동기화 이후 기록된 범위를
+ * 한 번에 force 하고, 그동안 기록한 모든 호출자를 함께 깨웁니다.
+ * 데이터베이스 저장이 확인된 레코드는 {@link #release(long, int)}로 알려주며,
+ * 가득 차서 닫힌 세그먼트나 저널을 닫을 때의 현재 세그먼트는 레코드가 모두 저장되었으면 파일을 삭제합니다.
+ */
+@Slf4j
+public class MessageJournal implements Closeable {
+
+    /** 세그먼트 파일 확장자 */
+    private static final String SEGMENT_SUFFIX = ".journal";
+
+    /** 레코드 헤더 크기 (길이 + CRC32) */
+    private static final int RECORD_HEADER_SIZE = 8;
+
+    private final Path directory;
+    private final int segmentSize;
+
+    /** 세그먼트 ID별 세그먼트 (this로 보호) */
+    private final TreeMap<Long, Segment> segments = new TreeMap<>();
+
+    /** 현재 기록 중인 세그먼트 (this로 보호) */
+    private Segment activeSegment;
+
+    /** 지금까지 기록된 레코드 수 */
+    private volatile long appendedSequence;
+
+    /** 디스크 동기화가 끝난 레코드 수 (commitLock으로 보호) */
+    private long durableSequence;
+
+    private final Object commitLock = new Object();
+    private final Thread committerThread;
+    private volatile boolean closed;
+
+    /**
+     * 저널 디렉터리를 엽니다.
+     * 디렉터리에 남아 있는 세그먼트는 {@link #readAll()}로 읽을 수 있으며,
+     * 새 레코드는 기존 세그먼트 다음 ID의 새 세그먼트에 기록됩니다.
+     *
+     * @param directory 저널 디렉터리
+     * @param segmentSize 세그먼트 파일 크기 (바이트)
+     * @throws IOException 디렉터리나 세그먼트를 열 수 없는 경우
+     */
+    public MessageJournal(Path directory, int segmentSize) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        Files.createDirectories(directory);
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + SEGMENT_SUFFIX)) {
+            for (Path path : stream) {
+                long segmentId = parseSegmentId(path);
+                if (segmentId >= 0) {
+                    segments.put(segmentId, Segment.recovered(segmentId, path));
+                }
+            }
+        }
+        rollSegment();
+        committerThread = new Thread(this::runCommitter, "chat-journal-committer");
+        committerThread.setDaemon(true);
+        committerThread.start();
+    }
+
+    /**
+     * 메시지를 저널에 기록하고 디스크에 동기화될 때까지 기다립니다.
+     *
+     * @param message 기록할 메시지
+     * @return 레코드가 기록된 세그먼트 ID ({@link #release(long, int)}에 사용)
+     * @throws IOException 저널이 닫혔거나 기록에 실패한 경우
+     */
+    public long append(ChatMessageDto message) throws IOException {
+        byte[] payload = JournalRecordCodec.encode(message);
+        int recordSize = RECORD_HEADER_SIZE + payload.length;
+        if (recordSize + Integer.BYTES > segmentSize) {
+            throw new IllegalArgumentException("Journal record of " + recordSize + " bytes exceeds segment size");
+        }
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+
+        long segmentId;
+        long sequence;
+        synchronized (this) {
+            if (closed) {
+                throw new IOException("Message journal is closed");
+            }
+            // 세그먼트 끝 표시(길이 0)를 위한 공간을 남겨 둠
+            if (activeSegment.buffer.remaining() < recordSize + Integer.BYTES) {
+                rollSegment();
+            }
+            MappedByteBuffer buffer = activeSegment.buffer;
+            int recordStart = buffer.position();
+            buffer.position(recordStart + Integer.BYTES);
+            buffer.putInt((int) crc.getValue());
+            buffer.put(payload);
+            // 길이는 마지막에 기록하여 중간에 종료되어도 레코드가 완성된 것으로 보이지 않게 함
+            buffer.putInt(recordStart, payload.length);
+            activeSegment.recordCount++;
+            segmentId = activeSegment.id;
+            sequence = ++appendedSequence;
+        }
+
+        awaitDurable(sequence);
+        return segmentId;
+    }
+
+    /**
+     * 세그먼트의 레코드가 데이터베이스에 저장되었음을 기록합니다.
+     * 닫힌 세그먼트의 레코드가 모두 저장되면 세그먼트 파일을 삭제합니다.
+     *
+     * @param segmentId 세그먼트 ID
+     * @param count 저장된 레코드 수
+     */
+    public synchronized void release(long segmentId, int count) {
+        Segment segment = segments.get(segmentId);
+        if (segment == null) {
+            return;
+        }
+        segment.releasedCount += count;
+        deleteIfReleased(segment);
+    }
+
+    /**
+     * 저널을 연 시점에 남아 있던 세그먼트의 레코드를 모두 읽습니다.
+     * CRC가 맞지 않거나 잘린 레코드를 만나면 해당 세그먼트의 나머지는 건너뜁니다.
+     *
+     * @return 기록된 순서의 메시지 목록
+     * @throws IOException 세그먼트를 읽을 수 없는 경우
+     */
+    public synchronized List<ChatMessageDto> readAll() throws IOException {
+        List<ChatMessageDto> messages = new ArrayList<>();
+        for (Segment segment : segments.values()) {
+            if (segment.recovered) {
+                readSegment(segment.path, messages);
+            }
+        }
+        return messages;
+    }
+
+    /**
+     * 저널을 연 시점에 남아 있던 세그먼트를 모두 삭제합니다.
+     * {@link #readAll()}로 읽은 메시지를 데이터베이스와 맞춘 뒤 호출합니다.
+     *
+     * @throws IOException 세그먼트를 삭제할 수 없는 경우
+     */
+    public synchronized void discardRecovered() throws IOException {
+        List<Long> recoveredIds = new ArrayList<>();
+        for (Map.Entry<Long, Segment> entry : segments.entrySet()) {
+            if (entry.getValue().recovered) {
+                recoveredIds.add(entry.getKey());
+            }
+        }
+        for (Long segmentId : recoveredIds) {
+            Files.deleteIfExists(segments.remove(segmentId).path);
+        }
+    }
+
+    /**
+     * 현재 남아 있는 세그먼트 수를 반환합니다.
+     *
+     * @return 세그먼트 수
+     */
+    public synchronized int segmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * 기록된 내용을 동기화하고 저널을 닫습니다.
+     * 레코드가 모두 저장된 현재 세그먼트는 삭제하고, 저장되지 않은 레코드가 남은 세그먼트만
+     * 다음 시작 시 복구할 수 있도록 남겨 둡니다.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            activeSegment.buffer.force();
+            activeSegment.forcedPosition = activeSegment.buffer.position();
+            activeSegment.sealed = true;
+            deleteIfReleased(activeSegment);
+        }
+        synchronized (commitLock) {
+            durableSequence = appendedSequence;
+            commitLock.notifyAll();
+        }
+        try {
+            committerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 기록한 레코드가 디스크에 동기화될 때까지 기다립니다.
+     */
+    private void awaitDurable(long sequence) throws IOException {
+        synchronized (commitLock) {
+            commitLock.notifyAll();
+            boolean interrupted = false;
+            while (durableSequence < sequence) {
+                if (closed) {
+                    throw new IOException("Message journal closed before commit");
+                }
+                try {
+                    commitLock.wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * 그룹 커밋 스레드 본문
+     * 동기화되지 않은 레코드가 생길 때까지 기다렸다가, 기록된 범위를 한 번에 force 합니다.
+     */
+    private void runCommitter() {
+        while (true) {
+            synchronized (commitLock) {
+                while (!closed && durableSequence >= appendedSequence) {
+                    try {
+                        commitLock.wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+                if (closed) {
+                    commitLock.notifyAll();
+                    return;
+                }
+            }
+
+            long targetSequence;
+            Segment segment;
+            int from;
+            int to;
+            synchronized (this) {
+                targetSequence = appendedSequence;
+                segment = activeSegment;
+                from = segment.forcedPosition;
+                to = segment.buffer.position();
+                segment.forcedPosition = to;
+            }
+            if (to > from) {
+                segment.buffer.force(from, to - from);
+            }
+
+            synchronized (commitLock) {
+                durableSequence = targetSequence;
+                commitLock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * 현재 세그먼트를 동기화하여 닫고 새 세그먼트를 만듭니다.
+     * 닫힌 세그먼트가 모두 저장된 상태라면 바로 삭제합니다.
+     */
+    private void rollSegment() throws IOException {
+        Segment previous = activeSegment;
+        long segmentId = segments.isEmpty() ? 0 : segments.lastKey() + 1;
+        Path path = directory.resolve(String.format("%020d%s", segmentId, SEGMENT_SUFFIX));
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // 채널을 닫아도 매핑은 유지됨
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        }
+        activeSegment = Segment.active(segmentId, path, buffer);
+        segments.put(segmentId, activeSegment);
+
+        if (previous != null) {
+            previous.buffer.force();
+            previous.forcedPosition = previous.buffer.position();
+            previous.sealed = true;
+            deleteIfReleased(previous);
+        }
+        log.debug("Opened journal segment {}", path);
+    }
+
+    private void deleteIfReleased(Segment segment) {
+        if (!segment.sealed || segment.releasedCount < segment.recordCount) {
+            return;
+        }
+        segments.remove(segment.id);
+        try {
+            Files.deleteIfExists(segment.path);
+            log.debug("Deleted journal segment {}", segment.path);
+        } catch (IOException e) {
+            log.warn("Failed to delete journal segment {}: {}", segment.path, e.getMessage());
+        }
+    }
+
+    private static void readSegment(Path path, List<ChatMessageDto> messages) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+        CRC32 crc = new CRC32();
+        while (buffer.remaining() >= RECORD_HEADER_SIZE) {
+            int length = buffer.getInt();
+            if (length == 0) {
+                return;
+            }
+            int checksum = buffer.getInt();
+            if (length < 0 || length > buffer.remaining()) {
+                log.warn("Truncated record in journal segment {}; skipping the rest", path);
+                return;
+            }
+            ByteBuffer payload = buffer.slice();
+            payload.limit(length);
+            crc.reset();
+            crc.update(payload.duplicate());
+            if ((int) crc.getValue() != checksum) {
+                log.warn("Checksum mismatch in journal segment {}; skipping the rest", path);
+                return;
+            }
+            try {
+                messages.add(JournalRecordCodec.decode(payload));
+            } catch (IllegalArgumentException e) {
+                log.warn("Unreadable record in journal segment {}: {}", path, e.getMessage());
+            }
+            buffer.position(buffer.position() + length);
+        }
+    }
+
+    private static long parseSegmentId(Path path) {
+        String fileName = path.getFileName().toString();
+        try {
+            return Long.parseLong(fileName.substring(0, fileName.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring unexpected file in journal directory: {}", fileName);
+            return -1;
+        }
+    }
+
+    /**
+     * 저널 세그먼트 한 개의 상태 (MessageJournal 인스턴스로 보호)
+     */
+    private static final class Segment {
+        private final long id;
+        private final Path path;
+        private final MappedByteBuffer buffer;
+        /** 이전 실행에서 남은 세그먼트 여부 */
+        private final boolean recovered;
+        private int recordCount;
+        private int releasedCount;
+        private int forcedPosition;
+        private boolean sealed;
+
+        private Segment(long id, Path path, MappedByteBuffer buffer, boolean recovered) {
+            this.id = id;
+            this.path = path;
+            this.buffer = buffer;
+            this.recovered = recovered;
+        }
+
+        static Segment active(long id, Path path, MappedByteBuffer buffer) {
+            return new Segment(id, path, buffer, false);
+        }
+
+        static Segment recovered(long id, Path path) {
+            return new Segment(id, path, null, true);
+        }
+    }
+}
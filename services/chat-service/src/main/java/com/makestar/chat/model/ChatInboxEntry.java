@@ -0,0 +1,116 @@
+package com.makestar.chat.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 사용자별 채팅방 목록(인박스) 엔티티 클래스
+ * 사용자와 채팅방 쌍마다 채팅방 정보, 마지막 메시지 요약과 읽지 않은 메시지 수를 미리 계산해 저장합니다.
+ * 채팅방 목록 조회 시 채팅방과 메시지 테이블을 조회하지 않고 이 테이블만 읽습니다.
+ */
+@Entity
+@Table(name = "chat_inbox_entries",
+       uniqueConstraints = @UniqueConstraint(name = "uk_chat_inbox_entries_user_room",
+                                             columnNames = {"user_id", "chat_room_id"}),
+       indexes = @Index(name = "idx_chat_inbox_entries_user_last_message",
+                        columnList = "user_id, last_message_at"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatInboxEntry {
+
+    /** 마지막 메시지 미리보기의 최대 길이 */
+    public static final int SNIPPET_LENGTH = 100;
+
+    /** 인박스 항목의 고유 식별자 */
+    @Id
+    @GeneratedValue(generator = "uuid")
+    @GenericGenerator(name = "uuid", strategy = "uuid2")
+    private String id;
+
+    /** 인박스 소유자 ID */
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    /** 채팅방 ID */
+    @Column(name = "chat_room_id", nullable = false)
+    private String chatRoomId;
+
+    /** 채팅방 이름 */
+    @Column(name = "chat_room_name")
+    private String chatRoomName;
+
+    /** 채팅방 설명 */
+    @Column(name = "chat_room_description")
+    private String chatRoomDescription;
+
+    /** 채팅방 타입 */
+    @Column(name = "chat_room_type")
+    @Enumerated(EnumType.STRING)
+    private ChatRoom.ChatRoomType chatRoomType;
+
+    /** 채팅방 생성 시간 */
+    @Column(name = "chat_room_created_at")
+    private LocalDateTime chatRoomCreatedAt;
+
+    /** 채팅방 정보 수정 시간 */
+    @Column(name = "chat_room_updated_at")
+    private LocalDateTime chatRoomUpdatedAt;
+
+    /** 채팅방 참여자 ID 목록 */
+    @Column(name = "participant_ids", columnDefinition = "TEXT")
+    @Convert(converter = StringSetConverter.class)
+    @Builder.Default
+    private Set<String> participantIds = new HashSet<>();
+
+    /** 마지막 메시지 ID (메시지가 없는 채팅방은 null) */
+    @Column
+    private String lastMessageId;
+
+    /** 마지막 메시지 내용의 미리보기 */
+    @Column(length = SNIPPET_LENGTH)
+    private String lastMessageSnippet;
+
+    /** 마지막 메시지 발신자 ID */
+    @Column
+    private String lastSenderId;
+
+    /** 마지막 메시지 발신자 이름 */
+    @Column
+    private String lastSenderName;
+
+    /** 마지막 메시지 타입 */
+    @Column
+    private String lastMessageType;
+
+    /** 마지막 메시지 시간 (메시지가 없는 채팅방은 채팅방 생성 시간) */
+    @Column(name = "last_message_at", nullable = false)
+    private LocalDateTime lastMessageAt;
+
+    /** 읽지 않은 메시지 수 */
+    @Column(nullable = false)
+    @Builder.Default
+    private long unreadCount = 0;
+
+    /**
+     * 메시지 내용을 미리보기 길이에 맞게 자릅니다.
+     *
+     * @param content 메시지 내용
+     * @return 미리보기 문자열
+     */
+    public static String toSnippet(String content) {
+        if (content == null || content.length() <= SNIPPET_LENGTH) {
+            return content;
+        }
+        return content.substring(0, SNIPPET_LENGTH);
+    }
+}
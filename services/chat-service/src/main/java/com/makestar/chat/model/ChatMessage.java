@@ -4,37 +4,43 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import org.hibernate.annotations.GenericGenerator;
+import org.springframework.data.domain.Persistable;
 
 import javax.persistence.*;
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 /**
  * 채팅 메시지 엔티티 클래스
  * 채팅방에서 주고받는 메시지의 정보를 저장합니다.
+ * 메시지 ID는 저장 전에 애플리케이션에서 할당할 수 있으며(write-behind 저장),
+ * 할당된 ID가 있어도 새 엔티티로 취급하여 조회 없이 INSERT 되도록 Persistable을 구현합니다.
  */
 @Entity
-@Table(name = "chat_messages")
+@Table(name = "chat_messages",
+       indexes = @Index(name = "idx_chat_messages_room_sent_at_id", columnList = "chat_room_id, sent_at, id"))
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class ChatMessage {
+public class ChatMessage implements Persistable<String> {
 
-    /** 메시지의 고유 식별자 */
+    /** 메시지의 고유 식별자 (저장 시점까지 할당되지 않으면 UUID로 생성) */
     @Id
-    @GeneratedValue(generator = "uuid")
-    @GenericGenerator(name = "uuid", strategy = "uuid2")
     private String id;
 
     /** 메시지가 속한 채팅방의 ID */
-    @Column(nullable = false)
+    @Column(name = "chat_room_id", nullable = false)
     private String chatRoomId;
 
     /** 메시지를 보낸 사용자의 ID */
     @Column(nullable = false)
     private String senderId;
 
+    /** 채팅방 안에서 단조 증가하는 메시지 순번 (저장 시 chat_rooms.last_seq에서 할당) */
+    @Column(name = "seq")
+    private Long seq;
+
     /** 메시지 내용 */
     @Column(nullable = false)
     private String content;
@@ -46,7 +52,7 @@ public class ChatMessage {
     private MessageType type = MessageType.TEXT;
 
     /** 메시지 전송 시간 */
-    @Column(nullable = false)
+    @Column(name = "sent_at", nullable = false)
     @Builder.Default
     private LocalDateTime sentAt = LocalDateTime.now();
 
@@ -59,6 +65,11 @@ public class ChatMessage {
     @Column
     private LocalDateTime readAt;
 
+    /** 아직 저장되지 않은 엔티티인지 여부 */
+    @Transient
+    @Builder.Default
+    private boolean newEntity = true;
+
     /**
      * 메시지 타입을 정의하는 열거형
      * TEXT: 일반 텍스트 메시지
@@ -70,6 +81,36 @@ public class ChatMessage {
         TEXT, IMAGE, FILE, SYSTEM
     }
 
+    /**
+     * 저장 전에 ID가 할당되지 않았으면 UUID를 할당합니다.
+     */
+    @PrePersist
+    protected void onCreate() {
+        if (id == null) {
+            id = UUID.randomUUID().toString();
+        }
+    }
+
+    /**
+     * 저장되거나 조회된 엔티티는 더 이상 새 엔티티가 아닙니다.
+     */
+    @PostPersist
+    @PostLoad
+    protected void markNotNew() {
+        this.newEntity = false;
+    }
+
+    /**
+     * 새 엔티티인지 여부를 반환합니다.
+     * Spring Data는 이 값으로 persist와 merge 중 하나를 선택합니다.
+     *
+     * @return 새 엔티티이면 true
+     */
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
     /**
      * 메시지를 읽음 상태로 표시합니다.
      * 이미 읽은 메시지는 다시 처리하지 않습니다.
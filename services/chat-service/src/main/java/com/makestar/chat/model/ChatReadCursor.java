@@ -0,0 +1,52 @@
+package com.makestar.chat.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 읽음 위치(워터마크) 엔티티 클래스
+ * 사용자가 채팅방에서 마지막으로 읽은 메시지의 위치를 저장합니다.
+ * 이 위치 이후에 다른 사용자가 보낸 메시지가 읽지 않은 메시지입니다.
+ */
+@Entity
+@Table(name = "chat_read_cursors",
+       uniqueConstraints = @UniqueConstraint(name = "uk_chat_read_cursors_room_user",
+                                             columnNames = {"chat_room_id", "user_id"}))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatReadCursor {
+
+    /** 읽음 위치의 고유 식별자 */
+    @Id
+    @GeneratedValue(generator = "uuid")
+    @GenericGenerator(name = "uuid", strategy = "uuid2")
+    private String id;
+
+    /** 채팅방 ID */
+    @Column(name = "chat_room_id", nullable = false)
+    private String chatRoomId;
+
+    /** 사용자 ID */
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    /** 마지막으로 읽은 메시지의 전송 시간 */
+    @Column(name = "last_read_sent_at", nullable = false)
+    private LocalDateTime lastReadSentAt;
+
+    /** 마지막으로 읽은 메시지 ID */
+    @Column(name = "last_read_message_id")
+    private String lastReadMessageId;
+
+    /** 읽음 위치가 갱신된 시간 */
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -4,6 +4,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.GenericGenerator;
 
 import javax.persistence.*;
@@ -50,6 +51,7 @@ public class ChatRoom {
     @ElementCollection
     @CollectionTable(name = "chat_room_participants", joinColumns = @JoinColumn(name = "chat_room_id"))
     @Column(name = "user_id")
+    @BatchSize(size = 100)
     @Builder.Default
     private Set<String> participantIds = new HashSet<>();
 
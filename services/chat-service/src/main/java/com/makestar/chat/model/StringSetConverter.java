@@ -0,0 +1,34 @@
+package com.makestar.chat.model;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 문자열 집합을 쉼표로 구분한 하나의 컬럼 값으로 저장하는 JPA 컨버터
+ * 인박스 항목의 참여자 ID 목록처럼 목록 조회 시 함께 읽기만 하는 값에 사용합니다.
+ * 각 값에는 쉼표가 포함되지 않아야 합니다.
+ */
+@Converter
+public class StringSetConverter implements AttributeConverter<Set<String>, String> {
+
+    private static final String DELIMITER = ",";
+
+    @Override
+    public String convertToDatabaseColumn(Set<String> values) {
+        if (values == null || values.isEmpty()) {
+            return null;
+        }
+        return String.join(DELIMITER, values);
+    }
+
+    @Override
+    public Set<String> convertToEntityAttribute(String column) {
+        if (column == null || column.isEmpty()) {
+            return new HashSet<>();
+        }
+        return new HashSet<>(Arrays.asList(column.split(DELIMITER)));
+    }
+}
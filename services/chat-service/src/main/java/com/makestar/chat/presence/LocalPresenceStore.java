@@ -0,0 +1,77 @@
+package com.makestar.chat.presence;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.makestar.commons.dto.user.UserDto;
+import com.makestar.commons.dto.user.UserPresenceDto;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 현재 인스턴스의 세션만으로 접속 상태를 판단하는 PresenceStore 구현 클래스 (chat.presence.store=local)
+ * 단일 인스턴스 운영용이며, 여러 인스턴스를 운영하면 다른 인스턴스에 연결된 사용자는 오프라인으로 보입니다.
+ * 온라인 사용자의 마지막 접속 시간은 갱신 주기(flush-interval) 단위로 반영됩니다.
+ */
+@Component
+@ConditionalOnProperty(name = "chat.presence.store", havingValue = "local", matchIfMissing = true)
+public class LocalPresenceStore implements PresenceStore {
+
+    /** 온라인 사용자의 마지막 접속 시간 */
+    private final Map<String, Long> onlineLastSeen = new ConcurrentHashMap<>();
+
+    /** 오프라인이 된 사용자의 마지막 접속 시간 */
+    private final Cache<String, Long> offlineLastSeen;
+
+    public LocalPresenceStore(@Value("${chat.presence.offline-cache-size:100000}") long offlineCacheSize) {
+        this.offlineLastSeen = Caffeine.newBuilder()
+                .maximumSize(offlineCacheSize)
+                .build();
+    }
+
+    @Override
+    public boolean markOnline(String userId, long lastSeenMillis) {
+        onlineLastSeen.put(userId, lastSeenMillis);
+        return true;
+    }
+
+    @Override
+    public boolean markOffline(String userId, long lastSeenMillis) {
+        onlineLastSeen.remove(userId);
+        offlineLastSeen.put(userId, lastSeenMillis);
+        return true;
+    }
+
+    @Override
+    public void refresh(Map<String, Long> lastSeenByUser) {
+        lastSeenByUser.forEach((userId, lastSeenMillis) -> onlineLastSeen.computeIfPresent(userId,
+                (id, previous) -> Math.max(previous, lastSeenMillis)));
+    }
+
+    @Override
+    public Map<String, UserPresenceDto> getPresence(Collection<String> userIds) {
+        Map<String, UserPresenceDto> presence = new HashMap<>();
+        for (String userId : new HashSet<>(userIds)) {
+            Long onlineMillis = onlineLastSeen.get(userId);
+            Long lastSeenMillis = onlineMillis != null ? onlineMillis : offlineLastSeen.getIfPresent(userId);
+            presence.put(userId, UserPresenceDto.builder()
+                    .userId(userId)
+                    .status(onlineMillis != null ? UserDto.UserStatus.ONLINE : UserDto.UserStatus.OFFLINE)
+                    .lastSeen(lastSeenMillis != null
+                            ? LocalDateTime.ofInstant(Instant.ofEpochMilli(lastSeenMillis), ZoneId.systemDefault())
+                            : null)
+                    .build());
+        }
+        return presence;
+    }
+}
@@ -0,0 +1,433 @@
+package com.makestar.chat.presence;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import com.makestar.chat.client.UserServiceClient;
+import com.makestar.commons.dto.user.UserDto;
+import com.makestar.commons.dto.user.UserPresenceDto;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WebSocket 연결로 사용자의 접속 상태를 관리하는 메모리 레지스트리
+ * 클라이언트는 CONNECT 프레임의 user-id 헤더로 사용자를 알리며, 이후 세션에서 들어오는 모든 프레임
+ * (STOMP 하트비트 포함)이 마지막 접속 시간을 갱신합니다.
+ * <ul>
+ *   <li>첫 세션이 연결되면 온라인, 마지막 세션이 끊기거나 ttl 동안 프레임이 없으면 오프라인이 됩니다.
+ *       만료 검사는 WebSocket 하트비트 스케줄러에서 sweep-interval마다 실행합니다.</li>
+ *   <li>상태 변경은 모아 두었다가 flush-interval마다 User Service에 한 번에 저장하며,
+ *       온라인 사용자의 마지막 접속 시간은 refresh-interval마다 다시 저장하여
+ *       User Service가 갱신이 끊긴 온라인 상태를 만료할 수 있게 합니다.</li>
+ * </ul>
+ * 세션은 인스턴스별로 관리하고, 사용자의 전체 접속 상태는 {@link PresenceStore}로 판단합니다.
+ * 여러 인스턴스를 운영하면 chat.presence.store=redis로 설정하여, 다른 인스턴스에 세션이 남아 있는 동안에는
+ * 오프라인으로 저장하지 않고 접속 상태 조회도 모든 인스턴스의 세션을 기준으로 응답하게 합니다.
+ */
+@Component
+@Slf4j
+public class PresenceRegistry implements ChannelInterceptor, SmartInitializingSingleton {
+
+    /** 클라이언트가 CONNECT 프레임에서 사용자 ID를 알리는 헤더 */
+    public static final String USER_ID_HEADER = "user-id";
+
+    /** User Service 일괄 저장 한 번에 보내는 최대 사용자 수 */
+    private static final int FLUSH_BATCH_SIZE = 500;
+
+    private final UserServiceClient userServiceClient;
+    private final PresenceStore presenceStore;
+    private final TaskScheduler heartbeatScheduler;
+    private final long ttlMillis;
+    private final long sweepIntervalMillis;
+    private final long flushIntervalMillis;
+    private final long refreshIntervalMillis;
+    private final Counter expiredSessions;
+    private final Counter flushedUpdates;
+
+    /** 세션 ID별 접속 정보 */
+    private final Map<String, SessionPresence> sessions = new ConcurrentHashMap<>();
+
+    /** 사용자 ID별 활성 세션 ID (활성 세션이 있는 사용자만 보관) */
+    private final Map<String, Set<String>> activeSessionsByUser = new ConcurrentHashMap<>();
+
+    /** User Service에 저장할 사용자별 최신 상태 */
+    private final Map<String, UserPresenceDto> pendingUpdates = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService flusher;
+    private long lastRefreshMillis;
+
+    public PresenceRegistry(UserServiceClient userServiceClient,
+                            PresenceStore presenceStore,
+                            @Lazy @Qualifier("webSocketHeartbeatTaskScheduler") TaskScheduler heartbeatScheduler,
+                            MeterRegistry meterRegistry,
+                            @Value("${chat.presence.ttl:30s}") Duration ttl,
+                            @Value("${chat.presence.sweep-interval:10s}") Duration sweepInterval,
+                            @Value("${chat.presence.flush-interval:5s}") Duration flushInterval,
+                            @Value("${chat.presence.refresh-interval:1m}") Duration refreshInterval) {
+        this.userServiceClient = userServiceClient;
+        this.presenceStore = presenceStore;
+        this.heartbeatScheduler = heartbeatScheduler;
+        this.ttlMillis = ttl.toMillis();
+        this.sweepIntervalMillis = sweepInterval.toMillis();
+        this.flushIntervalMillis = flushInterval.toMillis();
+        this.refreshIntervalMillis = refreshInterval.toMillis();
+        this.expiredSessions = Counter.builder("chat.presence.sessions.expired")
+                .description("Sessions marked offline after missing heartbeats")
+                .register(meterRegistry);
+        this.flushedUpdates = Counter.builder("chat.presence.updates.flushed")
+                .description("Presence updates persisted to the user service")
+                .register(meterRegistry);
+        Gauge.builder("chat.presence.online.users", activeSessionsByUser, Map::size)
+                .description("Users with at least one active chat session")
+                .register(meterRegistry);
+        Gauge.builder("chat.presence.sessions", sessions, Map::size)
+                .description("Chat sessions that identified a user")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 모든 빈이 생성된 뒤 만료 검사와 저장 작업을 시작합니다.
+     * 하트비트 스케줄러는 WebSocket 설정에서 만들어지므로 생성자에서는 지연 참조만 받아 둡니다.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        heartbeatScheduler.scheduleWithFixedDelay(this::expireIdleSessions, Duration.ofMillis(sweepIntervalMillis));
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "chat-presence-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        lastRefreshMillis = System.currentTimeMillis();
+        flusher.scheduleWithFixedDelay(this::flush, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 저장 작업을 멈추고, 이 인스턴스의 활성 세션을 모두 비활성화한 뒤 남은 상태 변경을 저장합니다.
+     * 다른 인스턴스에 세션이 없는 사용자는 오프라인으로 저장됩니다.
+     */
+    @PreDestroy
+    public void stop() {
+        if (flusher != null) {
+            flusher.shutdownNow();
+        }
+        long now = System.currentTimeMillis();
+        sessions.forEach((sessionId, session) -> {
+            if (session.active) {
+                deactivate(sessionId, session, now);
+            }
+        });
+        flushPending();
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getSessionId() == null) {
+            return message;
+        }
+        String sessionId = accessor.getSessionId();
+        StompCommand command = accessor.getCommand();
+        long now = System.currentTimeMillis();
+        if (StompCommand.CONNECT.equals(command) || StompCommand.STOMP.equals(command)) {
+            String userId = accessor.getFirstNativeHeader(USER_ID_HEADER);
+            if (userId != null && !userId.isEmpty()) {
+                connect(sessionId, userId, now);
+            }
+        } else if (StompCommand.DISCONNECT.equals(command)) {
+            disconnect(sessionId, now);
+        } else {
+            touch(sessionId, now);
+        }
+        return message;
+    }
+
+    /**
+     * DISCONNECT 프레임 없이 연결이 끊긴 세션을 정리합니다.
+     */
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        disconnect(event.getSessionId(), System.currentTimeMillis());
+    }
+
+    /**
+     * 여러 사용자의 접속 상태를 한 번에 조회합니다. (친구 목록 등)
+     * 어느 인스턴스에든 활성 세션이 있는 사용자는 온라인, 그 외에는 오프라인입니다.
+     * 저장소 조회에 실패하면 이 인스턴스의 세션만으로 응답합니다.
+     *
+     * @param userIds 사용자 ID 목록
+     * @return 사용자 ID별 접속 상태
+     */
+    public Map<String, UserPresenceDto> getPresence(Collection<String> userIds) {
+        try {
+            return presenceStore.getPresence(userIds);
+        } catch (Exception e) {
+            log.warn("Failed to read shared presence, answering from local sessions: {}", e.getMessage());
+        }
+        Map<String, UserPresenceDto> presence = new HashMap<>();
+        for (String userId : new HashSet<>(userIds)) {
+            Long lastSeenMillis = activeLastSeenMillis(userId);
+            presence.put(userId, UserPresenceDto.builder()
+                    .userId(userId)
+                    .status(lastSeenMillis != null ? UserDto.UserStatus.ONLINE : UserDto.UserStatus.OFFLINE)
+                    .lastSeen(lastSeenMillis != null ? toLocalDateTime(lastSeenMillis) : null)
+                    .build());
+        }
+        return presence;
+    }
+
+    private void connect(String sessionId, String userId, long now) {
+        SessionPresence previous = sessions.put(sessionId, new SessionPresence(userId, now));
+        if (previous != null) {
+            deactivate(sessionId, previous, now);
+        }
+        activate(sessionId, sessions.get(sessionId), now);
+    }
+
+    private void disconnect(String sessionId, long now) {
+        SessionPresence session = sessions.remove(sessionId);
+        if (session != null) {
+            deactivate(sessionId, session, now);
+        }
+    }
+
+    private void touch(String sessionId, long now) {
+        SessionPresence session = sessions.get(sessionId);
+        if (session == null) {
+            return;
+        }
+        session.lastSeenMillis = now;
+        if (!session.active) {
+            activate(sessionId, session, now);
+        }
+    }
+
+    /**
+     * 세션을 사용자의 활성 세션에 추가합니다.
+     * 이 인스턴스의 첫 활성 세션이면 저장소에 알리고, 다른 인스턴스에도 세션이 없었으면 온라인으로 기록합니다.
+     */
+    private void activate(String sessionId, SessionPresence session, long now) {
+        if (session == null) {
+            return;
+        }
+        boolean[] cameOnline = {false};
+        activeSessionsByUser.compute(session.userId, (userId, userSessions) -> {
+            Set<String> target = userSessions != null ? userSessions : ConcurrentHashMap.newKeySet();
+            cameOnline[0] = target.isEmpty();
+            target.add(sessionId);
+            session.active = true;
+            return target;
+        });
+        if (cameOnline[0] && markOnline(session.userId, now)) {
+            log.debug("User {} is online", session.userId);
+            recordUpdate(session.userId, UserDto.UserStatus.ONLINE, now);
+        }
+    }
+
+    /**
+     * 세션을 사용자의 활성 세션에서 제거합니다.
+     * 이 인스턴스의 마지막 활성 세션이면 저장소에 알리고, 다른 인스턴스에도 세션이 없으면 오프라인으로 기록합니다.
+     */
+    private void deactivate(String sessionId, SessionPresence session, long lastSeenMillis) {
+        boolean[] wentOffline = {false};
+        activeSessionsByUser.computeIfPresent(session.userId, (userId, userSessions) -> {
+            session.active = false;
+            if (userSessions.remove(sessionId) && userSessions.isEmpty()) {
+                wentOffline[0] = true;
+                return null;
+            }
+            return userSessions;
+        });
+        if (wentOffline[0] && markOffline(session.userId, lastSeenMillis)) {
+            log.debug("User {} is offline", session.userId);
+            recordUpdate(session.userId, UserDto.UserStatus.OFFLINE, lastSeenMillis);
+        }
+    }
+
+    /**
+     * 저장소에 온라인을 알립니다. 저장소를 사용할 수 없으면 이 인스턴스의 판단대로 온라인으로 기록합니다.
+     */
+    private boolean markOnline(String userId, long lastSeenMillis) {
+        try {
+            return presenceStore.markOnline(userId, lastSeenMillis);
+        } catch (Exception e) {
+            log.warn("Failed to mark user {} online in presence store: {}", userId, e.getMessage());
+            return true;
+        }
+    }
+
+    /**
+     * 저장소에 오프라인을 알립니다. 저장소를 사용할 수 없으면 이 인스턴스의 판단대로 오프라인으로 기록합니다.
+     */
+    private boolean markOffline(String userId, long lastSeenMillis) {
+        try {
+            return presenceStore.markOffline(userId, lastSeenMillis);
+        } catch (Exception e) {
+            log.warn("Failed to mark user {} offline in presence store: {}", userId, e.getMessage());
+            return true;
+        }
+    }
+
+    /**
+     * ttl 동안 프레임이 없는 세션을 비활성화합니다.
+     * 세션 정보는 남겨 두어 이후 프레임이 오면 다시 온라인으로 기록합니다.
+     */
+    private void expireIdleSessions() {
+        long cutoff = System.currentTimeMillis() - ttlMillis;
+        sessions.forEach((sessionId, session) -> {
+            long lastSeenMillis = session.lastSeenMillis;
+            if (session.active && lastSeenMillis < cutoff) {
+                expiredSessions.increment();
+                deactivate(sessionId, session, lastSeenMillis);
+            }
+        });
+    }
+
+    private Long activeLastSeenMillis(String userId) {
+        Set<String> userSessions = activeSessionsByUser.get(userId);
+        if (userSessions == null) {
+            return null;
+        }
+        Long latest = null;
+        for (String sessionId : userSessions) {
+            SessionPresence session = sessions.get(sessionId);
+            if (session != null && (latest == null || session.lastSeenMillis > latest)) {
+                latest = session.lastSeenMillis;
+            }
+        }
+        return latest;
+    }
+
+    private void recordUpdate(String userId, UserDto.UserStatus status, long lastSeenMillis) {
+        pendingUpdates.put(userId, UserPresenceDto.builder()
+                .userId(userId)
+                .status(status)
+                .lastSeen(toLocalDateTime(lastSeenMillis))
+                .build());
+    }
+
+    /**
+     * 이 인스턴스의 온라인 사용자를 저장소에서 갱신하고,
+     * refresh-interval이 지났으면 온라인 사용자의 마지막 접속 시간을 저장 대상에 추가한 뒤 모아 둔 변경을 저장합니다.
+     */
+    private void flush() {
+        refreshStore();
+        long now = System.currentTimeMillis();
+        if (now - lastRefreshMillis >= refreshIntervalMillis) {
+            lastRefreshMillis = now;
+            for (String userId : activeSessionsByUser.keySet()) {
+                Long lastSeenMillis = activeLastSeenMillis(userId);
+                if (lastSeenMillis != null) {
+                    pendingUpdates.putIfAbsent(userId, UserPresenceDto.builder()
+                            .userId(userId)
+                            .status(UserDto.UserStatus.ONLINE)
+                            .lastSeen(toLocalDateTime(lastSeenMillis))
+                            .build());
+                }
+            }
+        }
+        flushPending();
+    }
+
+    /**
+     * 저장소의 이 인스턴스 항목이 만료되지 않도록 활성 세션이 있는 사용자의 마지막 접속 시간을 갱신합니다.
+     * 세션 연결과 종료가 겹쳐 저장소 상태가 어긋나도 다음 갱신에서 바로잡힙니다.
+     */
+    private void refreshStore() {
+        Map<String, Long> lastSeenByUser = new HashMap<>();
+        for (String userId : activeSessionsByUser.keySet()) {
+            Long lastSeenMillis = activeLastSeenMillis(userId);
+            if (lastSeenMillis != null) {
+                lastSeenByUser.put(userId, lastSeenMillis);
+            }
+        }
+        try {
+            presenceStore.refresh(lastSeenByUser);
+        } catch (Exception e) {
+            log.warn("Failed to refresh {} users in presence store: {}", lastSeenByUser.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * 모아 둔 상태 변경을 FLUSH_BATCH_SIZE개씩 User Service에 저장합니다.
+     * 저장에 실패한 변경은 그 사이 더 새로운 변경이 없으면 다음 주기에 다시 저장합니다.
+     */
+    private void flushPending() {
+        if (pendingUpdates.isEmpty()) {
+            return;
+        }
+        List<UserPresenceDto> batch = new ArrayList<>(FLUSH_BATCH_SIZE);
+        for (Map.Entry<String, UserPresenceDto> entry : pendingUpdates.entrySet()) {
+            if (pendingUpdates.remove(entry.getKey(), entry.getValue())) {
+                batch.add(entry.getValue());
+            }
+            if (batch.size() == FLUSH_BATCH_SIZE) {
+                send(batch);
+                batch = new ArrayList<>(FLUSH_BATCH_SIZE);
+            }
+        }
+        if (!batch.isEmpty()) {
+            send(batch);
+        }
+    }
+
+    private void send(List<UserPresenceDto> batch) {
+        try {
+            userServiceClient.updatePresence(batch);
+            flushedUpdates.increment(batch.size());
+        } catch (Exception e) {
+            log.warn("Failed to persist presence for {} users: {}", batch.size(), e.getMessage());
+            batch.forEach(update -> pendingUpdates.putIfAbsent(update.getUserId(), update));
+        }
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    /**
+     * 세션의 사용자와 마지막 접속 시간
+     * active는 activeSessionsByUser의 해당 사용자 항목을 갱신하는 중에만 변경합니다.
+     */
+    private static final class SessionPresence {
+
+        private final String userId;
+        private volatile long lastSeenMillis;
+        private volatile boolean active;
+
+        private SessionPresence(String userId, long lastSeenMillis) {
+            this.userId = userId;
+            this.lastSeenMillis = lastSeenMillis;
+        }
+    }
+}
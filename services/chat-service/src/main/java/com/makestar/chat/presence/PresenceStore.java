@@ -0,0 +1,49 @@
+package com.makestar.chat.presence;
+
+import com.makestar.commons.dto.user.UserPresenceDto;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * 인스턴스별로 관리하는 접속 상태를 모아 사용자의 전체 접속 상태를 판단하는 저장소
+ * chat.presence.store 설정에 따라 현재 인스턴스만 보거나(local), Redis로 모든 인스턴스의 상태를 공유합니다(redis).
+ * {@link PresenceRegistry}는 이 인스턴스에서 사용자의 첫 세션이 연결되거나 마지막 세션이 끊길 때 호출하며,
+ * 저장소는 다른 인스턴스의 세션까지 고려하여 User Service에 상태 변경을 알릴지 결정합니다.
+ */
+public interface PresenceStore {
+
+    /**
+     * 이 인스턴스에 사용자의 활성 세션이 생겼음을 기록합니다.
+     *
+     * @param userId 사용자 ID
+     * @param lastSeenMillis 마지막 접속 시간 (epoch 밀리초)
+     * @return 다른 인스턴스에도 활성 세션이 없었으면(사용자가 새로 온라인이 되었으면) true
+     */
+    boolean markOnline(String userId, long lastSeenMillis);
+
+    /**
+     * 이 인스턴스에서 사용자의 활성 세션이 모두 사라졌음을 기록합니다.
+     *
+     * @param userId 사용자 ID
+     * @param lastSeenMillis 마지막 접속 시간 (epoch 밀리초)
+     * @return 어느 인스턴스에도 활성 세션이 남아 있지 않으면(사용자가 오프라인이 되었으면) true
+     */
+    boolean markOffline(String userId, long lastSeenMillis);
+
+    /**
+     * 이 인스턴스에 활성 세션이 있는 사용자들의 마지막 접속 시간을 갱신합니다.
+     * 주기적으로 호출하며, 갱신이 끊긴 인스턴스(비정상 종료 등)의 상태는 저장소가 만료시킵니다.
+     *
+     * @param lastSeenByUser 사용자 ID별 마지막 접속 시간 (epoch 밀리초)
+     */
+    void refresh(Map<String, Long> lastSeenByUser);
+
+    /**
+     * 여러 사용자의 접속 상태를 한 번에 조회합니다.
+     *
+     * @param userIds 사용자 ID 목록
+     * @return 사용자 ID별 접속 상태
+     */
+    Map<String, UserPresenceDto> getPresence(Collection<String> userIds);
+}
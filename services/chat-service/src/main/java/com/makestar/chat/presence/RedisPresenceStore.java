@@ -0,0 +1,208 @@
+package com.makestar.chat.presence;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import com.makestar.commons.dto.user.UserDto;
+import com.makestar.commons.dto.user.UserPresenceDto;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Redis로 모든 인스턴스의 접속 상태를 공유하는 PresenceStore 구현 클래스 (chat.presence.store=redis)
+ * 사용자마다 두 개의 키를 사용합니다.
+ * <ul>
+ *   <li>chat:presence:instances:{userId} - 사용자의 활성 세션을 가진 인스턴스 ID의 sorted set이며,
+ *       점수는 해당 인스턴스의 항목이 만료되는 시간(epoch 밀리초)입니다.
+ *       각 인스턴스는 flush-interval마다 자신의 항목을 ttl만큼 연장하므로,
+ *       비정상 종료된 인스턴스의 항목은 ttl이 지나면 온라인 판단에서 빠집니다.</li>
+ *   <li>chat:presence:last-seen:{userId} - 모든 인스턴스를 통틀어 가장 최근의 접속 시간(epoch 밀리초)</li>
+ * </ul>
+ * 인스턴스 추가, 제거와 남은 인스턴스 확인은 Lua 스크립트로 원자적으로 처리하므로
+ * 두 인스턴스에서 동시에 마지막 세션이 끊겨도 오프라인 판단은 정확히 한 번만 내려집니다.
+ * 스크립트가 한 번에 여러 사용자의 키를 다루므로 Redis Cluster가 아닌 단일 Redis(또는 Sentinel)를 전제로 합니다.
+ */
+@Component
+@ConditionalOnProperty(name = "chat.presence.store", havingValue = "redis")
+@Slf4j
+public class RedisPresenceStore implements PresenceStore {
+
+    private static final String INSTANCES_KEY_PREFIX = "chat:presence:instances:";
+    private static final String LAST_SEEN_KEY_PREFIX = "chat:presence:last-seen:";
+
+    /** 오프라인 사용자의 마지막 접속 시간 보관 기간 (이후에는 User Service에 저장된 값을 사용) */
+    private static final Duration LAST_SEEN_RETENTION = Duration.ofDays(7);
+
+    /** refresh 스크립트 한 번에 갱신하는 최대 사용자 수 */
+    private static final int REFRESH_BATCH_SIZE = 500;
+
+    /**
+     * 각 스크립트 앞에 붙이는 함수로, 마지막 접속 시간을 더 최근 값일 때만 갱신합니다.
+     * setLastSeen(last-seen 키, 마지막 접속 시간, 보관 기간(ms))
+     */
+    private static final String SET_LAST_SEEN_IF_NEWER =
+            "local function setLastSeen(key, lastSeen, retention) "
+            + "  local previous = tonumber(redis.call('GET', key) or '0') "
+            + "  if tonumber(lastSeen) > previous then "
+            + "    redis.call('SET', key, lastSeen, 'PX', retention) "
+            + "  else "
+            + "    redis.call('PEXPIRE', key, retention) "
+            + "  end "
+            + "end ";
+
+    /**
+     * KEYS[1]=instances 키, KEYS[2]=last-seen 키
+     * ARGV[1]=인스턴스 ID, ARGV[2]=현재 시간, ARGV[3]=항목 만료 시간, ARGV[4]=마지막 접속 시간,
+     * ARGV[5]=ttl(ms), ARGV[6]=보관 기간(ms)
+     * 반환값: 이 인스턴스 외에 활성 세션을 가진 인스턴스 수
+     */
+    private static final RedisScript<Long> MARK_ONLINE = new DefaultRedisScript<>(
+            SET_LAST_SEEN_IF_NEWER
+            + "redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', ARGV[2]) "
+            + "local others = redis.call('ZCARD', KEYS[1]) "
+            + "if redis.call('ZSCORE', KEYS[1], ARGV[1]) then others = others - 1 end "
+            + "redis.call('ZADD', KEYS[1], ARGV[3], ARGV[1]) "
+            + "redis.call('PEXPIRE', KEYS[1], ARGV[5]) "
+            + "setLastSeen(KEYS[2], ARGV[4], ARGV[6]) "
+            + "return others",
+            Long.class);
+
+    /**
+     * KEYS[1]=instances 키, KEYS[2]=last-seen 키
+     * ARGV[1]=인스턴스 ID, ARGV[2]=현재 시간, ARGV[3]=마지막 접속 시간, ARGV[4]=보관 기간(ms)
+     * 반환값: 남아 있는 활성 인스턴스 수
+     */
+    private static final RedisScript<Long> MARK_OFFLINE = new DefaultRedisScript<>(
+            SET_LAST_SEEN_IF_NEWER
+            + "redis.call('ZREM', KEYS[1], ARGV[1]) "
+            + "redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', ARGV[2]) "
+            + "setLastSeen(KEYS[2], ARGV[3], ARGV[4]) "
+            + "return redis.call('ZCARD', KEYS[1])",
+            Long.class);
+
+    /**
+     * KEYS=사용자별 [instances 키, last-seen 키] 쌍
+     * ARGV[1]=인스턴스 ID, ARGV[2]=항목 만료 시간, ARGV[3]=ttl(ms), ARGV[4]=보관 기간(ms),
+     * ARGV[5..]=사용자별 마지막 접속 시간 (KEYS 쌍과 같은 순서)
+     */
+    private static final RedisScript<Long> REFRESH = new DefaultRedisScript<>(
+            SET_LAST_SEEN_IF_NEWER
+            + "for i = 1, #KEYS / 2 do "
+            + "  redis.call('ZADD', KEYS[2 * i - 1], ARGV[2], ARGV[1]) "
+            + "  redis.call('PEXPIRE', KEYS[2 * i - 1], ARGV[3]) "
+            + "  setLastSeen(KEYS[2 * i], ARGV[4 + i], ARGV[4]) "
+            + "end "
+            + "return #KEYS / 2",
+            Long.class);
+
+    /** 이 인스턴스를 구분하는 ID (실행할 때마다 새로 만듦) */
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private final StringRedisTemplate redisTemplate;
+    private final long ttlMillis;
+
+    public RedisPresenceStore(StringRedisTemplate redisTemplate,
+                              @Value("${chat.presence.ttl:30s}") Duration ttl) {
+        this.redisTemplate = redisTemplate;
+        this.ttlMillis = ttl.toMillis();
+        log.info("Sharing presence through Redis as instance {}", instanceId);
+    }
+
+    @Override
+    public boolean markOnline(String userId, long lastSeenMillis) {
+        long now = System.currentTimeMillis();
+        Long others = redisTemplate.execute(MARK_ONLINE, keysOf(userId),
+                instanceId, String.valueOf(now), String.valueOf(now + ttlMillis), String.valueOf(lastSeenMillis),
+                String.valueOf(ttlMillis), String.valueOf(LAST_SEEN_RETENTION.toMillis()));
+        return others == null || others == 0;
+    }
+
+    @Override
+    public boolean markOffline(String userId, long lastSeenMillis) {
+        Long remaining = redisTemplate.execute(MARK_OFFLINE, keysOf(userId),
+                instanceId, String.valueOf(System.currentTimeMillis()), String.valueOf(lastSeenMillis),
+                String.valueOf(LAST_SEEN_RETENTION.toMillis()));
+        return remaining == null || remaining == 0;
+    }
+
+    @Override
+    public void refresh(Map<String, Long> lastSeenByUser) {
+        if (lastSeenByUser.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<String, Long>> entries = new ArrayList<>(lastSeenByUser.entrySet());
+        String expiresAt = String.valueOf(System.currentTimeMillis() + ttlMillis);
+        for (int from = 0; from < entries.size(); from += REFRESH_BATCH_SIZE) {
+            List<Map.Entry<String, Long>> batch = entries.subList(from, Math.min(from + REFRESH_BATCH_SIZE, entries.size()));
+            List<String> keys = new ArrayList<>(batch.size() * 2);
+            List<String> args = new ArrayList<>(batch.size() + 4);
+            args.add(instanceId);
+            args.add(expiresAt);
+            args.add(String.valueOf(ttlMillis));
+            args.add(String.valueOf(LAST_SEEN_RETENTION.toMillis()));
+            for (Map.Entry<String, Long> entry : batch) {
+                keys.add(INSTANCES_KEY_PREFIX + entry.getKey());
+                keys.add(LAST_SEEN_KEY_PREFIX + entry.getKey());
+                args.add(String.valueOf(entry.getValue()));
+            }
+            redisTemplate.execute(REFRESH, keys, args.toArray());
+        }
+    }
+
+    /**
+     * 만료되지 않은 인스턴스 항목이 하나라도 있으면 온라인입니다.
+     * 사용자별로 두 개의 명령을 한 번의 파이프라인으로 조회합니다.
+     */
+    @Override
+    public Map<String, UserPresenceDto> getPresence(Collection<String> userIds) {
+        List<String> distinctUserIds = userIds.stream().distinct().collect(Collectors.toList());
+        if (distinctUserIds.isEmpty()) {
+            return new HashMap<>();
+        }
+        double now = System.currentTimeMillis();
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            for (String userId : distinctUserIds) {
+                stringConnection.zCount(INSTANCES_KEY_PREFIX + userId, now, Double.POSITIVE_INFINITY);
+                stringConnection.get(LAST_SEEN_KEY_PREFIX + userId);
+            }
+            return null;
+        });
+        Map<String, UserPresenceDto> presence = new HashMap<>();
+        for (int i = 0; i < distinctUserIds.size(); i++) {
+            String userId = distinctUserIds.get(i);
+            Long activeInstances = (Long) results.get(2 * i);
+            String lastSeenMillis = (String) results.get(2 * i + 1);
+            presence.put(userId, UserPresenceDto.builder()
+                    .userId(userId)
+                    .status(activeInstances != null && activeInstances > 0
+                            ? UserDto.UserStatus.ONLINE : UserDto.UserStatus.OFFLINE)
+                    .lastSeen(lastSeenMillis != null
+                            ? LocalDateTime.ofInstant(Instant.ofEpochMilli(Long.parseLong(lastSeenMillis)), ZoneId.systemDefault())
+                            : null)
+                    .build());
+        }
+        return presence;
+    }
+
+    private static List<String> keysOf(String userId) {
+        return List.of(INSTANCES_KEY_PREFIX + userId, LAST_SEEN_KEY_PREFIX + userId);
+    }
+}
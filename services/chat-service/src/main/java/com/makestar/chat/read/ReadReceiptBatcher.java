@@ -0,0 +1,163 @@
+package com.makestar.chat.read;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.makestar.chat.broadcast.RoomBroadcaster;
+import com.makestar.chat.broadcast.RoomDestinations;
+import com.makestar.chat.dto.ReadReceiptDto;
+import com.makestar.chat.service.ChatMessageService;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 읽음 위치 갱신 요청을 모아 저장하고 채팅방 단위로 전달하는 컴포넌트
+ * 요청은 (채팅방, 사용자)별로 가장 큰 순번만 남기고, batch-window마다 쌍마다 한 번씩 저장합니다.
+ * 저장으로 읽음 위치가 바뀐 사용자들은 채팅방마다 하나의 목록(ReadReceiptDto)으로 모아
+ * /topic/chat/{roomId}/read-receipts 로 한 번 브로드캐스트합니다.
+ */
+@Component
+@Slf4j
+public class ReadReceiptBatcher {
+
+    private final ChatMessageService chatMessageService;
+    private final RoomBroadcaster roomBroadcaster;
+    private final long batchWindowMillis;
+    private final Counter receivedReceipts;
+    private final Counter writtenReceipts;
+    private final Counter publishedFrames;
+
+    /** (채팅방, 사용자)별 저장할 가장 큰 순번 */
+    private final Map<RoomUser, Long> pending = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService scheduler;
+
+    public ReadReceiptBatcher(ChatMessageService chatMessageService,
+                              RoomBroadcaster roomBroadcaster,
+                              MeterRegistry meterRegistry,
+                              @Value("${chat.read.batch-window:250ms}") Duration batchWindow) {
+        this.chatMessageService = chatMessageService;
+        this.roomBroadcaster = roomBroadcaster;
+        this.batchWindowMillis = batchWindow.toMillis();
+        this.receivedReceipts = Counter.builder("chat.read.receipts.received")
+                .description("Read-up-to requests received from clients")
+                .register(meterRegistry);
+        this.writtenReceipts = Counter.builder("chat.read.receipts.written")
+                .description("Coalesced read positions written to the database")
+                .register(meterRegistry);
+        this.publishedFrames = Counter.builder("chat.read.receipts.frames.published")
+                .description("Aggregated read receipt frames broadcast to rooms")
+                .register(meterRegistry);
+        Gauge.builder("chat.read.receipts.pending", pending, Map::size)
+                .description("Room and user pairs waiting for the next read receipt flush")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "chat-read-receipt-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::flush, batchWindowMillis, batchWindowMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 남은 요청을 저장하고 작업을 멈춥니다.
+     */
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+        flush();
+    }
+
+    /**
+     * 사용자가 채팅방의 순번까지 읽었음을 기록합니다.
+     *
+     * @param roomId 채팅방 ID
+     * @param userId 읽은 사용자 ID
+     * @param upToSeq 마지막으로 읽은 메시지 순번 (포함)
+     */
+    public void onReadUpTo(String roomId, String userId, long upToSeq) {
+        receivedReceipts.increment();
+        pending.merge(new RoomUser(roomId, userId), upToSeq, Math::max);
+    }
+
+    /**
+     * 모아 둔 요청을 저장하고, 읽음 위치가 바뀐 사용자 목록을 채팅방별로 브로드캐스트합니다.
+     */
+    private void flush() {
+        Map<String, List<ReadReceiptDto>> receiptsByRoom = new HashMap<>();
+        for (RoomUser key : pending.keySet()) {
+            Long upToSeq = pending.remove(key);
+            if (upToSeq == null) {
+                continue;
+            }
+            try {
+                chatMessageService.markAsReadUpTo(key.roomId, key.userId, upToSeq)
+                        .ifPresent(receipt -> receiptsByRoom
+                                .computeIfAbsent(key.roomId, roomId -> new ArrayList<>())
+                                .add(receipt));
+                writtenReceipts.increment();
+            } catch (RuntimeException e) {
+                // 예외가 전파되면 주기 작업이 중단되므로 기록만 함
+                log.warn("Failed to save read position of user {} in room {}: {}", key.userId, key.roomId, e.getMessage());
+            }
+        }
+        receiptsByRoom.forEach((roomId, receipts) -> {
+            try {
+                roomBroadcaster.broadcast(roomId, RoomDestinations.READ_RECEIPTS, receipts);
+                publishedFrames.increment();
+            } catch (RuntimeException e) {
+                log.warn("Failed to broadcast read receipts for room {}: {}", roomId, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * 채팅방 ID와 사용자 ID 쌍
+     */
+    private static final class RoomUser {
+
+        private final String roomId;
+        private final String userId;
+
+        private RoomUser(String roomId, String userId) {
+            this.roomId = roomId;
+            this.userId = userId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof RoomUser)) {
+                return false;
+            }
+            RoomUser other = (RoomUser) o;
+            return roomId.equals(other.roomId) && userId.equals(other.userId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(roomId, userId);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.makestar.chat.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.makestar.chat.model.ChatInboxEntry;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 사용자별 채팅방 목록(인박스) 엔티티에 대한 데이터베이스 접근을 담당하는 리포지토리
+ */
+@Repository
+public interface ChatInboxRepository extends JpaRepository<ChatInboxEntry, String> {
+
+    /**
+     * 사용자의 인박스를 마지막 메시지 시간 역순으로 조회합니다.
+     * @param userId 사용자 ID
+     * @return 인박스 항목 목록
+     */
+    List<ChatInboxEntry> findByUserIdOrderByLastMessageAtDesc(String userId);
+
+    /**
+     * 채팅방의 인박스 항목 중 하나를 조회합니다.
+     * 같은 채팅방의 항목은 마지막 메시지 정보를 공유하므로 새 항목의 초기값으로 사용합니다.
+     * @param chatRoomId 채팅방 ID
+     * @return 인박스 항목
+     */
+    Optional<ChatInboxEntry> findFirstByChatRoomIdOrderByLastMessageAtDesc(String chatRoomId);
+
+    /**
+     * 채팅방에 인박스 항목을 가진 사용자 ID 목록을 조회합니다.
+     * @param chatRoomId 채팅방 ID
+     * @return 사용자 ID 목록
+     */
+    @Query("SELECT e.userId FROM ChatInboxEntry e WHERE e.chatRoomId = :chatRoomId")
+    List<String> findUserIdsByChatRoomId(@Param("chatRoomId") String chatRoomId);
+
+    /**
+     * 채팅방의 모든 인박스 항목에 마지막 메시지 정보를 반영합니다.
+     * 이미 더 최근 메시지가 반영된 항목은 변경하지 않습니다.
+     * @return 변경된 항목 수
+     */
+    @Modifying
+    @Query("UPDATE ChatInboxEntry e SET e.lastMessageId = :messageId, e.lastMessageSnippet = :snippet, " +
+           "e.lastSenderId = :senderId, e.lastSenderName = :senderName, e.lastMessageType = :type, " +
+           "e.lastMessageAt = :sentAt " +
+           "WHERE e.chatRoomId = :chatRoomId AND e.lastMessageAt <= :sentAt")
+    int updateLastMessage(@Param("chatRoomId") String chatRoomId,
+                          @Param("messageId") String messageId,
+                          @Param("snippet") String snippet,
+                          @Param("senderId") String senderId,
+                          @Param("senderName") String senderName,
+                          @Param("type") String type,
+                          @Param("sentAt") LocalDateTime sentAt);
+
+    /**
+     * 채팅방의 마지막 메시지 정보를 무조건 덮어씁니다.
+     * 마지막 메시지가 삭제되어 이전 메시지로 되돌려야 하는 경우에 사용합니다.
+     * @return 변경된 항목 수
+     */
+    @Modifying
+    @Query("UPDATE ChatInboxEntry e SET e.lastMessageId = :messageId, e.lastMessageSnippet = :snippet, " +
+           "e.lastSenderId = :senderId, e.lastSenderName = :senderName, e.lastMessageType = :type, " +
+           "e.lastMessageAt = :sentAt " +
+           "WHERE e.chatRoomId = :chatRoomId")
+    int replaceLastMessage(@Param("chatRoomId") String chatRoomId,
+                           @Param("messageId") String messageId,
+                           @Param("snippet") String snippet,
+                           @Param("senderId") String senderId,
+                           @Param("senderName") String senderName,
+                           @Param("type") String type,
+                           @Param("sentAt") LocalDateTime sentAt);
+
+    /**
+     * 채팅방의 모든 인박스 항목에 채팅방 정보와 참여자 ID 목록을 반영합니다.
+     * 참여자 ID 목록은 컬럼에 저장되는 형식(쉼표로 구분한 문자열)으로 전달합니다.
+     * @param chatRoomId 채팅방 ID
+     * @param name 채팅방 이름
+     * @param description 채팅방 설명
+     * @param type 채팅방 타입 이름
+     * @param createdAt 채팅방 생성 시간
+     * @param updatedAt 채팅방 정보 수정 시간
+     * @param participantIds 쉼표로 구분한 참여자 ID 목록
+     * @return 변경된 항목 수
+     */
+    @Modifying
+    @Query(value = "UPDATE chat_inbox_entries SET chat_room_name = :name, chat_room_description = :description, " +
+                   "chat_room_type = :type, chat_room_created_at = :createdAt, chat_room_updated_at = :updatedAt, " +
+                   "participant_ids = :participantIds " +
+                   "WHERE chat_room_id = :chatRoomId",
+           nativeQuery = true)
+    int updateChatRoom(@Param("chatRoomId") String chatRoomId,
+                       @Param("name") String name,
+                       @Param("description") String description,
+                       @Param("type") String type,
+                       @Param("createdAt") LocalDateTime createdAt,
+                       @Param("updatedAt") LocalDateTime updatedAt,
+                       @Param("participantIds") String participantIds);
+
+    /**
+     * 발신자를 제외한 채팅방 참여자의 읽지 않은 메시지 수를 1 증가시킵니다.
+     * @param chatRoomId 채팅방 ID
+     * @param senderId 발신자 ID
+     * @return 변경된 항목 수
+     */
+    @Modifying
+    @Query("UPDATE ChatInboxEntry e SET e.unreadCount = e.unreadCount + 1 " +
+           "WHERE e.chatRoomId = :chatRoomId AND e.userId != :senderId")
+    int incrementUnreadCount(@Param("chatRoomId") String chatRoomId, @Param("senderId") String senderId);
+
+    /**
+     * 발신자를 제외한 채팅방 참여자의 읽지 않은 메시지 수를 지정한 값만큼 증가시킵니다.
+     * 같은 발신자의 메시지 여러 건을 한 번에 반영할 때 사용합니다.
+     * @param chatRoomId 채팅방 ID
+     * @param senderId 발신자 ID
+     * @param amount 증가시킬 값
+     * @return 변경된 항목 수
+     */
+    @Modifying
+    @Query("UPDATE ChatInboxEntry e SET e.unreadCount = e.unreadCount + :amount " +
+           "WHERE e.chatRoomId = :chatRoomId AND e.userId != :senderId")
+    int incrementUnreadCountBy(@Param("chatRoomId") String chatRoomId,
+                               @Param("senderId") String senderId,
+                               @Param("amount") long amount);
+
+    /**
+     * 삭제된 메시지를 아직 읽지 않은 참여자의 읽지 않은 메시지 수를 1 감소시킵니다.
+     * 발신자와 읽음 위치가 삭제된 메시지 이후인 참여자는 제외합니다.
+     * @param chatRoomId 채팅방 ID
+     * @param senderId 삭제된 메시지의 발신자 ID
+     * @param sentAt 삭제된 메시지의 전송 시간
+     * @return 변경된 항목 수
+     */
+    @Modifying
+    @Query("UPDATE ChatInboxEntry e SET e.unreadCount = e.unreadCount - 1 " +
+           "WHERE e.chatRoomId = :chatRoomId AND e.userId != :senderId AND e.unreadCount > 0 " +
+           "AND NOT EXISTS (SELECT c.id FROM ChatReadCursor c WHERE c.chatRoomId = e.chatRoomId " +
+           "AND c.userId = e.userId AND c.lastReadSentAt >= :sentAt)")
+    int decrementUnreadCountForUnreadMessage(@Param("chatRoomId") String chatRoomId,
+                                             @Param("senderId") String senderId,
+                                             @Param("sentAt") LocalDateTime sentAt);
+
+    /**
+     * 사용자의 읽지 않은 메시지 수를 지정한 값으로 설정합니다.
+     * @param chatRoomId 채팅방 ID
+     * @param userId 사용자 ID
+     * @param unreadCount 읽지 않은 메시지 수
+     * @return 변경된 항목 수
+     */
+    @Modifying
+    @Query("UPDATE ChatInboxEntry e SET e.unreadCount = :unreadCount " +
+           "WHERE e.chatRoomId = :chatRoomId AND e.userId = :userId")
+    int updateUnreadCount(@Param("chatRoomId") String chatRoomId,
+                          @Param("userId") String userId,
+                          @Param("unreadCount") long unreadCount);
+
+    /**
+     * 사용자의 특정 채팅방 인박스 항목을 삭제합니다.
+     * @param chatRoomId 채팅방 ID
+     * @param userId 사용자 ID
+     */
+    @Modifying
+    @Query("DELETE FROM ChatInboxEntry e WHERE e.chatRoomId = :chatRoomId AND e.userId = :userId")
+    void deleteByChatRoomIdAndUserId(@Param("chatRoomId") String chatRoomId, @Param("userId") String userId);
+
+    /**
+     * 채팅방의 인박스 항목을 모두 삭제합니다.
+     * @param chatRoomId 채팅방 ID
+     */
+    @Modifying
+    @Query("DELETE FROM ChatInboxEntry e WHERE e.chatRoomId = :chatRoomId")
+    void deleteByChatRoomId(@Param("chatRoomId") String chatRoomId);
+}
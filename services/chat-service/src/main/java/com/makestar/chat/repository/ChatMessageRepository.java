@@ -2,17 +2,23 @@ package com.makestar.chat.repository;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.makestar.chat.model.ChatMessage;
 
+import javax.persistence.QueryHint;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * 채팅 메시지 엔티티에 대한 데이터베이스 접근을 담당하는 리포지토리
@@ -28,6 +34,67 @@ public interface ChatMessageRepository extends JpaRepository<ChatMessage, String
      */
     Page<ChatMessage> findByChatRoomIdOrderBySentAtDesc(String chatRoomId, Pageable pageable);
 
+    /**
+     * 채팅방의 최근 메시지부터 한 페이지를 조회합니다.
+     * 전체 개수를 세지 않으며, (chat_room_id, sent_at, id) 인덱스 순서로 읽습니다.
+     * @param chatRoomId 채팅방 ID
+     * @param pageable 페이지 크기 정보 (정렬 없이 첫 페이지만 사용)
+     * @return 메시지 슬라이스
+     */
+    @Query("SELECT m FROM ChatMessage m WHERE m.chatRoomId = :chatRoomId ORDER BY m.sentAt DESC, m.id DESC")
+    Slice<ChatMessage> findLatestSlice(@Param("chatRoomId") String chatRoomId, Pageable pageable);
+
+    /**
+     * 채팅방의 최근 메시지를 순번 역순으로 한 페이지 조회합니다.
+     * 최근 메시지 버퍼를 적재할 때 사용하며, 전체 메시지 수를 함께 계산합니다.
+     * @param chatRoomId 채팅방 ID
+     * @param pageable 페이지 크기 정보 (정렬 없이 첫 페이지만 사용)
+     * @return 메시지 페이지
+     */
+    @Query(value = "SELECT m FROM ChatMessage m WHERE m.chatRoomId = :chatRoomId AND m.seq IS NOT NULL ORDER BY m.seq DESC",
+           countQuery = "SELECT COUNT(m) FROM ChatMessage m WHERE m.chatRoomId = :chatRoomId AND m.seq IS NOT NULL")
+    Page<ChatMessage> findLatestBySeq(@Param("chatRoomId") String chatRoomId, Pageable pageable);
+
+    /**
+     * 커서 이전의 메시지를 한 페이지 조회합니다. (키셋 페이지네이션)
+     * 오프셋 없이 (chat_room_id, sent_at, id) 인덱스에서 커서 위치부터 읽으므로 조회 깊이와 관계없이 비용이 같습니다.
+     * sent_at 상한 조건은 인덱스 범위 검색을 위해 중복으로 둡니다.
+     * @param chatRoomId 채팅방 ID
+     * @param sentAt 커서 메시지의 전송 시간
+     * @param id 커서 메시지 ID
+     * @param pageable 페이지 크기 정보 (정렬 없이 첫 페이지만 사용)
+     * @return 메시지 슬라이스
+     */
+    @Query("SELECT m FROM ChatMessage m WHERE m.chatRoomId = :chatRoomId AND m.sentAt <= :sentAt " +
+           "AND (m.sentAt < :sentAt OR (m.sentAt = :sentAt AND m.id < :id)) " +
+           "ORDER BY m.sentAt DESC, m.id DESC")
+    Slice<ChatMessage> findSliceBefore(@Param("chatRoomId") String chatRoomId,
+                                       @Param("sentAt") LocalDateTime sentAt,
+                                       @Param("id") String id,
+                                       Pageable pageable);
+
+    /**
+     * 순번 이후의 채팅방 메시지를 순번 순서로 조회합니다.
+     * (chat_room_id, seq) 유니크 인덱스를 사용합니다.
+     * @param chatRoomId 채팅방 ID
+     * @param afterSeq 기준 순번 (포함하지 않음)
+     * @param pageable 조회할 최대 개수 (정렬 없이 첫 페이지만 사용)
+     * @return 메시지 목록
+     */
+    @Query("SELECT m FROM ChatMessage m WHERE m.chatRoomId = :chatRoomId AND m.seq > :afterSeq ORDER BY m.seq ASC")
+    List<ChatMessage> findAfterSeq(@Param("chatRoomId") String chatRoomId,
+                                   @Param("afterSeq") long afterSeq,
+                                   Pageable pageable);
+
+    /**
+     * 순번 이하의 메시지 중 가장 최근 메시지를 조회합니다.
+     * (chat_room_id, seq) 유니크 인덱스를 사용합니다.
+     * @param chatRoomId 채팅방 ID
+     * @param seq 기준 순번 (포함)
+     * @return 메시지
+     */
+    Optional<ChatMessage> findFirstByChatRoomIdAndSeqLessThanEqualOrderBySeqDesc(String chatRoomId, Long seq);
+
     /**
      * 특정 시간 이후의 채팅방 메시지를 조회합니다.
      * @param chatRoomId 채팅방 ID
@@ -37,14 +104,75 @@ public interface ChatMessageRepository extends JpaRepository<ChatMessage, String
     List<ChatMessage> findByChatRoomIdAndSentAtAfterOrderBySentAtAsc(String chatRoomId, LocalDateTime since);
 
     /**
-     * 채팅방의 읽지 않은 메시지 개수를 조회합니다.
+     * 채팅방에서 다른 사용자가 보낸 메시지 개수를 조회합니다.
+     * 읽음 위치가 없는 사용자의 읽지 않은 메시지 개수로 사용합니다.
      * @param chatRoomId 채팅방 ID
      * @param userId 사용자 ID
+     * @return 메시지 개수
+     */
+    @Query("SELECT COUNT(m) FROM ChatMessage m WHERE m.chatRoomId = :chatRoomId " +
+           "AND m.senderId != :userId")
+    long countMessagesFromOthers(@Param("chatRoomId") String chatRoomId, @Param("userId") String userId);
+
+    /**
+     * 채팅방에서 읽음 위치 이후에 다른 사용자가 보낸 메시지 개수를 조회합니다.
+     * @param chatRoomId 채팅방 ID
+     * @param userId 사용자 ID
+     * @param lastReadSentAt 읽음 위치 (마지막으로 읽은 메시지의 전송 시간)
      * @return 읽지 않은 메시지 개수
      */
     @Query("SELECT COUNT(m) FROM ChatMessage m WHERE m.chatRoomId = :chatRoomId " +
-           "AND m.senderId != :userId AND m.read = false")
-    long countUnreadMessages(@Param("chatRoomId") String chatRoomId, @Param("userId") String userId);
+           "AND m.sentAt > :lastReadSentAt AND m.senderId != :userId")
+    long countMessagesFromOthersAfter(@Param("chatRoomId") String chatRoomId,
+                                      @Param("userId") String userId,
+                                      @Param("lastReadSentAt") LocalDateTime lastReadSentAt);
+
+    /**
+     * 사용자가 아직 읽음 표시하지 않은 메시지의 전송 시간을 오래된 순으로 조회합니다.
+     * 일괄 읽음 처리를 나눌 경계 시간을 찾는 데 사용합니다.
+     * @param chatRoomId 채팅방 ID
+     * @param userId 사용자 ID
+     * @param pageable 조회 위치 정보
+     * @return 전송 시간 목록
+     */
+    @Query("SELECT m.sentAt FROM ChatMessage m WHERE m.chatRoomId = :chatRoomId " +
+           "AND m.senderId != :userId AND m.read = false ORDER BY m.sentAt ASC")
+    List<LocalDateTime> findUnreadSentAts(@Param("chatRoomId") String chatRoomId,
+                                          @Param("userId") String userId,
+                                          Pageable pageable);
+
+    /**
+     * 지정한 시간까지 다른 사용자가 보낸 메시지를 한 번의 UPDATE 문으로 읽음 표시합니다.
+     * @param chatRoomId 채팅방 ID
+     * @param userId 읽은 사용자 ID
+     * @param upTo 읽음 표시할 마지막 전송 시간 (포함)
+     * @param readAt 읽은 시간
+     * @return 변경된 메시지 수
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE ChatMessage m SET m.read = true, m.readAt = :readAt " +
+           "WHERE m.chatRoomId = :chatRoomId AND m.senderId != :userId AND m.read = false " +
+           "AND m.sentAt <= :upTo")
+    int markAsReadUpTo(@Param("chatRoomId") String chatRoomId,
+                       @Param("userId") String userId,
+                       @Param("upTo") LocalDateTime upTo,
+                       @Param("readAt") LocalDateTime readAt);
+
+    /**
+     * 다른 사용자가 보낸 메시지를 모두 한 번의 UPDATE 문으로 읽음 표시합니다.
+     * @param chatRoomId 채팅방 ID
+     * @param userId 읽은 사용자 ID
+     * @param readAt 읽은 시간
+     * @return 변경된 메시지 수
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE ChatMessage m SET m.read = true, m.readAt = :readAt " +
+           "WHERE m.chatRoomId = :chatRoomId AND m.senderId != :userId AND m.read = false")
+    int markAllAsRead(@Param("chatRoomId") String chatRoomId,
+                      @Param("userId") String userId,
+                      @Param("readAt") LocalDateTime readAt);
 
     /**
      * 채팅방의 최근 메시지를 조회합니다.
@@ -54,12 +182,68 @@ public interface ChatMessageRepository extends JpaRepository<ChatMessage, String
     Optional<ChatMessage> findFirstByChatRoomIdOrderBySentAtDesc(String chatRoomId);
 
     /**
-     * 메시지 내용으로 메시지를 검색합니다.
+     * 여러 채팅방의 최근 메시지를 한 번의 쿼리로 조회합니다.
+     * 같은 시각에 전송된 메시지가 있으면 한 채팅방에 대해 여러 건이 반환될 수 있습니다.
+     * @param chatRoomIds 채팅방 ID 목록
+     * @return 채팅방별 최근 메시지 목록
+     */
+    @Query("SELECT m FROM ChatMessage m WHERE m.chatRoomId IN :chatRoomIds " +
+           "AND m.sentAt = (SELECT MAX(m2.sentAt) FROM ChatMessage m2 WHERE m2.chatRoomId = m.chatRoomId)")
+    List<ChatMessage> findLatestMessagesByChatRoomIds(@Param("chatRoomIds") Collection<String> chatRoomIds);
+
+    /**
+     * 여러 채팅방의 읽지 않은 메시지 개수를 채팅방별로 묶어 조회합니다.
+     * 사용자의 읽음 위치 이후에 다른 사용자가 보낸 메시지를 읽지 않은 메시지로 계산합니다.
+     * @param chatRoomIds 채팅방 ID 목록
+     * @param userId 사용자 ID
+     * @return [채팅방 ID, 읽지 않은 메시지 개수] 배열 목록
+     */
+    @Query("SELECT m.chatRoomId, COUNT(m) FROM ChatMessage m " +
+           "LEFT JOIN ChatReadCursor c ON c.chatRoomId = m.chatRoomId AND c.userId = :userId " +
+           "WHERE m.chatRoomId IN :chatRoomIds AND m.senderId != :userId " +
+           "AND (c.id IS NULL OR m.sentAt > c.lastReadSentAt) GROUP BY m.chatRoomId")
+    List<Object[]> countUnreadMessagesByChatRoomIds(@Param("chatRoomIds") Collection<String> chatRoomIds,
+                                                    @Param("userId") String userId);
+
+    /**
+     * 검색 색인(chat_message_search)으로 채팅방의 메시지를 검색합니다.
+     * 토큰 GIN 인덱스로 일치하는 메시지를 찾고, 토큰이 가깝게 모여 있는 메시지부터(ts_rank_cd) 정렬하며
+     * 같은 점수는 최신 메시지부터 정렬합니다.
      * @param chatRoomId 채팅방 ID
-     * @param keyword 검색 키워드
-     * @return 검색된 메시지 목록
+     * @param query tsquery 리터럴 (KoreanNgramTokenizer.toTsQuery)
+     * @param pageable 페이지 정보 (정렬 없이 사용)
+     * @return 검색된 메시지 페이지
+     */
+    @Query(value = "SELECT m.* FROM chat_message_search s JOIN chat_messages m ON m.id = s.message_id " +
+                   "WHERE s.chat_room_id = :chatRoomId AND s.tokens @@ CAST(:query AS tsquery) " +
+                   "ORDER BY ts_rank_cd(s.tokens, CAST(:query AS tsquery)) DESC, s.sent_at DESC, s.message_id DESC",
+           countQuery = "SELECT COUNT(*) FROM chat_message_search s " +
+                        "WHERE s.chat_room_id = :chatRoomId AND s.tokens @@ CAST(:query AS tsquery)",
+           nativeQuery = true)
+    Page<ChatMessage> searchByTokens(@Param("chatRoomId") String chatRoomId,
+                                     @Param("query") String query,
+                                     Pageable pageable);
+
+    /**
+     * 검색 색인(chat_message_search)으로 사용자가 참여한 모든 채팅방의 메시지를 검색합니다.
+     * 참여 여부는 참여자 인덱스(chat_room_participants (user_id, chat_room_id))로 조회한 채팅방 목록으로
+     * 검색과 같은 쿼리에서 거르므로, 채팅방 수와 관계없이 토큰 GIN 인덱스를 한 번만 탐색합니다.
+     * 결과는 fetch-size 단위로 받아오므로 스트림을 읽는 동안 트랜잭션이 유지되어야 하며, 사용 후 닫아야 합니다.
+     * @param userId 사용자 ID
+     * @param query tsquery 리터럴 (KoreanNgramTokenizer.toTsQuery)
+     * @param limit 최대 결과 수
+     * @return 관련도, 최신순으로 정렬된 [메시지 ID, 관련도 점수] 배열 스트림
      */
-    List<ChatMessage> findByChatRoomIdAndContentContainingIgnoreCaseOrderBySentAtDesc(String chatRoomId, String keyword);
+    @Query(value = "SELECT s.message_id, ts_rank_cd(s.tokens, CAST(:query AS tsquery)) AS rank " +
+                   "FROM chat_message_search s " +
+                   "WHERE s.tokens @@ CAST(:query AS tsquery) AND s.chat_room_id IN " +
+                   "(SELECT p.chat_room_id FROM chat_room_participants p WHERE p.user_id = :userId) " +
+                   "ORDER BY rank DESC, s.sent_at DESC, s.message_id DESC LIMIT :limit",
+           nativeQuery = true)
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "100"))
+    Stream<Object[]> streamUserSearchHits(@Param("userId") String userId,
+                                          @Param("query") String query,
+                                          @Param("limit") int limit);
 
     /**
      * 특정 사용자가 보낸 메시지를 조회합니다.
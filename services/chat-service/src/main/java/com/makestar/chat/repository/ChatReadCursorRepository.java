@@ -0,0 +1,86 @@
+package com.makestar.chat.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.makestar.chat.model.ChatReadCursor;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * 읽음 위치 엔티티에 대한 데이터베이스 접근을 담당하는 리포지토리
+ * 읽음 위치 갱신은 PostgreSQL의 INSERT ... ON CONFLICT 구문으로 한 번에 처리하며,
+ * 이미 더 뒤의 메시지까지 읽은 경우에는 위치를 되돌리지 않습니다.
+ */
+@Repository
+public interface ChatReadCursorRepository extends JpaRepository<ChatReadCursor, String> {
+
+    /**
+     * 사용자의 채팅방 읽음 위치를 조회합니다.
+     * @param chatRoomId 채팅방 ID
+     * @param userId 사용자 ID
+     * @return 읽음 위치
+     */
+    Optional<ChatReadCursor> findByChatRoomIdAndUserId(String chatRoomId, String userId);
+
+    /**
+     * 읽음 위치를 지정한 메시지까지 전진시킵니다.
+     * @param id 새로 생성되는 경우 사용할 ID
+     * @param chatRoomId 채팅방 ID
+     * @param userId 사용자 ID
+     * @param sentAt 읽은 메시지의 전송 시간
+     * @param messageId 읽은 메시지 ID
+     * @return 생성 또는 갱신된 행 수. 이미 더 뒤까지 읽은 경우 0
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO chat_read_cursors (id, chat_room_id, user_id, last_read_sent_at, last_read_message_id, updated_at) " +
+                   "VALUES (:id, :chatRoomId, :userId, :sentAt, :messageId, now()) " +
+                   "ON CONFLICT (chat_room_id, user_id) DO UPDATE SET " +
+                   "last_read_sent_at = EXCLUDED.last_read_sent_at, " +
+                   "last_read_message_id = EXCLUDED.last_read_message_id, " +
+                   "updated_at = EXCLUDED.updated_at " +
+                   "WHERE chat_read_cursors.last_read_sent_at < EXCLUDED.last_read_sent_at",
+           nativeQuery = true)
+    int advanceTo(@Param("id") String id,
+                  @Param("chatRoomId") String chatRoomId,
+                  @Param("userId") String userId,
+                  @Param("sentAt") LocalDateTime sentAt,
+                  @Param("messageId") String messageId);
+
+    /**
+     * 읽음 위치를 채팅방의 최근 메시지까지 전진시킵니다.
+     * 최근 메시지 조회와 읽음 위치 갱신을 하나의 문장으로 처리합니다.
+     * @param id 새로 생성되는 경우 사용할 ID
+     * @param chatRoomId 채팅방 ID
+     * @param userId 사용자 ID
+     * @return 생성 또는 갱신된 행 수. 메시지가 없거나 이미 최근 메시지까지 읽은 경우 0
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO chat_read_cursors (id, chat_room_id, user_id, last_read_sent_at, last_read_message_id, updated_at) " +
+                   "SELECT :id, m.chat_room_id, :userId, m.sent_at, m.id, now() FROM chat_messages m " +
+                   "WHERE m.chat_room_id = :chatRoomId ORDER BY m.sent_at DESC, m.id DESC LIMIT 1 " +
+                   "ON CONFLICT (chat_room_id, user_id) DO UPDATE SET " +
+                   "last_read_sent_at = EXCLUDED.last_read_sent_at, " +
+                   "last_read_message_id = EXCLUDED.last_read_message_id, " +
+                   "updated_at = EXCLUDED.updated_at " +
+                   "WHERE chat_read_cursors.last_read_sent_at < EXCLUDED.last_read_sent_at",
+           nativeQuery = true)
+    int advanceToLatest(@Param("id") String id,
+                        @Param("chatRoomId") String chatRoomId,
+                        @Param("userId") String userId);
+
+    /**
+     * 채팅방의 읽음 위치를 모두 삭제합니다.
+     * @param chatRoomId 채팅방 ID
+     */
+    @Modifying
+    @Query("DELETE FROM ChatReadCursor c WHERE c.chatRoomId = :chatRoomId")
+    void deleteByChatRoomId(@Param("chatRoomId") String chatRoomId);
+}
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.makestar.chat.model.ChatRoom;
 import com.makestar.chat.model.ChatRoom.ChatRoomType;
@@ -62,14 +63,6 @@ public interface ChatRoomRepository extends JpaRepository<ChatRoom, String> {
     @Query("SELECT SIZE(r.participantIds) FROM ChatRoom r WHERE r.id = :chatRoomId")
     long countParticipants(@Param("chatRoomId") String chatRoomId);
 
-    /**
-     * 특정 사용자가 참여한 채팅방 수를 조회합니다.
-     * @param userId 사용자 ID
-     * @return 참여한 채팅방 수
-     */
-    @Query("SELECT COUNT(r) FROM ChatRoom r WHERE :userId MEMBER OF r.participantIds")
-    long countByParticipantId(@Param("userId") String userId);
-
     /**
      * 특정 기간 내에 생성된 채팅방을 조회합니다.
      * @param startDate 시작 날짜
@@ -126,4 +119,26 @@ public interface ChatRoomRepository extends JpaRepository<ChatRoom, String> {
             @Param("type") ChatRoomType type,
             @Param("participantIds") List<String> participantIds,
             @Param("participantCount") long participantCount);
-} 
\ No newline at end of file
+
+    /**
+     * 채팅방의 마지막 메시지 순번을 count만큼 증가시키고 증가된 값을 반환합니다.
+     * UPDATE ... RETURNING 한 문장으로 처리하며, 채팅방 행 잠금이 트랜잭션이 끝날 때까지 유지되므로
+     * 같은 채팅방의 순번은 커밋 순서대로 할당됩니다.
+     * 결과를 반환하는 문장이므로 @Modifying 없이 조회 쿼리로 실행합니다.
+     * @param chatRoomId 채팅방 ID
+     * @param count 할당할 순번 수
+     * @return 할당된 마지막 순번 (채팅방이 없으면 빈 값)
+     */
+    @Transactional
+    @Query(value = "UPDATE chat_rooms SET last_seq = last_seq + :count WHERE id = :chatRoomId RETURNING last_seq",
+           nativeQuery = true)
+    Optional<Long> allocateMessageSeqs(@Param("chatRoomId") String chatRoomId, @Param("count") int count);
+
+    /**
+     * 채팅방에 마지막으로 할당된 메시지 순번을 조회합니다.
+     * @param chatRoomId 채팅방 ID
+     * @return 마지막 메시지 순번 (채팅방이 없으면 빈 값)
+     */
+    @Query(value = "SELECT last_seq FROM chat_rooms WHERE id = :chatRoomId", nativeQuery = true)
+    Optional<Long> findLastMessageSeq(@Param("chatRoomId") String chatRoomId);
+}
@@ -0,0 +1,147 @@
+package com.makestar.chat.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * 메시지 검색용 토크나이저
+ * 한국어는 띄어쓰기 단위에 조사가 붙어 있어("회의를", "회의는") 단어 단위로는 "회의"를 찾을 수 없으므로,
+ * 한글(한자, 가나 포함) 구간은 글자 2개씩 겹치는 bigram으로 나누고 구간의 마지막 글자를 한 글자 토큰으로 추가합니다.
+ * 그 외 문자와 숫자 구간은 단어 하나를 토큰으로 사용하며, 나머지 문자는 구분자로 취급합니다.
+ * <pre>
+ * "내일 회의를 3시에" → 내일(1) 일(2) 회의(3) 의를(4) 를(5) 3(6) 시에(7) 에(8)
+ * </pre>
+ * PostgreSQL 텍스트 검색 파서는 데이터베이스 로케일에 따라 한글을 다르게 처리하므로,
+ * 색인과 검색어 모두 파서를 거치지 않는 tsvector, tsquery 리터럴로 만듭니다.
+ */
+public final class KoreanNgramTokenizer {
+
+    /** 토큰 하나의 최대 길이 (긴 URL 등) */
+    private static final int MAX_TOKEN_LENGTH = 64;
+
+    /** tsvector 위치의 최댓값 */
+    private static final int MAX_POSITION = 16383;
+
+    private KoreanNgramTokenizer() {
+    }
+
+    /**
+     * 메시지 내용을 위치가 포함된 tsvector 리터럴로 만듭니다.
+     *
+     * @param text 메시지 내용
+     * @return tsvector 리터럴 ('회의':3 '의를':4 ...). 토큰이 없으면 null
+     */
+    public static String toTsVector(String text) {
+        Map<String, List<Integer>> positions = new LinkedHashMap<>();
+        int position = 0;
+        for (List<String> run : runs(text)) {
+            for (String token : run) {
+                position = Math.min(position + 1, MAX_POSITION);
+                positions.computeIfAbsent(token, key -> new ArrayList<>()).add(position);
+            }
+        }
+        if (positions.isEmpty()) {
+            return null;
+        }
+        StringJoiner vector = new StringJoiner(" ");
+        positions.forEach((token, tokenPositions) -> {
+            StringJoiner joined = new StringJoiner(",");
+            tokenPositions.forEach(tokenPosition -> joined.add(Integer.toString(tokenPosition)));
+            vector.add(quote(token) + ":" + joined);
+        });
+        return vector.toString();
+    }
+
+    /**
+     * 검색어를 tsquery 리터럴로 만듭니다.
+     * 검색어의 구간은 모두 포함되어야 하며(&), 한글 구간의 bigram은 연속해서 나타나야 합니다(&lt;-&gt;).
+     * 한 글자 한글 구간은 그 글자로 시작하는 bigram과 구간 끝 글자 토큰 중 하나와 일치하면 되고,
+     * 그 외 단어는 접두어로 일치합니다.
+     *
+     * @param keyword 검색어
+     * @return tsquery 리터럴. 검색할 토큰이 없으면 null
+     */
+    public static String toTsQuery(String keyword) {
+        StringJoiner query = new StringJoiner(" & ");
+        for (List<String> run : runs(keyword)) {
+            String first = run.get(0);
+            if (!isNgram(first)) {
+                query.add(quote(first) + ":*");
+            } else if (run.size() == 1) {
+                query.add("(" + quote(first) + " | " + quote(first) + ":*)");
+            } else {
+                // 마지막 한 글자 토큰은 색인할 때만 사용
+                StringJoiner phrase = new StringJoiner(" <-> ", "(", ")");
+                run.subList(0, run.size() - 1).forEach(token -> phrase.add(quote(token)));
+                query.add(phrase.toString());
+            }
+        }
+        return query.length() == 0 ? null : query.toString();
+    }
+
+    /**
+     * 텍스트를 정규화하고 구간별 토큰 목록으로 나눕니다.
+     */
+    private static List<List<String>> runs(String text) {
+        List<List<String>> runs = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return runs;
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        int[] codePoints = normalized.codePoints().toArray();
+        int start = 0;
+        while (start < codePoints.length) {
+            CharClass charClass = classify(codePoints[start]);
+            int end = start + 1;
+            while (end < codePoints.length && classify(codePoints[end]) == charClass) {
+                end++;
+            }
+            if (charClass == CharClass.NGRAM) {
+                runs.add(ngrams(codePoints, start, end));
+            } else if (charClass == CharClass.WORD) {
+                int length = Math.min(end - start, MAX_TOKEN_LENGTH);
+                runs.add(List.of(new String(codePoints, start, length)));
+            }
+            start = end;
+        }
+        return runs;
+    }
+
+    private static List<String> ngrams(int[] codePoints, int start, int end) {
+        List<String> tokens = new ArrayList<>(end - start);
+        for (int i = start; i < end - 1; i++) {
+            tokens.add(new String(codePoints, i, 2));
+        }
+        tokens.add(new String(codePoints, end - 1, 1));
+        return tokens;
+    }
+
+    private static boolean isNgram(String token) {
+        return classify(token.codePointAt(0)) == CharClass.NGRAM;
+    }
+
+    private static CharClass classify(int codePoint) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+        if (script == Character.UnicodeScript.HANGUL || script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA || script == Character.UnicodeScript.KATAKANA) {
+            return Character.isLetter(codePoint) ? CharClass.NGRAM : CharClass.SEPARATOR;
+        }
+        return Character.isLetterOrDigit(codePoint) ? CharClass.WORD : CharClass.SEPARATOR;
+    }
+
+    /**
+     * 토큰을 따옴표로 감쌉니다. 토큰은 문자와 숫자로만 이루어지므로 이스케이프할 문자가 없습니다.
+     */
+    private static String quote(String token) {
+        return "'" + token + "'";
+    }
+
+    private enum CharClass {
+        NGRAM, WORD, SEPARATOR
+    }
+}
@@ -0,0 +1,155 @@
+package com.makestar.chat.search;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.makestar.chat.model.ChatMessage;
+
+import javax.annotation.PreDestroy;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 메시지 검색 색인(chat_message_search)을 갱신하는 컴포넌트
+ * 메시지 내용은 {@link KoreanNgramTokenizer}로 tsvector를 만들어 저장하며, 시스템 메시지는 색인하지 않습니다.
+ * 토큰이 없는 메시지(이모지만 있는 메시지 등)는 빈 tsvector로 저장합니다.
+ * <ul>
+ *   <li>저장: 메시지를 저장하는 트랜잭션 안에서 JDBC 일괄 INSERT로 색인합니다.</li>
+ *   <li>삭제: 색인 행은 메시지 행을 참조하며 ON DELETE CASCADE로 함께 삭제됩니다.</li>
+ *   <li>기존 메시지: 애플리케이션 시작 후 색인되지 않은 메시지를 ID 순서로 backfill.batch-size개씩 색인합니다.
+ *       여러 인스턴스가 동시에 실행해도 이미 색인된 메시지는 건너뜁니다.</li>
+ * </ul>
+ */
+@Component
+@Slf4j
+public class MessageSearchIndex {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO chat_message_search (message_id, chat_room_id, sent_at, tokens) " +
+            "VALUES (?, ?, ?, CAST(? AS tsvector)) ON CONFLICT (message_id) DO NOTHING";
+
+    /** 조회 후 삭제된 메시지는 건너뛰는 backfill용 INSERT */
+    private static final String BACKFILL_INSERT_SQL =
+            "INSERT INTO chat_message_search (message_id, chat_room_id, sent_at, tokens) " +
+            "SELECT ?, ?, ?, CAST(? AS tsvector) WHERE EXISTS (SELECT 1 FROM chat_messages WHERE id = ?) " +
+            "ON CONFLICT (message_id) DO NOTHING";
+
+    private static final String UNINDEXED_SQL =
+            "SELECT m.id, m.chat_room_id, m.sent_at, m.content FROM chat_messages m " +
+            "WHERE m.id > ? AND m.type <> 'SYSTEM' " +
+            "AND NOT EXISTS (SELECT 1 FROM chat_message_search s WHERE s.message_id = m.id) " +
+            "ORDER BY m.id LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean backfillEnabled;
+    private final int backfillBatchSize;
+    private final Counter indexedMessages;
+    private final Counter backfilledMessages;
+
+    private ExecutorService backfillExecutor;
+
+    public MessageSearchIndex(JdbcTemplate jdbcTemplate,
+                              MeterRegistry meterRegistry,
+                              @Value("${chat.search.backfill.enabled:true}") boolean backfillEnabled,
+                              @Value("${chat.search.backfill.batch-size:1000}") int backfillBatchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.backfillEnabled = backfillEnabled;
+        this.backfillBatchSize = backfillBatchSize;
+        this.indexedMessages = Counter.builder("chat.search.indexed")
+                .tag("source", "save")
+                .description("Messages added to the search index")
+                .register(meterRegistry);
+        this.backfilledMessages = Counter.builder("chat.search.indexed")
+                .tag("source", "backfill")
+                .description("Messages added to the search index")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 저장한 메시지를 색인합니다.
+     * 색인 행이 메시지 행을 참조하므로 메시지 INSERT가 먼저 실행(flush)된 뒤 호출해야 합니다.
+     *
+     * @param messages 저장한 메시지 목록
+     */
+    public void index(Collection<ChatMessage> messages) {
+        List<Object[]> rows = new ArrayList<>(messages.size());
+        for (ChatMessage message : messages) {
+            if (message.getType() == ChatMessage.MessageType.SYSTEM) {
+                continue;
+            }
+            rows.add(new Object[] {message.getId(), message.getChatRoomId(),
+                    Timestamp.valueOf(message.getSentAt()), tokensOf(message.getContent())});
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+            indexedMessages.increment(rows.size());
+        }
+    }
+
+    /**
+     * 애플리케이션이 준비되면 색인되지 않은 기존 메시지를 백그라운드에서 색인합니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void startBackfill() {
+        if (!backfillEnabled) {
+            return;
+        }
+        backfillExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "chat-search-backfill");
+            thread.setDaemon(true);
+            return thread;
+        });
+        backfillExecutor.execute(this::backfill);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (backfillExecutor != null) {
+            backfillExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * 토큰이 없는 메시지(이모지만 있는 메시지 등)도 빈 tsvector로 색인하여 backfill이 다시 조회하지 않도록 합니다.
+     */
+    private static String tokensOf(String content) {
+        String tokens = KoreanNgramTokenizer.toTsVector(content);
+        return tokens != null ? tokens : "";
+    }
+
+    private void backfill() {
+        String lastId = "";
+        long total = 0;
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                List<Object[]> rows = jdbcTemplate.query(UNINDEXED_SQL, (rs, rowNum) -> {
+                    String id = rs.getString("id");
+                    return new Object[] {id, rs.getString("chat_room_id"), rs.getTimestamp("sent_at"),
+                            tokensOf(rs.getString("content")), id};
+                }, lastId, backfillBatchSize);
+                if (rows.isEmpty()) {
+                    break;
+                }
+                lastId = (String) rows.get(rows.size() - 1)[0];
+                jdbcTemplate.batchUpdate(BACKFILL_INSERT_SQL, rows);
+                backfilledMessages.increment(rows.size());
+                total += rows.size();
+            }
+            if (total > 0) {
+                log.info("Backfilled search index for {} messages", total);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Search index backfill stopped after {} messages: {}", total, e.getMessage());
+        }
+    }
+}
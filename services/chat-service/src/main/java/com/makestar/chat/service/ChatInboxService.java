@@ -0,0 +1,105 @@
+package com.makestar.chat.service;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import com.makestar.chat.dto.ChatMessageDto;
+import com.makestar.chat.dto.ChatRoomDto;
+import com.makestar.chat.model.ChatRoom;
+
+/**
+ * 사용자별 채팅방 목록(인박스)을 관리하는 서비스 인터페이스
+ * 메시지 저장, 읽음 처리, 참여자 변경 시점에 인박스를 갱신하여
+ * 채팅방 목록 조회가 메시지 테이블을 읽지 않도록 합니다.
+ */
+public interface ChatInboxService {
+
+    /**
+     * 사용자의 채팅방 목록을 마지막 메시지 시간 역순으로 조회합니다.
+     * 채팅방 정보는 인박스 항목에 저장된 값을 사용합니다.
+     *
+     * @param userId 사용자 ID
+     * @return 채팅방 목록
+     */
+    List<ChatRoomDto> getInbox(String userId);
+
+    /**
+     * 새 메시지를 채팅방 참여자들의 인박스에 반영합니다.
+     *
+     * @param message 저장된 메시지 (발신자 이름 포함)
+     */
+    void onMessageSaved(ChatMessageDto message);
+
+    /**
+     * 한 번에 저장된 여러 메시지를 인박스에 반영합니다.
+     * 채팅방마다 가장 최근 메시지만 마지막 메시지로 반영하고, 읽지 않은 메시지 수는 발신자별로 묶어 증가시킵니다.
+     *
+     * @param messages 저장된 메시지 목록 (발신자 이름 포함)
+     */
+    void onMessagesSaved(List<ChatMessageDto> messages);
+
+    /**
+     * 채팅방의 마지막 메시지가 바뀐 경우(삭제 등) 인박스의 마지막 메시지 정보를 덮어씁니다.
+     *
+     * @param chatRoomId 채팅방 ID
+     * @param latestMessage 새 마지막 메시지. 남은 메시지가 없으면 null
+     */
+    void onLatestMessageChanged(String chatRoomId, ChatMessageDto latestMessage);
+
+    /**
+     * 메시지가 삭제된 경우 그 메시지를 아직 읽지 않은 참여자의 읽지 않은 메시지 수를 감소시킵니다.
+     *
+     * @param chatRoomId 채팅방 ID
+     * @param senderId 삭제된 메시지의 발신자 ID
+     * @param sentAt 삭제된 메시지의 전송 시간
+     */
+    void onMessageDeleted(String chatRoomId, String senderId, LocalDateTime sentAt);
+
+    /**
+     * 사용자의 읽음 위치가 전진한 경우 읽지 않은 메시지 수를 갱신합니다.
+     *
+     * @param chatRoomId 채팅방 ID
+     * @param userId 사용자 ID
+     * @param unreadCount 읽음 위치 이후의 읽지 않은 메시지 수
+     */
+    void onReadCursorAdvanced(String chatRoomId, String userId, long unreadCount);
+
+    /**
+     * 사용자가 채팅방의 메시지를 모두 읽은 경우 읽지 않은 메시지 수를 초기화합니다.
+     *
+     * @param chatRoomId 채팅방 ID
+     * @param userId 사용자 ID
+     */
+    void onAllMessagesRead(String chatRoomId, String userId);
+
+    /**
+     * 채팅방에 참여한 사용자들의 인박스 항목을 생성하고 기존 참여자의 인박스에 참여자 목록을 반영합니다.
+     *
+     * @param chatRoom 채팅방
+     * @param userIds 참여한 사용자 ID 목록
+     */
+    void onParticipantsAdded(ChatRoom chatRoom, Collection<String> userIds);
+
+    /**
+     * 채팅방에서 나간 사용자의 인박스 항목을 삭제하고 남은 참여자의 인박스에 참여자 목록을 반영합니다.
+     *
+     * @param chatRoom 참여자가 제거된 채팅방
+     * @param userId 사용자 ID
+     */
+    void onParticipantRemoved(ChatRoom chatRoom, String userId);
+
+    /**
+     * 채팅방 정보(이름, 설명 등)가 수정된 경우 참여자들의 인박스에 반영합니다.
+     *
+     * @param chatRoom 수정된 채팅방
+     */
+    void onChatRoomUpdated(ChatRoom chatRoom);
+
+    /**
+     * 삭제된 채팅방의 인박스 항목과 읽음 위치를 모두 삭제합니다.
+     *
+     * @param chatRoomId 채팅방 ID
+     */
+    void onChatRoomDeleted(String chatRoomId);
+}
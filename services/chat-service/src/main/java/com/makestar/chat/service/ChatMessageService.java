@@ -2,11 +2,19 @@ package com.makestar.chat.service;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import com.makestar.chat.dto.ChatMessageDto;
+import com.makestar.chat.dto.MessageCursor;
+import com.makestar.chat.dto.MessageSearchHitDto;
+import com.makestar.chat.dto.ReadReceiptDto;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * 채팅 메시지 관리를 위한 서비스 인터페이스
@@ -19,6 +27,14 @@ public interface ChatMessageService {
      * @return 저장된 메시지 정보
      */
     ChatMessageDto saveMessage(ChatMessageDto messageDto);
+
+    /**
+     * ID와 전송 시간이 이미 할당된 메시지 여러 건을 한 번에 저장합니다.
+     * write-behind 저장 경로에서 사용하며, 다중 행 INSERT로 처리됩니다.
+     * @param messages 저장할 메시지 목록
+     * @return 저장된 메시지 수
+     */
+    int saveMessagesBatch(List<ChatMessageDto> messages);
     
     /**
      * 채팅방의 메시지 목록을 페이징하여 조회합니다.
@@ -27,6 +43,16 @@ public interface ChatMessageService {
      * @return 페이징된 메시지 목록
      */
     Page<ChatMessageDto> getChatMessages(String chatRoomId, Pageable pageable);
+
+    /**
+     * 채팅방의 메시지를 커서 기반으로 조회합니다.
+     * 전체 개수를 세지 않고, 커서 이전의 메시지를 최신순으로 조회합니다.
+     * @param chatRoomId 채팅방 ID
+     * @param before 조회 기준 커서. null이면 최근 메시지부터 조회
+     * @param size 조회할 메시지 수
+     * @return 메시지 슬라이스
+     */
+    Slice<ChatMessageDto> getChatMessagesBefore(String chatRoomId, MessageCursor before, int size);
     
     /**
      * 특정 시간 이후의 채팅방 메시지를 조회합니다.
@@ -36,6 +62,15 @@ public interface ChatMessageService {
      */
     List<ChatMessageDto> getMessagesSince(String chatRoomId, LocalDateTime since);
     
+    /**
+     * 순번 이후의 채팅방 메시지를 순번 순서로 조회합니다.
+     * 재연결한 클라이언트가 마지막으로 받은 메시지 이후의 누락 구간을 받을 때 사용합니다.
+     * @param chatRoomId 채팅방 ID
+     * @param afterSeq 기준 순번 (포함하지 않음)
+     * @return 메시지 목록
+     */
+    List<ChatMessageDto> getMessagesAfterSeq(String chatRoomId, long afterSeq);
+    
     /**
      * 메시지 ID로 메시지를 조회합니다.
      * @param messageId 메시지 ID
@@ -50,12 +85,23 @@ public interface ChatMessageService {
      */
     void markAsRead(String messageId, String userId);
     
+    /**
+     * 채팅방의 메시지를 순번까지 읽음 상태로 표시합니다.
+     * 사용자의 읽음 위치를 순번 이하의 가장 최근 메시지로 전진시키고, 그 메시지까지의 읽음 표시를 한 번에 갱신합니다.
+     * @param chatRoomId 채팅방 ID
+     * @param userId 읽은 사용자 ID
+     * @param upToSeq 마지막으로 읽은 메시지 순번 (포함)
+     * @return 갱신된 읽음 위치. 이미 더 뒤까지 읽었거나 순번 이하의 메시지가 없으면 비어 있음
+     */
+    Optional<ReadReceiptDto> markAsReadUpTo(String chatRoomId, String userId, long upToSeq);
+
     /**
      * 채팅방의 모든 메시지를 읽음 상태로 표시합니다.
      * @param chatRoomId 채팅방 ID
      * @param userId 읽은 사용자 ID
+     * @return 읽음 표시된 메시지 수
      */
-    void markAllAsRead(String chatRoomId, String userId);
+    int markAllAsRead(String chatRoomId, String userId);
     
     /**
      * 채팅방의 읽지 않은 메시지 개수를 조회합니다.
@@ -64,6 +110,15 @@ public interface ChatMessageService {
      * @return 읽지 않은 메시지 개수
      */
     long countUnreadMessages(String chatRoomId, String userId);
+
+    /**
+     * 여러 채팅방의 읽지 않은 메시지 개수를 한 번에 조회합니다.
+     * 읽지 않은 메시지가 없는 채팅방은 결과에 포함되지 않습니다.
+     * @param chatRoomIds 채팅방 ID 목록
+     * @param userId 사용자 ID
+     * @return 채팅방 ID별 읽지 않은 메시지 개수
+     */
+    Map<String, Long> countUnreadMessages(Collection<String> chatRoomIds, String userId);
     
     /**
      * 채팅방의 최근 메시지를 조회합니다.
@@ -71,14 +126,34 @@ public interface ChatMessageService {
      * @return 최근 메시지 정보
      */
     ChatMessageDto getLatestMessage(String chatRoomId);
+
+    /**
+     * 여러 채팅방의 최근 메시지를 한 번에 조회합니다.
+     * 메시지가 없는 채팅방은 결과에 포함되지 않습니다.
+     * @param chatRoomIds 채팅방 ID 목록
+     * @return 채팅방 ID별 최근 메시지 정보
+     */
+    Map<String, ChatMessageDto> getLatestMessages(Collection<String> chatRoomIds);
     
     /**
      * 메시지 내용으로 메시지를 검색합니다.
+     * 검색어의 단어(한글은 두 글자 단위)가 모두 포함된 메시지를 관련도 순으로 반환합니다.
      * @param chatRoomId 채팅방 ID
      * @param keyword 검색 키워드
-     * @return 검색된 메시지 목록
+     * @param pageable 페이지 정보 (페이지 번호와 크기만 사용)
+     * @return 검색된 메시지 페이지
+     */
+    Page<ChatMessageDto> searchMessages(String chatRoomId, String keyword, Pageable pageable);
+    
+    /**
+     * 사용자가 참여한 모든 채팅방에서 메시지를 검색합니다.
+     * 결과는 관련도 순으로 정렬되어 일정 개수씩 묶여 전달되며, 각 결과에는 채팅방 정보가 포함됩니다.
+     * @param userId 사용자 ID
+     * @param keyword 검색 키워드
+     * @param limit 최대 결과 수 (chat.search.max-results를 넘으면 그 값으로 제한)
+     * @param consumer 검색 결과 묶음을 순서대로 받는 함수
      */
-    List<ChatMessageDto> searchMessages(String chatRoomId, String keyword);
+    void searchUserMessages(String userId, String keyword, int limit, Consumer<List<MessageSearchHitDto>> consumer);
     
     /**
      * 메시지를 삭제합니다.
@@ -0,0 +1,28 @@
+package com.makestar.chat.service;
+
+import com.makestar.chat.dto.ChatMessageDto;
+
+/**
+ * WebSocket으로 받은 채팅 메시지를 받아들이는 서비스 인터페이스
+ * chat.ingest.mode 설정에 따라 즉시 저장(sync)하거나,
+ * ID와 전송 시간만 할당하고 저장은 일괄 처리로 미루는(write-behind) 구현이 사용됩니다.
+ */
+public interface MessageIngestService {
+
+    /**
+     * 메시지를 받아들이고 브로드캐스트할 메시지 정보를 반환합니다.
+     * 반환된 메시지에는 ID, 전송 시간, 발신자 이름이 설정되어 있습니다.
+     *
+     * @param messageDto 받은 메시지 정보
+     * @return 브로드캐스트할 메시지 정보
+     */
+    ChatMessageDto ingest(ChatMessageDto messageDto);
+
+    /**
+     * 반환하는 메시지에 채팅방 순번(seq)이 할당되어 있는지 여부를 반환합니다.
+     * 순번이 없으면 클라이언트는 읽음 위치 갱신(chat.readUpTo)과 재연결(chat.resume)에 쓸 순번을 알 수 없습니다.
+     *
+     * @return 브로드캐스트하는 메시지에 순번이 있으면 true
+     */
+    boolean assignsSeq();
+}
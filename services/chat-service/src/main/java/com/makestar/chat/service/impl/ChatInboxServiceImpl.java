@@ -0,0 +1,211 @@
+package com.makestar.chat.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.makestar.chat.cache.SenderNameCache;
+import com.makestar.chat.dto.ChatMessageDto;
+import com.makestar.chat.dto.ChatRoomDto;
+import com.makestar.chat.model.ChatInboxEntry;
+import com.makestar.chat.model.ChatRoom;
+import com.makestar.chat.model.StringSetConverter;
+import com.makestar.chat.repository.ChatInboxRepository;
+import com.makestar.chat.repository.ChatReadCursorRepository;
+import com.makestar.chat.repository.ChatRoomRepository;
+import com.makestar.chat.service.ChatInboxService;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * ChatInboxService 인터페이스의 구현 클래스
+ * 인박스 갱신은 채팅방 단위의 일괄 UPDATE 문으로 처리하며,
+ * 조회는 사용자 ID와 마지막 메시지 시간 인덱스를 이용한 단일 범위 조회로 처리합니다.
+ * 인박스 도입 이전의 참여 정보는 마이그레이션(V5)으로 채우므로 조회 시 채팅방 테이블을 읽지 않습니다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ChatInboxServiceImpl implements ChatInboxService {
+
+    /** 네이티브 UPDATE 문에 전달할 참여자 ID 목록 변환기 */
+    private static final StringSetConverter PARTICIPANT_IDS_CONVERTER = new StringSetConverter();
+
+    private final ChatInboxRepository chatInboxRepository;
+    private final ChatRoomRepository chatRoomRepository;
+    private final ChatReadCursorRepository chatReadCursorRepository;
+    private final SenderNameCache senderNameCache;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ChatRoomDto> getInbox(String userId) {
+        List<ChatRoomDto> chatRooms = chatInboxRepository.findByUserIdOrderByLastMessageAtDesc(userId).stream()
+                .map(ChatRoomDto::fromInboxEntry)
+                .collect(Collectors.toList());
+
+        // 마이그레이션으로 채운 항목은 마지막 메시지 발신자 이름이 없으므로 캐시에서 채움
+        Set<String> unnamedSenderIds = chatRooms.stream()
+                .map(ChatRoomDto::getLastMessage)
+                .filter(message -> message != null && message.getSenderId() != null && message.getSenderName() == null)
+                .map(ChatMessageDto::getSenderId)
+                .collect(Collectors.toSet());
+        if (!unnamedSenderIds.isEmpty()) {
+            Map<String, String> senderNames = senderNameCache.getNames(unnamedSenderIds);
+            chatRooms.stream()
+                    .map(ChatRoomDto::getLastMessage)
+                    .filter(message -> message != null && message.getSenderName() == null)
+                    .forEach(message -> message.setSenderName(senderNames.get(message.getSenderId())));
+        }
+        return chatRooms;
+    }
+
+    @Override
+    @Transactional
+    public void onMessageSaved(ChatMessageDto message) {
+        chatInboxRepository.updateLastMessage(
+                message.getChatRoomId(),
+                message.getId(),
+                ChatInboxEntry.toSnippet(message.getContent()),
+                message.getSenderId(),
+                message.getSenderName(),
+                message.getType(),
+                message.getSentAt());
+        chatInboxRepository.incrementUnreadCount(message.getChatRoomId(), message.getSenderId());
+    }
+
+    @Override
+    @Transactional
+    public void onMessagesSaved(List<ChatMessageDto> messages) {
+        Map<String, List<ChatMessageDto>> messagesByRoom = messages.stream()
+                .collect(Collectors.groupingBy(ChatMessageDto::getChatRoomId));
+
+        messagesByRoom.forEach((chatRoomId, roomMessages) -> {
+            roomMessages.stream()
+                    .max(Comparator.comparing(ChatMessageDto::getSentAt).thenComparing(ChatMessageDto::getId))
+                    .ifPresent(latest -> chatInboxRepository.updateLastMessage(
+                            chatRoomId,
+                            latest.getId(),
+                            ChatInboxEntry.toSnippet(latest.getContent()),
+                            latest.getSenderId(),
+                            latest.getSenderName(),
+                            latest.getType(),
+                            latest.getSentAt()));
+
+            roomMessages.stream()
+                    .collect(Collectors.groupingBy(ChatMessageDto::getSenderId, Collectors.counting()))
+                    .forEach((senderId, count) -> chatInboxRepository.incrementUnreadCountBy(chatRoomId, senderId, count));
+        });
+    }
+
+    @Override
+    @Transactional
+    public void onLatestMessageChanged(String chatRoomId, ChatMessageDto latestMessage) {
+        if (latestMessage == null) {
+            ChatRoom chatRoom = chatRoomRepository.findById(chatRoomId).orElse(null);
+            if (chatRoom != null) {
+                chatInboxRepository.replaceLastMessage(chatRoomId, null, null, null, null, null, chatRoom.getCreatedAt());
+            }
+            return;
+        }
+
+        chatInboxRepository.replaceLastMessage(
+                chatRoomId,
+                latestMessage.getId(),
+                ChatInboxEntry.toSnippet(latestMessage.getContent()),
+                latestMessage.getSenderId(),
+                latestMessage.getSenderName(),
+                latestMessage.getType(),
+                latestMessage.getSentAt());
+    }
+
+    @Override
+    @Transactional
+    public void onMessageDeleted(String chatRoomId, String senderId, LocalDateTime sentAt) {
+        chatInboxRepository.decrementUnreadCountForUnreadMessage(chatRoomId, senderId, sentAt);
+    }
+
+    @Override
+    @Transactional
+    public void onReadCursorAdvanced(String chatRoomId, String userId, long unreadCount) {
+        chatInboxRepository.updateUnreadCount(chatRoomId, userId, unreadCount);
+    }
+
+    @Override
+    @Transactional
+    public void onAllMessagesRead(String chatRoomId, String userId) {
+        chatInboxRepository.updateUnreadCount(chatRoomId, userId, 0);
+    }
+
+    @Override
+    @Transactional
+    public void onParticipantsAdded(ChatRoom chatRoom, Collection<String> userIds) {
+        Set<String> existingUserIds = new HashSet<>(chatInboxRepository.findUserIdsByChatRoomId(chatRoom.getId()));
+        Optional<ChatInboxEntry> template = chatInboxRepository.findFirstByChatRoomIdOrderByLastMessageAtDesc(chatRoom.getId());
+
+        List<ChatInboxEntry> newEntries = userIds.stream()
+                .filter(userId -> !existingUserIds.contains(userId))
+                .distinct()
+                .map(userId -> ChatInboxEntry.builder()
+                        .userId(userId)
+                        .chatRoomId(chatRoom.getId())
+                        .chatRoomName(chatRoom.getName())
+                        .chatRoomDescription(chatRoom.getDescription())
+                        .chatRoomType(chatRoom.getType())
+                        .chatRoomCreatedAt(chatRoom.getCreatedAt())
+                        .chatRoomUpdatedAt(chatRoom.getUpdatedAt())
+                        .participantIds(new HashSet<>(chatRoom.getParticipantIds()))
+                        .lastMessageId(template.map(ChatInboxEntry::getLastMessageId).orElse(null))
+                        .lastMessageSnippet(template.map(ChatInboxEntry::getLastMessageSnippet).orElse(null))
+                        .lastSenderId(template.map(ChatInboxEntry::getLastSenderId).orElse(null))
+                        .lastSenderName(template.map(ChatInboxEntry::getLastSenderName).orElse(null))
+                        .lastMessageType(template.map(ChatInboxEntry::getLastMessageType).orElse(null))
+                        .lastMessageAt(template.map(ChatInboxEntry::getLastMessageAt).orElse(chatRoom.getCreatedAt()))
+                        .build())
+                .collect(Collectors.toList());
+
+        if (!existingUserIds.isEmpty()) {
+            onChatRoomUpdated(chatRoom);
+        }
+        if (!newEntries.isEmpty()) {
+            chatInboxRepository.saveAll(newEntries);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void onParticipantRemoved(ChatRoom chatRoom, String userId) {
+        chatInboxRepository.deleteByChatRoomIdAndUserId(chatRoom.getId(), userId);
+        if (!chatRoom.getParticipantIds().isEmpty()) {
+            onChatRoomUpdated(chatRoom);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void onChatRoomUpdated(ChatRoom chatRoom) {
+        chatInboxRepository.updateChatRoom(
+                chatRoom.getId(),
+                chatRoom.getName(),
+                chatRoom.getDescription(),
+                chatRoom.getType().name(),
+                chatRoom.getCreatedAt(),
+                chatRoom.getUpdatedAt(),
+                PARTICIPANT_IDS_CONVERTER.convertToDatabaseColumn(chatRoom.getParticipantIds()));
+    }
+
+    @Override
+    @Transactional
+    public void onChatRoomDeleted(String chatRoomId) {
+        chatInboxRepository.deleteByChatRoomId(chatRoomId);
+        chatReadCursorRepository.deleteByChatRoomId(chatRoomId);
+    }
+}
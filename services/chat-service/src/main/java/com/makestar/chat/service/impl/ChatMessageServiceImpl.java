@@ -2,23 +2,52 @@ package com.makestar.chat.service.impl;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.http.ResponseEntity;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import com.makestar.chat.client.UserServiceClient;
+import com.makestar.chat.cache.RecentMessageBuffer;
+import com.makestar.chat.cache.SenderNameCache;
 import com.makestar.chat.dto.ChatMessageDto;
+import com.makestar.chat.dto.MessageCursor;
+import com.makestar.chat.dto.MessageSearchHitDto;
+import com.makestar.chat.dto.ReadReceiptDto;
 import com.makestar.chat.model.ChatMessage;
+import com.makestar.chat.model.ChatRoom;
 import com.makestar.chat.repository.ChatMessageRepository;
+import com.makestar.chat.repository.ChatReadCursorRepository;
+import com.makestar.chat.repository.ChatRoomRepository;
+import com.makestar.chat.search.KoreanNgramTokenizer;
+import com.makestar.chat.search.MessageSearchIndex;
+import com.makestar.chat.service.ChatInboxService;
 import com.makestar.chat.service.ChatMessageService;
 
 import javax.persistence.EntityNotFoundException;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * ChatMessageService 인터페이스의 구현 클래스
@@ -29,34 +58,132 @@ import java.util.stream.Collectors;
 @Slf4j
 public class ChatMessageServiceImpl implements ChatMessageService {
 
+    /** 발신자 정보를 조회하지 못한 경우 사용하는 이름 */
+    private static final String UNKNOWN_SENDER = "Unknown User";
+
+    /** 최근 메시지 버퍼로 응답할 수 있는 첫 페이지 정렬 (REST API 기본 정렬) */
+    private static final Sort LATEST_FIRST = Sort.by(Sort.Direction.DESC, "sentAt");
+
+    /** 사용자 전체 채팅방 검색 결과를 조회하고 전달하는 단위 */
+    private static final int SEARCH_CHUNK_SIZE = 100;
+
     private final ChatMessageRepository chatMessageRepository;
-    private final UserServiceClient userServiceClient;
+    private final ChatReadCursorRepository chatReadCursorRepository;
+    private final ChatRoomRepository chatRoomRepository;
+    private final SenderNameCache senderNameCache;
+    private final ChatInboxService chatInboxService;
+    private final RecentMessageBuffer recentMessageBuffer;
+    private final MessageSearchIndex messageSearchIndex;
+    private final TransactionTemplate transactionTemplate;
+
+    /** 일괄 읽음 처리 시 한 번의 UPDATE 문으로 처리할 메시지 수 */
+    @Value("${chat.read.bulk-chunk-size:1000}")
+    private int bulkChunkSize;
+
+    /** 재연결 시 한 번에 다시 보내는 최대 메시지 수 */
+    @Value("${chat.resume.max-replay:500}")
+    private int maxReplay;
+
+    /** 사용자 전체 채팅방 검색에서 한 번에 반환하는 최대 결과 수 */
+    @Value("${chat.search.max-results:500}")
+    private int maxSearchResults;
 
     /**
      * 새로운 채팅 메시지를 저장합니다.
+     * 채팅방의 다음 메시지 순번을 할당하며, 저장된 메시지는 채팅방 참여자들의 인박스와
+     * 최근 메시지 버퍼(커밋 후)에도 반영됩니다.
+     * 순번 할당은 채팅방 행을 커밋까지 잠그므로, 발신자 이름 조회(User Service 호출 가능)는 트랜잭션 전에 하고
+     * 트랜잭션 안에서는 인박스 갱신 뒤 INSERT 직전에 순번을 할당합니다.
      * 
      * @param messageDto 저장할 메시지 정보
      * @return 저장된 메시지 정보
      */
     @Override
-    @Transactional
     public ChatMessageDto saveMessage(ChatMessageDto messageDto) {
         log.info("Saving chat message to room: {} from user: {}", messageDto.getChatRoomId(), messageDto.getSenderId());
         
+        String senderName = senderNameCache.getName(messageDto.getSenderId());
         ChatMessage chatMessage = ChatMessage.builder()
+                .id(UUID.randomUUID().toString())
                 .chatRoomId(messageDto.getChatRoomId())
                 .senderId(messageDto.getSenderId())
                 .content(messageDto.getContent())
                 .type(ChatMessage.MessageType.valueOf(messageDto.getType()))
+                // 데이터베이스(timestamp) 정밀도에 맞춰 반환 값과 저장 값을 일치시킴
+                .sentAt(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS))
                 .build();
+        ChatMessageDto savedMessageDto = ChatMessageDto.fromEntityWithSenderName(
+                chatMessage, senderName != null ? senderName : UNKNOWN_SENDER);
         
-        ChatMessage savedMessage = chatMessageRepository.save(chatMessage);
-        return ChatMessageDto.fromEntity(savedMessage);
+        transactionTemplate.executeWithoutResult(status -> {
+            chatInboxService.onMessageSaved(savedMessageDto);
+            assignSeqs(Collections.singletonList(chatMessage));
+            savedMessageDto.setSeq(chatMessage.getSeq());
+            chatMessageRepository.saveAndFlush(chatMessage);
+            // 색인 행은 메시지를 참조하므로 INSERT 뒤에 추가
+            messageSearchIndex.index(Collections.singletonList(chatMessage));
+            afterCommit(() -> recentMessageBuffer.append(savedMessageDto));
+        });
+        return savedMessageDto;
+    }
+
+    /**
+     * ID와 전송 시간이 이미 할당된 메시지 여러 건을 한 번에 저장합니다.
+     * 할당된 ID를 그대로 사용하므로 조회 없이 INSERT 되며, JDBC 배치로 묶여 전송됩니다.
+     * 순번은 채팅방마다 한 번의 UPDATE로 필요한 개수만큼 할당하고, 인박스는 채팅방과 발신자 단위로 묶어 갱신합니다.
+     * saveMessage와 같이 발신자 이름은 트랜잭션 전에 정하고, 순번은 INSERT 직전에 할당합니다.
+     * 
+     * @param messages 저장할 메시지 목록
+     * @return 저장된 메시지 수
+     */
+    @Override
+    public int saveMessagesBatch(List<ChatMessageDto> messages) {
+        if (messages.isEmpty()) {
+            return 0;
+        }
+        log.debug("Saving batch of {} chat messages", messages.size());
+        
+        // write-behind 메시지는 받을 때 정한 발신자 이름을 그대로 사용
+        Map<String, String> senderNames = new HashMap<>(senderNameCache.getNames(messages.stream()
+                .filter(messageDto -> messageDto.getSenderName() == null)
+                .map(ChatMessageDto::getSenderId)
+                .collect(Collectors.toSet())));
+        messages.stream()
+                .filter(messageDto -> messageDto.getSenderName() != null)
+                .forEach(messageDto -> senderNames.put(messageDto.getSenderId(), messageDto.getSenderName()));
+        
+        List<ChatMessage> chatMessages = messages.stream()
+                .map(messageDto -> ChatMessage.builder()
+                        .id(messageDto.getId())
+                        .chatRoomId(messageDto.getChatRoomId())
+                        .senderId(messageDto.getSenderId())
+                        .content(messageDto.getContent())
+                        .type(ChatMessage.MessageType.valueOf(messageDto.getType()))
+                        .sentAt(messageDto.getSentAt())
+                        .build())
+                .collect(Collectors.toList());
+        List<ChatMessageDto> savedMessageDtos = chatMessages.stream()
+                .map(message -> toDtoWithSenderName(message, senderNames))
+                .collect(Collectors.toList());
+        
+        transactionTemplate.executeWithoutResult(status -> {
+            chatInboxService.onMessagesSaved(savedMessageDtos);
+            assignSeqs(chatMessages);
+            for (int i = 0; i < chatMessages.size(); i++) {
+                savedMessageDtos.get(i).setSeq(chatMessages.get(i).getSeq());
+            }
+            chatMessageRepository.saveAllAndFlush(chatMessages);
+            // 색인 행은 메시지를 참조하므로 INSERT 뒤에 추가
+            messageSearchIndex.index(chatMessages);
+            afterCommit(() -> savedMessageDtos.forEach(recentMessageBuffer::append));
+        });
+        return chatMessages.size();
     }
 
     /**
      * 채팅방의 메시지 목록을 페이징하여 조회합니다.
      * 각 메시지에 발신자 정보를 포함하여 반환합니다.
+     * 최근 메시지부터의 첫 페이지는 최근 메시지 버퍼에서 응답합니다.
      * 
      * @param chatRoomId 채팅방 ID
      * @param pageable 페이징 정보
@@ -66,8 +193,44 @@ public class ChatMessageServiceImpl implements ChatMessageService {
     public Page<ChatMessageDto> getChatMessages(String chatRoomId, Pageable pageable) {
         log.info("Getting chat messages for room: {}", chatRoomId);
         
+        if (pageable.getPageNumber() == 0 && (pageable.getSort().isUnsorted() || pageable.getSort().equals(LATEST_FIRST))) {
+            Optional<RecentMessageBuffer.LatestPage> latest = readLatestThroughBuffer(chatRoomId, pageable.getPageSize());
+            if (latest.isPresent()) {
+                return new PageImpl<>(latest.get().getMessages(), pageable, latest.get().getTotalMessages());
+            }
+        }
+        
         Page<ChatMessage> messages = chatMessageRepository.findByChatRoomIdOrderBySentAtDesc(chatRoomId, pageable);
-        return messages.map(this::enrichMessageWithSenderInfo);
+        Map<String, String> senderNames = resolveSenderNames(messages.getContent());
+        return messages.map(message -> toDtoWithSenderName(message, senderNames));
+    }
+
+    /**
+     * 채팅방의 메시지를 커서 기반으로 조회합니다.
+     * 오프셋과 COUNT 쿼리 없이 커서 위치부터 인덱스를 읽으므로 조회 깊이와 관계없이 비용이 같습니다.
+     * 커서가 없는 첫 페이지는 최근 메시지 버퍼에서 응답합니다.
+     * 
+     * @param chatRoomId 채팅방 ID
+     * @param before 조회 기준 커서. null이면 최근 메시지부터 조회
+     * @param size 조회할 메시지 수
+     * @return 메시지 슬라이스
+     */
+    @Override
+    public Slice<ChatMessageDto> getChatMessagesBefore(String chatRoomId, MessageCursor before, int size) {
+        log.info("Getting messages for room: {} before: {}", chatRoomId, before);
+        
+        Pageable pageable = PageRequest.of(0, size);
+        if (before == null) {
+            Optional<RecentMessageBuffer.LatestPage> latest = readLatestThroughBuffer(chatRoomId, size);
+            if (latest.isPresent()) {
+                return new SliceImpl<>(latest.get().getMessages(), pageable, latest.get().getTotalMessages() > size);
+            }
+        }
+        Slice<ChatMessage> messages = before == null
+                ? chatMessageRepository.findLatestSlice(chatRoomId, pageable)
+                : chatMessageRepository.findSliceBefore(chatRoomId, before.getSentAt(), before.getId(), pageable);
+        Map<String, String> senderNames = resolveSenderNames(messages.getContent());
+        return messages.map(message -> toDtoWithSenderName(message, senderNames));
     }
 
     /**
@@ -83,11 +246,39 @@ public class ChatMessageServiceImpl implements ChatMessageService {
         log.info("Getting messages for room: {} since: {}", chatRoomId, since);
         
         List<ChatMessage> messages = chatMessageRepository.findByChatRoomIdAndSentAtAfterOrderBySentAtAsc(chatRoomId, since);
+        Map<String, String> senderNames = resolveSenderNames(messages);
         return messages.stream()
-                .map(this::enrichMessageWithSenderInfo)
+                .map(message -> toDtoWithSenderName(message, senderNames))
                 .collect(Collectors.toList());
     }
 
+    /**
+     * 순번 이후의 채팅방 메시지를 순번 순서로 조회합니다.
+     * 채팅방의 마지막 순번까지 최근 메시지 버퍼에 빠짐없이 있으면 버퍼에서 응답하고,
+     * 그렇지 않으면 (chat_room_id, seq) 인덱스로 조회하여 발신자 정보를 채웁니다.
+     * 
+     * @param chatRoomId 채팅방 ID
+     * @param afterSeq 기준 순번 (포함하지 않음)
+     * @return 메시지 목록 (최대 chat.resume.max-replay개)
+     * @throws EntityNotFoundException 채팅방을 찾을 수 없는 경우
+     */
+    @Override
+    public List<ChatMessageDto> getMessagesAfterSeq(String chatRoomId, long afterSeq) {
+        log.debug("Getting messages for room: {} after seq: {}", chatRoomId, afterSeq);
+        
+        long lastSeq = chatRoomRepository.findLastMessageSeq(chatRoomId)
+                .orElseThrow(() -> new EntityNotFoundException("Chat room not found with id: " + chatRoomId));
+        return recentMessageBuffer.readAfter(chatRoomId, afterSeq, lastSeq, maxReplay)
+                .orElseGet(() -> {
+                    List<ChatMessage> messages = chatMessageRepository.findAfterSeq(
+                            chatRoomId, afterSeq, PageRequest.of(0, maxReplay));
+                    Map<String, String> senderNames = resolveSenderNames(messages);
+                    return messages.stream()
+                            .map(message -> toDtoWithSenderName(message, senderNames))
+                            .collect(Collectors.toList());
+                });
+    }
+
     /**
      * 메시지 ID로 메시지를 조회합니다.
      * 발신자 정보를 포함하여 반환합니다.
@@ -108,6 +299,7 @@ public class ChatMessageServiceImpl implements ChatMessageService {
 
     /**
      * 메시지를 읽음 상태로 표시합니다.
+     * 사용자의 읽음 위치를 해당 메시지까지 전진시키며, 이미 더 뒤까지 읽은 경우에는 변경하지 않습니다.
      * 본인이 보낸 메시지는 읽음 처리하지 않습니다.
      * 
      * @param messageId 메시지 ID
@@ -124,36 +316,125 @@ public class ChatMessageServiceImpl implements ChatMessageService {
         
         // 본인이 보낸 메시지는 읽음 처리 불필요
         if (!message.getSenderId().equals(userId)) {
+            // 메시지의 읽음 표시는 발신자에게 보여주는 용도로만 유지
             message.markAsRead();
             chatMessageRepository.save(message);
+            afterCommit(() -> recentMessageBuffer.markRead(message.getChatRoomId(), message.getId(), message.getReadAt()));
+            
+            int advanced = chatReadCursorRepository.advanceTo(
+                    UUID.randomUUID().toString(), message.getChatRoomId(), userId, message.getSentAt(), message.getId());
+            if (advanced > 0) {
+                chatInboxService.onReadCursorAdvanced(message.getChatRoomId(), userId,
+                        countUnreadMessages(message.getChatRoomId(), userId));
+            }
         }
     }
 
+    /**
+     * 채팅방의 메시지를 순번까지 읽음 상태로 표시합니다.
+     * 순번 이하의 가장 최근 메시지를 찾아 읽음 위치를 한 번의 upsert로 전진시키고,
+     * 읽음 위치가 바뀐 경우에만 그 메시지까지 다른 사용자가 보낸 메시지의 읽음 표시를 갱신합니다.
+     * 읽음 표시는 markAllAsRead와 같이 sent_at 기준으로 나눈 일괄 UPDATE 문을 구간마다 별도의 트랜잭션으로 실행합니다.
+     * 
+     * @param chatRoomId 채팅방 ID
+     * @param userId 읽은 사용자 ID
+     * @param upToSeq 마지막으로 읽은 메시지 순번 (포함)
+     * @return 갱신된 읽음 위치. 이미 더 뒤까지 읽었거나 순번 이하의 메시지가 없으면 비어 있음
+     */
+    @Override
+    public Optional<ReadReceiptDto> markAsReadUpTo(String chatRoomId, String userId, long upToSeq) {
+        log.debug("Marking messages up to seq {} as read in room: {} by user: {}", upToSeq, chatRoomId, userId);
+        
+        Optional<ChatMessage> lastRead = chatMessageRepository
+                .findFirstByChatRoomIdAndSeqLessThanEqualOrderBySeqDesc(chatRoomId, upToSeq);
+        if (lastRead.isEmpty()) {
+            return Optional.empty();
+        }
+        ChatMessage message = lastRead.get();
+        
+        int advanced = chatReadCursorRepository.advanceTo(
+                UUID.randomUUID().toString(), chatRoomId, userId, message.getSentAt(), message.getId());
+        if (advanced == 0) {
+            return Optional.empty();
+        }
+        
+        // 메시지의 읽음 표시는 발신자에게 보여주는 용도로만 유지
+        LocalDateTime readAt = LocalDateTime.now();
+        markAsReadInChunks(chatRoomId, userId, message.getSentAt(), readAt);
+        afterCommit(() -> recentMessageBuffer.markReadUpTo(chatRoomId, userId, message.getSentAt(), readAt));
+        chatInboxService.onReadCursorAdvanced(chatRoomId, userId, countUnreadMessages(chatRoomId, userId));
+        
+        return Optional.of(ReadReceiptDto.builder()
+                .chatRoomId(chatRoomId)
+                .userId(userId)
+                .lastReadSeq(message.getSeq())
+                .lastReadMessageId(message.getId())
+                .readAt(readAt)
+                .build());
+    }
+
     /**
      * 채팅방의 모든 메시지를 읽음 상태로 표시합니다.
-     * 본인이 보낸 메시지는 제외하고 처리합니다.
+     * 사용자의 읽음 위치를 채팅방의 최근 메시지로 옮기는 한 번의 upsert로 처리합니다.
+     * 메시지의 읽음 표시는 sent_at 기준으로 나눈 일괄 UPDATE 문으로 갱신하며,
+     * 큰 채팅방에서도 잠금을 오래 잡지 않도록 구간마다 별도의 트랜잭션으로 실행합니다.
      * 
      * @param chatRoomId 채팅방 ID
      * @param userId 읽은 사용자 ID
+     * @return 읽음 표시된 메시지 수
      */
     @Override
-    @Transactional
-    public void markAllAsRead(String chatRoomId, String userId) {
+    public int markAllAsRead(String chatRoomId, String userId) {
         log.info("Marking all messages as read in room: {} by user: {}", chatRoomId, userId);
         
-        List<ChatMessage> unreadMessages = chatMessageRepository.findByChatRoomIdAndSentAtAfterOrderBySentAtAsc(chatRoomId, LocalDateTime.now().minusYears(1))
-                .stream()
-                .filter(message -> !message.getSenderId().equals(userId) && !message.isRead())
-                .collect(Collectors.toList());
+        chatReadCursorRepository.advanceToLatest(UUID.randomUUID().toString(), chatRoomId, userId);
+        chatInboxService.onAllMessagesRead(chatRoomId, userId);
         
-        unreadMessages.forEach(message -> {
-            message.markAsRead();
-            chatMessageRepository.save(message);
-        });
+        // 메시지의 읽음 표시는 발신자에게 보여주는 용도로만 유지
+        LocalDateTime readAt = LocalDateTime.now();
+        int updated = markAsReadInChunks(chatRoomId, userId, null, readAt);
+        
+        afterCommit(() -> recentMessageBuffer.markReadUpTo(chatRoomId, userId, readAt, readAt));
+        
+        log.debug("Marked {} messages as read in room: {} by user: {}", updated, chatRoomId, userId);
+        return updated;
+    }
+
+    /**
+     * 다른 사용자가 보낸 읽지 않은 메시지를 bulkChunkSize개씩 나누어 읽음 표시합니다.
+     * 각 UPDATE 문은 리포지토리의 트랜잭션으로 실행되므로 구간마다 커밋됩니다.
+     * 
+     * @param chatRoomId 채팅방 ID
+     * @param userId 읽은 사용자 ID
+     * @param upTo 읽음 표시할 마지막 전송 시간 (포함). null이면 모든 메시지
+     * @param readAt 읽은 시간
+     * @return 읽음 표시된 메시지 수
+     */
+    private int markAsReadInChunks(String chatRoomId, String userId, LocalDateTime upTo, LocalDateTime readAt) {
+        int updated = 0;
+        while (true) {
+            // 읽지 않은 메시지 중 bulkChunkSize번째 메시지의 전송 시간을 구간의 끝으로 사용
+            List<LocalDateTime> boundary = chatMessageRepository.findUnreadSentAts(
+                    chatRoomId, userId, PageRequest.of(bulkChunkSize - 1, 1));
+            if (boundary.isEmpty() || (upTo != null && !boundary.get(0).isBefore(upTo))) {
+                updated += upTo != null
+                        ? chatMessageRepository.markAsReadUpTo(chatRoomId, userId, upTo, readAt)
+                        : chatMessageRepository.markAllAsRead(chatRoomId, userId, readAt);
+                break;
+            }
+            
+            int chunkUpdated = chatMessageRepository.markAsReadUpTo(chatRoomId, userId, boundary.get(0), readAt);
+            if (chunkUpdated == 0) {
+                break;
+            }
+            updated += chunkUpdated;
+        }
+        return updated;
     }
 
     /**
      * 채팅방의 읽지 않은 메시지 개수를 조회합니다.
+     * 사용자의 읽음 위치 이후에 다른 사용자가 보낸 메시지 수를 (chat_room_id, sent_at) 범위로 계산합니다.
      * 
      * @param chatRoomId 채팅방 ID
      * @param userId 사용자 ID
@@ -162,31 +443,158 @@ public class ChatMessageServiceImpl implements ChatMessageService {
     @Override
     public long countUnreadMessages(String chatRoomId, String userId) {
         log.info("Counting unread messages in room: {} for user: {}", chatRoomId, userId);
-        return chatMessageRepository.countUnreadMessages(chatRoomId, userId);
+        
+        return chatReadCursorRepository.findByChatRoomIdAndUserId(chatRoomId, userId)
+                .map(cursor -> chatMessageRepository.countMessagesFromOthersAfter(chatRoomId, userId, cursor.getLastReadSentAt()))
+                .orElseGet(() -> chatMessageRepository.countMessagesFromOthers(chatRoomId, userId));
     }
 
+    /**
+     * 여러 채팅방의 읽지 않은 메시지 개수를 GROUP BY 쿼리 한 번으로 조회합니다.
+     * 읽음 위치는 같은 쿼리에서 조인하여 적용합니다.
+     * 
+     * @param chatRoomIds 채팅방 ID 목록
+     * @param userId 사용자 ID
+     * @return 채팅방 ID별 읽지 않은 메시지 개수
+     */
+    @Override
+    public Map<String, Long> countUnreadMessages(Collection<String> chatRoomIds, String userId) {
+        if (chatRoomIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        
+        Map<String, Long> unreadCounts = new HashMap<>();
+        for (Object[] row : chatMessageRepository.countUnreadMessagesByChatRoomIds(chatRoomIds, userId)) {
+            unreadCounts.put((String) row[0], (Long) row[1]);
+        }
+        return unreadCounts;
+    }
+
+    /**
+     * 채팅방의 최근 메시지를 조회합니다.
+     * 최근 메시지 버퍼에 적재된 채팅방은 버퍼에서 응답하고, 그렇지 않으면 한 건만 조회합니다.
+     * 
+     * @param chatRoomId 채팅방 ID
+     * @return 최근 메시지 정보 (메시지가 없으면 null)
+     */
     @Override
     public ChatMessageDto getLatestMessage(String chatRoomId) {
         log.info("Getting latest message for room: {}", chatRoomId);
         
+        Optional<RecentMessageBuffer.LatestPage> cached = recentMessageBuffer.readLatest(chatRoomId, 1);
+        if (cached.isPresent()) {
+            List<ChatMessageDto> latest = cached.get().getMessages();
+            return latest.isEmpty() ? null : latest.get(0);
+        }
         return chatMessageRepository.findFirstByChatRoomIdOrderBySentAtDesc(chatRoomId)
                 .map(this::enrichMessageWithSenderInfo)
                 .orElse(null);
     }
 
+    /**
+     * 여러 채팅방의 최근 메시지를 한 번의 쿼리로 조회합니다.
+     * 최근 메시지 버퍼에 적재된 채팅방은 버퍼에서 응답하고 나머지 채팅방만 조회합니다.
+     * 발신자 이름은 중복을 제거한 발신자 목록에 대해 캐시에서 한 번에 조회합니다.
+     * 
+     * @param chatRoomIds 채팅방 ID 목록
+     * @return 채팅방 ID별 최근 메시지 정보
+     */
     @Override
-    public List<ChatMessageDto> searchMessages(String chatRoomId, String keyword) {
+    public Map<String, ChatMessageDto> getLatestMessages(Collection<String> chatRoomIds) {
+        if (chatRoomIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        
+        Map<String, ChatMessageDto> latestMessages = new HashMap<>();
+        List<String> uncachedRoomIds = new ArrayList<>();
+        for (String chatRoomId : chatRoomIds) {
+            Optional<RecentMessageBuffer.LatestPage> cached = recentMessageBuffer.readLatest(chatRoomId, 1);
+            if (!cached.isPresent()) {
+                uncachedRoomIds.add(chatRoomId);
+            } else if (!cached.get().getMessages().isEmpty()) {
+                latestMessages.put(chatRoomId, cached.get().getMessages().get(0));
+            }
+        }
+        if (uncachedRoomIds.isEmpty()) {
+            return latestMessages;
+        }
+        
+        // 같은 시각의 메시지가 여러 건이면 채팅방별로 하나만 남김
+        Map<String, ChatMessage> latestByRoom = new HashMap<>();
+        for (ChatMessage message : chatMessageRepository.findLatestMessagesByChatRoomIds(uncachedRoomIds)) {
+            latestByRoom.merge(message.getChatRoomId(), message,
+                    (current, candidate) -> candidate.getId().compareTo(current.getId()) > 0 ? candidate : current);
+        }
+        
+        Map<String, String> senderNames = resolveSenderNames(latestByRoom.values());
+        latestByRoom.forEach((chatRoomId, message) -> latestMessages.put(chatRoomId, toDtoWithSenderName(message, senderNames)));
+        return latestMessages;
+    }
+
+    /**
+     * 검색 색인으로 메시지를 검색합니다.
+     * 검색어를 색인과 같은 규칙으로 토큰화하며, 검색할 토큰이 없으면(구두점만 있는 검색어 등) 빈 페이지를 반환합니다.
+     * 발신자 이름은 페이지의 메시지에 대해서만 한 번에 조회합니다.
+     * 
+     * @param chatRoomId 채팅방 ID
+     * @param keyword 검색 키워드
+     * @param pageable 페이지 정보 (페이지 번호와 크기만 사용)
+     * @return 관련도 순으로 정렬된 메시지 페이지
+     */
+    @Override
+    public Page<ChatMessageDto> searchMessages(String chatRoomId, String keyword, Pageable pageable) {
         log.info("Searching messages in room: {} with keyword: {}", chatRoomId, keyword);
         
-        List<ChatMessage> messages = chatMessageRepository.findByChatRoomIdAndContentContainingIgnoreCaseOrderBySentAtDesc(chatRoomId, keyword);
-        return messages.stream()
-                .map(this::enrichMessageWithSenderInfo)
-                .collect(Collectors.toList());
+        Pageable unsorted = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        String query = KoreanNgramTokenizer.toTsQuery(keyword);
+        if (query == null) {
+            return Page.empty(unsorted);
+        }
+        
+        Page<ChatMessage> messages = chatMessageRepository.searchByTokens(chatRoomId, query, unsorted);
+        Map<String, String> senderNames = resolveSenderNames(messages.getContent());
+        return messages.map(message -> toDtoWithSenderName(message, senderNames));
+    }
+
+    /**
+     * 사용자가 참여한 모든 채팅방에서 메시지를 검색합니다.
+     * 참여 여부 확인과 관련도 정렬은 검색 색인 쿼리 한 번으로 처리하고, 결과를 읽는 대로
+     * SEARCH_CHUNK_SIZE개씩 메시지, 채팅방, 발신자 이름을 한 번에 조회하여 전달합니다.
+     * 결과 스트림을 읽는 동안 트랜잭션을 유지합니다.
+     * 
+     * @param userId 사용자 ID
+     * @param keyword 검색 키워드
+     * @param limit 최대 결과 수
+     * @param consumer 검색 결과 묶음을 순서대로 받는 함수
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void searchUserMessages(String userId, String keyword, int limit, Consumer<List<MessageSearchHitDto>> consumer) {
+        log.info("Searching messages of user: {} with keyword: {}", userId, keyword);
+        
+        String query = KoreanNgramTokenizer.toTsQuery(keyword);
+        if (query == null) {
+            return;
+        }
+        
+        Map<String, ChatRoom> rooms = new HashMap<>();
+        List<Object[]> chunk = new ArrayList<>(SEARCH_CHUNK_SIZE);
+        try (Stream<Object[]> hits = chatMessageRepository.streamUserSearchHits(userId, query, Math.min(limit, maxSearchResults))) {
+            Iterator<Object[]> iterator = hits.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == SEARCH_CHUNK_SIZE || !iterator.hasNext()) {
+                    consumer.accept(toSearchHits(chunk, rooms));
+                    chunk.clear();
+                }
+            }
+        }
     }
 
     /**
      * 지정된 메시지를 삭제합니다.
      * 메시지가 존재하지 않는 경우 EntityNotFoundException을 발생시킵니다.
+     * 삭제된 메시지가 채팅방의 마지막 메시지였다면 인박스의 마지막 메시지를 이전 메시지로 되돌립니다.
      * 
      * @param messageId 삭제할 메시지 ID
      * @throws EntityNotFoundException 메시지를 찾을 수 없는 경우
@@ -199,32 +607,164 @@ public class ChatMessageServiceImpl implements ChatMessageService {
         ChatMessage message = chatMessageRepository.findById(messageId)
                 .orElseThrow(() -> new EntityNotFoundException("Message not found with id: " + messageId));
         
+        boolean wasLatest = chatMessageRepository.findFirstByChatRoomIdOrderBySentAtDesc(message.getChatRoomId())
+                .map(latest -> latest.getId().equals(messageId))
+                .orElse(false);
+        
         chatMessageRepository.delete(message);
+        afterCommit(() -> recentMessageBuffer.evict(message.getChatRoomId()));
+        
+        chatInboxService.onMessageDeleted(message.getChatRoomId(), message.getSenderId(), message.getSentAt());
+        if (wasLatest) {
+            chatMessageRepository.flush();
+            chatInboxService.onLatestMessageChanged(message.getChatRoomId(), getLatestMessage(message.getChatRoomId()));
+        }
     }
     
+    /**
+     * 메시지에 채팅방별 순번을 할당합니다.
+     * 채팅방마다 한 번의 UPDATE ... RETURNING으로 필요한 개수만큼 순번을 확보하고 목록 순서대로 나눠 줍니다.
+     * 여러 채팅방의 행을 잠그므로 교착 상태를 피하기 위해 채팅방 ID 순서로 처리합니다.
+     * 잠금은 커밋까지 유지되어 같은 채팅방의 저장이 직렬화되므로, 트랜잭션에서 INSERT 직전에 호출합니다.
+     * 채팅방이 없으면 순번 없이 저장합니다.
+     * 
+     * @param messages 순번을 할당할 메시지 목록
+     */
+    private void assignSeqs(List<ChatMessage> messages) {
+        Map<String, List<ChatMessage>> messagesByRoom = messages.stream()
+                .collect(Collectors.groupingBy(ChatMessage::getChatRoomId, TreeMap::new, Collectors.toList()));
+        messagesByRoom.forEach((chatRoomId, roomMessages) -> {
+            Optional<Long> lastSeq = chatRoomRepository.allocateMessageSeqs(chatRoomId, roomMessages.size());
+            if (!lastSeq.isPresent()) {
+                log.warn("Chat room {} not found, saving {} message(s) without sequence", chatRoomId, roomMessages.size());
+                return;
+            }
+            long seq = lastSeq.get() - roomMessages.size();
+            for (ChatMessage message : roomMessages) {
+                message.setSeq(++seq);
+            }
+        });
+    }
+
+    /**
+     * 트랜잭션이 커밋된 뒤 최근 메시지 버퍼를 갱신합니다.
+     * 롤백된 메시지의 순번은 다시 할당되므로 커밋 전에는 버퍼에 반영하지 않습니다.
+     * 
+     * @param update 버퍼 갱신 작업
+     */
+    private void afterCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                update.run();
+            }
+        });
+    }
+
+    /**
+     * 채팅방의 최근 메시지를 최근 메시지 버퍼에서 조회합니다.
+     * 버퍼로 응답할 수 없으면 순번 역순으로 버퍼 크기만큼 조회하여 적재한 뒤 응답합니다.
+     * 
+     * @param chatRoomId 채팅방 ID
+     * @param size 조회할 메시지 수
+     * @return 최신순 메시지 목록과 전체 메시지 수. 버퍼를 사용하지 않거나 size가 버퍼 크기보다 크면 빈 값
+     */
+    private Optional<RecentMessageBuffer.LatestPage> readLatestThroughBuffer(String chatRoomId, int size) {
+        if (!recentMessageBuffer.isEnabled() || size > recentMessageBuffer.perRoomCapacity()) {
+            return Optional.empty();
+        }
+        Optional<RecentMessageBuffer.LatestPage> cached = recentMessageBuffer.readLatest(chatRoomId, size);
+        if (cached.isPresent()) {
+            return cached;
+        }
+        Page<ChatMessage> latest = chatMessageRepository.findLatestBySeq(
+                chatRoomId, PageRequest.of(0, recentMessageBuffer.perRoomCapacity()));
+        Map<String, String> senderNames = resolveSenderNames(latest.getContent());
+        recentMessageBuffer.seed(chatRoomId, latest.getContent().stream()
+                .map(message -> toDtoWithSenderName(message, senderNames))
+                .collect(Collectors.toList()), latest.getTotalElements());
+        return recentMessageBuffer.readLatest(chatRoomId, size);
+    }
+
     /**
      * 메시지에 발신자 정보를 추가합니다.
-     * User Service를 통해 발신자의 사용자 정보를 조회하여 메시지 DTO에 포함시킵니다.
+     * 발신자 이름은 캐시에서 조회하며, 캐시에 없는 경우에만 User Service를 호출합니다.
      * 
      * @param message 발신자 정보를 추가할 메시지
      * @return 발신자 정보가 포함된 메시지 DTO
      */
     private ChatMessageDto enrichMessageWithSenderInfo(ChatMessage message) {
-        String senderName = "Unknown User";
-        
-        try {
-            ResponseEntity<Map<String, Object>> userResponse = userServiceClient.getUserById(message.getSenderId());
-            if (userResponse.getStatusCode().is2xxSuccessful() && userResponse.getBody() != null) {
-                Map<String, Object> userData = userResponse.getBody();
-                String username = (String) userData.get("username");
-                if (username != null) {
-                    senderName = username;
-                }
-            }
-        } catch (Exception e) {
-            log.error("Error fetching sender info: {}", e.getMessage());
+        String senderName = senderNameCache.getName(message.getSenderId());
+        return ChatMessageDto.fromEntityWithSenderName(message, senderName != null ? senderName : UNKNOWN_SENDER);
+    }
+
+    /**
+     * 메시지 목록의 발신자 이름을 한 번에 조회합니다.
+     * 중복을 제거한 발신자 중 캐시에 없는 발신자만 User Service에서 조회합니다.
+     * 
+     * @param messages 메시지 목록
+     * @return 발신자 ID별 사용자 이름
+     */
+    private Map<String, String> resolveSenderNames(Collection<ChatMessage> messages) {
+        return senderNameCache.getNames(messages.stream()
+                .map(ChatMessage::getSenderId)
+                .collect(Collectors.toSet()));
+    }
+
+    /**
+     * 검색 색인 조회 결과 묶음을 채팅방 정보가 포함된 검색 결과로 만듭니다.
+     * 조회 후 삭제된 메시지는 건너뛰며, 이미 조회한 채팅방은 다시 조회하지 않습니다.
+     * 
+     * @param rows [메시지 ID, 관련도 점수] 배열 목록 (관련도 순)
+     * @param rooms 채팅방 ID별 조회한 채팅방
+     * @return 관련도 순으로 정렬된 검색 결과 목록
+     */
+    private List<MessageSearchHitDto> toSearchHits(List<Object[]> rows, Map<String, ChatRoom> rooms) {
+        Map<String, ChatMessage> messagesById = chatMessageRepository.findAllById(rows.stream()
+                        .map(row -> (String) row[0])
+                        .collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(ChatMessage::getId, message -> message));
+        
+        List<String> missingRoomIds = messagesById.values().stream()
+                .map(ChatMessage::getChatRoomId)
+                .filter(chatRoomId -> !rooms.containsKey(chatRoomId))
+                .distinct()
+                .collect(Collectors.toList());
+        if (!missingRoomIds.isEmpty()) {
+            chatRoomRepository.findAllById(missingRoomIds).forEach(room -> rooms.put(room.getId(), room));
         }
         
-        return ChatMessageDto.fromEntityWithSenderName(message, senderName);
+        Map<String, String> senderNames = resolveSenderNames(messagesById.values());
+        List<MessageSearchHitDto> searchHits = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            ChatMessage message = messagesById.get((String) row[0]);
+            if (message == null) {
+                continue;
+            }
+            ChatRoom room = rooms.get(message.getChatRoomId());
+            searchHits.add(MessageSearchHitDto.builder()
+                    .message(toDtoWithSenderName(message, senderNames))
+                    .chatRoomName(room != null ? room.getName() : null)
+                    .chatRoomType(room != null ? room.getType().name() : null)
+                    .rank(((Number) row[1]).doubleValue())
+                    .build());
+        }
+        return searchHits;
+    }
+
+    /**
+     * 미리 조회한 발신자 이름으로 메시지 DTO를 만듭니다.
+     * 
+     * @param message 메시지
+     * @param senderNames 발신자 ID별 사용자 이름
+     * @return 발신자 정보가 포함된 메시지 DTO
+     */
+    private ChatMessageDto toDtoWithSenderName(ChatMessage message, Map<String, String> senderNames) {
+        return ChatMessageDto.fromEntityWithSenderName(message, senderNames.getOrDefault(message.getSenderId(), UNKNOWN_SENDER));
     }
-} 
\ No newline at end of file
+}
@@ -2,25 +2,27 @@ package com.makestar.chat.service.impl;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import com.makestar.chat.client.UserServiceClient;
+import com.makestar.chat.cache.SenderNameCache;
 import com.makestar.chat.dto.ChatMessageDto;
 import com.makestar.chat.dto.ChatRoomDto;
 import com.makestar.chat.dto.CreateChatRoomRequest;
 import com.makestar.chat.model.ChatRoom;
 import com.makestar.chat.repository.ChatRoomRepository;
+import com.makestar.chat.service.ChatInboxService;
 import com.makestar.chat.service.ChatMessageService;
 import com.makestar.chat.service.ChatRoomService;
 
 import javax.persistence.EntityNotFoundException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -40,8 +42,11 @@ public class ChatRoomServiceImpl implements ChatRoomService {
     /** 채팅 메시지 관련 기능을 제공하는 서비스 */
     private final ChatMessageService chatMessageService;
     
-    /** 사용자 정보를 조회하기 위한 Feign 클라이언트 */
-    private final UserServiceClient userServiceClient;
+    /** 사용자별 채팅방 목록(인박스)을 관리하는 서비스 */
+    private final ChatInboxService chatInboxService;
+    
+    /** 사용자 이름 캐시 */
+    private final SenderNameCache senderNameCache;
 
     /**
      * 채팅방 ID로 채팅방 정보를 조회합니다.
@@ -76,17 +81,12 @@ public class ChatRoomServiceImpl implements ChatRoomService {
         
         List<ChatRoom> chatRooms = chatRoomRepository.findAll();
         
-        return chatRooms.stream()
-                .map(chatRoom -> {
-                    ChatMessageDto lastMessage = chatMessageService.getLatestMessage(chatRoom.getId());
-                    return ChatRoomDto.fromEntityWithLastMessage(chatRoom, lastMessage, 0);
-                })
-                .collect(Collectors.toList());
+        return toChatRoomDtos(chatRooms, null);
     }
 
     /**
-     * 특정 사용자가 참여중인 모든 채팅방을 조회합니다.
-     * 각 채팅방의 마지막 메시지와 읽지 않은 메시지 수를 함께 조회합니다.
+     * 특정 사용자가 참여중인 모든 채팅방을 마지막 메시지 시간 역순으로 조회합니다.
+     * 사용자의 인박스에 미리 저장된 채팅방 정보, 마지막 메시지와 읽지 않은 메시지 수를 읽습니다.
      *
      * @param userId 조회할 사용자 ID
      * @return 사용자가 참여중인 채팅방 정보 목록
@@ -95,15 +95,7 @@ public class ChatRoomServiceImpl implements ChatRoomService {
     public List<ChatRoomDto> getChatRoomsByUserId(String userId) {
         log.info("Getting chat rooms for user: {}", userId);
         
-        List<ChatRoom> chatRooms = chatRoomRepository.findChatRoomsByParticipantId(userId);
-        
-        return chatRooms.stream()
-                .map(chatRoom -> {
-                    ChatMessageDto lastMessage = chatMessageService.getLatestMessage(chatRoom.getId());
-                    long unreadCount = chatMessageService.countUnreadMessages(chatRoom.getId(), userId);
-                    return ChatRoomDto.fromEntityWithLastMessage(chatRoom, lastMessage, unreadCount);
-                })
-                .collect(Collectors.toList());
+        return chatInboxService.getInbox(userId);
     }
 
     /**
@@ -119,12 +111,7 @@ public class ChatRoomServiceImpl implements ChatRoomService {
         
         List<ChatRoom> chatRooms = chatRoomRepository.findByNameContainingIgnoreCase(name);
         
-        return chatRooms.stream()
-                .map(chatRoom -> {
-                    ChatMessageDto lastMessage = chatMessageService.getLatestMessage(chatRoom.getId());
-                    return ChatRoomDto.fromEntityWithLastMessage(chatRoom, lastMessage, 0);
-                })
-                .collect(Collectors.toList());
+        return toChatRoomDtos(chatRooms, null);
     }
 
     /**
@@ -144,6 +131,7 @@ public class ChatRoomServiceImpl implements ChatRoomService {
         
         chatRoom.addParticipant(userId);
         chatRoomRepository.save(chatRoom);
+        chatInboxService.onParticipantsAdded(chatRoom, Collections.singleton(userId));
     }
 
     /**
@@ -164,10 +152,12 @@ public class ChatRoomServiceImpl implements ChatRoomService {
         
         chatRoom.removeParticipant(userId);
         chatRoomRepository.save(chatRoom);
+        chatInboxService.onParticipantRemoved(chatRoom, userId);
         
         // 참가자가 없으면 채팅방 삭제
         if (chatRoom.getParticipantIds().isEmpty()) {
             chatRoomRepository.delete(chatRoom);
+            chatInboxService.onChatRoomDeleted(chatRoomId);
         }
     }
 
@@ -199,17 +189,9 @@ public class ChatRoomServiceImpl implements ChatRoomService {
         // 사용자 정보 조회 (사용자 이름 등을 채팅방 이름으로 사용하기 위해)
         String chatRoomName = "Direct Chat";
         
-        try {
-            ResponseEntity<Map<String, Object>> userResponse = userServiceClient.getUserById(userIdB);
-            if (userResponse.getStatusCode().is2xxSuccessful() && userResponse.getBody() != null) {
-                Map<String, Object> userData = userResponse.getBody();
-                String username = (String) userData.get("username");
-                if (username != null) {
-                    chatRoomName = username;
-                }
-            }
-        } catch (Exception e) {
-            log.error("Error fetching user info: {}", e.getMessage());
+        String username = senderNameCache.getName(userIdB);
+        if (username != null) {
+            chatRoomName = username;
         }
         
         // 새 1:1 채팅방 생성
@@ -223,6 +205,7 @@ public class ChatRoomServiceImpl implements ChatRoomService {
         chatRoom.addParticipant(userIdB);
         
         ChatRoom savedChatRoom = chatRoomRepository.save(chatRoom);
+        chatInboxService.onParticipantsAdded(savedChatRoom, savedChatRoom.getParticipantIds());
         return ChatRoomDto.fromEntity(savedChatRoom);
     }
 
@@ -245,7 +228,9 @@ public class ChatRoomServiceImpl implements ChatRoomService {
         chatRoom.setName(chatRoomDto.getName());
         chatRoom.setDescription(chatRoomDto.getDescription());
         
-        ChatRoom updatedChatRoom = chatRoomRepository.save(chatRoom);
+        // 수정 시간(@PreUpdate)이 설정되도록 반영한 뒤 인박스에 복사
+        ChatRoom updatedChatRoom = chatRoomRepository.saveAndFlush(chatRoom);
+        chatInboxService.onChatRoomUpdated(updatedChatRoom);
         
         ChatMessageDto lastMessage = chatMessageService.getLatestMessage(updatedChatRoom.getId());
         return ChatRoomDto.fromEntityWithLastMessage(updatedChatRoom, lastMessage, 0);
@@ -267,9 +252,11 @@ public class ChatRoomServiceImpl implements ChatRoomService {
                 .orElseThrow(() -> new EntityNotFoundException("Chat room not found with id: " + chatRoomId));
         
         chatRoomRepository.delete(chatRoom);
+        chatInboxService.onChatRoomDeleted(chatRoomId);
     }
 
     @Override
+    @Transactional
     public ChatRoomDto createChatRoom(CreateChatRoomRequest request) {
         // 채팅방 타입 결정
         ChatRoom.ChatRoomType roomType = request.getType() != null && request.getType().equals("DIRECT") 
@@ -291,25 +278,17 @@ public class ChatRoomServiceImpl implements ChatRoomService {
 
         // 채팅방 저장
         ChatRoom savedChatRoom = chatRoomRepository.save(chatRoom);
+        chatInboxService.onParticipantsAdded(savedChatRoom, savedChatRoom.getParticipantIds());
 
         // 참여자 이름 목록 조회 (사용자 서비스 호출)
-        List<String> participantNames = new ArrayList<>();
-        try {
-            ResponseEntity<List<String>> response = userServiceClient.getUserNames(
-                new ArrayList<>(savedChatRoom.getParticipantIds())
-            );
-            if (response.getBody() != null) {
-                participantNames = response.getBody();
-            }
-        } catch (Exception e) {
-            log.error("Failed to fetch participant names", e);
-        }
+        List<String> participantNames = resolveParticipantNames(savedChatRoom);
 
         // DTO 변환 및 반환
         return ChatRoomDto.fromEntityWithParticipants(savedChatRoom, participantNames);
     }
 
     @Override
+    @Transactional
     public ChatRoomDto addParticipants(String roomId, Set<String> participantIds) {
         // 채팅방 조회
         ChatRoom chatRoom = chatRoomRepository.findById(roomId)
@@ -320,25 +299,17 @@ public class ChatRoomServiceImpl implements ChatRoomService {
 
         // 채팅방 업데이트
         ChatRoom updatedChatRoom = chatRoomRepository.save(chatRoom);
+        chatInboxService.onParticipantsAdded(updatedChatRoom, participantIds);
 
         // 참여자 이름 목록 조회
-        List<String> participantNames = new ArrayList<>();
-        try {
-            ResponseEntity<List<String>> response = userServiceClient.getUserNames(
-                new ArrayList<>(updatedChatRoom.getParticipantIds())
-            );
-            if (response.getBody() != null) {
-                participantNames = response.getBody();
-            }
-        } catch (Exception e) {
-            log.error("Failed to fetch participant names", e);
-        }
+        List<String> participantNames = resolveParticipantNames(updatedChatRoom);
 
         // DTO 변환 및 반환
         return ChatRoomDto.fromEntityWithParticipants(updatedChatRoom, participantNames);
     }
 
     @Override
+    @Transactional
     public ChatRoomDto removeParticipant(String roomId, String userId) {
         // 채팅방 조회
         ChatRoom chatRoom = chatRoomRepository.findById(roomId)
@@ -349,10 +320,12 @@ public class ChatRoomServiceImpl implements ChatRoomService {
             throw new IllegalArgumentException("User is not a participant of this chat room");
         }
         chatRoom.removeParticipant(userId);
+        chatInboxService.onParticipantRemoved(chatRoom, userId);
 
         // 채팅방이 비어있으면 삭제
         if (chatRoom.getParticipantIds().isEmpty()) {
             chatRoomRepository.delete(chatRoom);
+            chatInboxService.onChatRoomDeleted(roomId);
             return null;
         }
 
@@ -360,17 +333,7 @@ public class ChatRoomServiceImpl implements ChatRoomService {
         ChatRoom updatedChatRoom = chatRoomRepository.save(chatRoom);
 
         // 참여자 이름 목록 조회
-        List<String> participantNames = new ArrayList<>();
-        try {
-            ResponseEntity<List<String>> response = userServiceClient.getUserNames(
-                new ArrayList<>(updatedChatRoom.getParticipantIds())
-            );
-            if (response.getBody() != null) {
-                participantNames = response.getBody();
-            }
-        } catch (Exception e) {
-            log.error("Failed to fetch participant names", e);
-        }
+        List<String> participantNames = resolveParticipantNames(updatedChatRoom);
 
         // DTO 변환 및 반환
         return ChatRoomDto.fromEntityWithParticipants(updatedChatRoom, participantNames);
@@ -382,13 +345,7 @@ public class ChatRoomServiceImpl implements ChatRoomService {
         
         List<ChatRoom> chatRooms = chatRoomRepository.findByCreatorId(creatorId);
         
-        return chatRooms.stream()
-                .map(chatRoom -> {
-                    ChatMessageDto lastMessage = chatMessageService.getLatestMessage(chatRoom.getId());
-                    long unreadCount = chatMessageService.countUnreadMessages(chatRoom.getId(), creatorId);
-                    return ChatRoomDto.fromEntityWithLastMessage(chatRoom, lastMessage, unreadCount);
-                })
-                .collect(Collectors.toList());
+        return toChatRoomDtos(chatRooms, creatorId);
     }
 
     /**
@@ -408,12 +365,53 @@ public class ChatRoomServiceImpl implements ChatRoomService {
             participantIds.size()
         );
         
+        // 읽지 않은 메시지 수는 0으로 설정 (필요한 경우 나중에 구현)
+        return toChatRoomDtos(chatRooms, null);
+    }
+
+    /**
+     * 채팅방 참여자들의 이름 목록을 조회합니다.
+     * 캐시에 없는 참여자만 User Service의 일괄 조회 API로 한 번에 조회하며,
+     * 이름을 조회하지 못한 참여자는 목록에서 제외합니다.
+     *
+     * @param chatRoom 채팅방
+     * @return 참여자 이름 목록
+     */
+    private List<String> resolveParticipantNames(ChatRoom chatRoom) {
+        Map<String, String> names = senderNameCache.getNames(chatRoom.getParticipantIds());
+        return chatRoom.getParticipantIds().stream()
+                .map(names::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 채팅방 목록을 마지막 메시지와 읽지 않은 메시지 수가 포함된 DTO 목록으로 변환합니다.
+     * 채팅방마다 개별 조회하지 않고, 최근 메시지와 읽지 않은 메시지 수를 각각 한 번에 조회합니다.
+     *
+     * @param chatRooms 변환할 채팅방 목록
+     * @param userId 읽지 않은 메시지 수를 계산할 사용자 ID. null이면 0으로 설정
+     * @return 채팅방 정보 목록
+     */
+    private List<ChatRoomDto> toChatRoomDtos(List<ChatRoom> chatRooms, String userId) {
+        if (chatRooms.isEmpty()) {
+            return new ArrayList<>();
+        }
+        
+        List<String> chatRoomIds = chatRooms.stream()
+                .map(ChatRoom::getId)
+                .collect(Collectors.toList());
+        
+        Map<String, ChatMessageDto> lastMessages = chatMessageService.getLatestMessages(chatRoomIds);
+        Map<String, Long> unreadCounts = userId != null
+                ? chatMessageService.countUnreadMessages(chatRoomIds, userId)
+                : Collections.emptyMap();
+        
         return chatRooms.stream()
-                .map(chatRoom -> {
-                    ChatMessageDto lastMessage = chatMessageService.getLatestMessage(chatRoom.getId());
-                    // 읽지 않은 메시지 수는 0으로 설정 (필요한 경우 나중에 구현)
-                    return ChatRoomDto.fromEntityWithLastMessage(chatRoom, lastMessage, 0);
-                })
+                .map(chatRoom -> ChatRoomDto.fromEntityWithLastMessage(
+                        chatRoom,
+                        lastMessages.get(chatRoom.getId()),
+                        unreadCounts.getOrDefault(chatRoom.getId(), 0L)))
                 .collect(Collectors.toList());
     }
 } 
\ No newline at end of file
@@ -0,0 +1,30 @@
+package com.makestar.chat.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import com.makestar.chat.dto.ChatMessageDto;
+import com.makestar.chat.service.ChatMessageService;
+import com.makestar.chat.service.MessageIngestService;
+
+/**
+ * 메시지를 받은 스레드에서 바로 저장하는 MessageIngestService 구현 클래스 (기본값)
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "chat.ingest.mode", havingValue = "sync", matchIfMissing = true)
+public class SyncMessageIngestService implements MessageIngestService {
+
+    private final ChatMessageService chatMessageService;
+
+    @Override
+    public ChatMessageDto ingest(ChatMessageDto messageDto) {
+        return chatMessageService.saveMessage(messageDto);
+    }
+
+    @Override
+    public boolean assignsSeq() {
+        return true;
+    }
+}
@@ -0,0 +1,429 @@
+package com.makestar.chat.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.util.unit.DataSize;
+
+import com.makestar.chat.cache.SenderNameCache;
+import com.makestar.chat.dto.ChatMessageDto;
+import com.makestar.chat.journal.MessageJournal;
+import com.makestar.chat.model.ChatMessage;
+import com.makestar.chat.repository.ChatMessageRepository;
+import com.makestar.chat.service.ChatMessageService;
+import com.makestar.chat.service.MessageIngestService;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 메시지 저장을 일괄 처리로 미루는 MessageIngestService 구현 클래스 (chat.ingest.mode=write-behind)
+ * 메시지에 ID와 전송 시간을 할당하고 로컬 저널({@link MessageJournal})에 기록한 뒤 바로 반환하므로,
+ * 브로드캐스트가 데이터베이스 지연을 기다리지 않습니다.
+ * 별도의 쓰기 스레드가 큐에 쌓인 메시지를 일정 건수 또는 일정 시간 단위로 모아 한 번에 저장합니다.
+ * 큐가 가득 차면 받은 스레드에서 직접 저장하여 속도를 늦추고(backpressure),
+ * 저장되지 못하고 종료된 메시지는 재시작 시 저널에서 복구합니다.
+ * 순번(seq)은 저장할 때 할당되므로 브로드캐스트하는 메시지에는 순번이 없고,
+ * 큐가 가득 차 직접 저장한 메시지가 큐에서 기다리는 메시지보다 앞선 순번을 받을 수 있습니다.
+ * 따라서 이 모드에서는 순번 기반의 읽음 위치 갱신(chat.readUpTo)과 재연결(chat.resume)을 지원하지 않습니다.
+ * 데이터베이스 연결 실패처럼 일시적인 오류만 재시도하며, 제약 조건 위반처럼 다시 시도해도 실패하는 메시지는
+ * 한 건씩 저장하여 찾아낸 뒤 오류 로그에 남기고 버립니다.
+ */
+@Service
+@ConditionalOnProperty(name = "chat.ingest.mode", havingValue = "write-behind")
+@Slf4j
+public class WriteBehindMessageIngestService implements MessageIngestService {
+
+    /** 발신자 이름을 조회하지 못했을 때 사용하는 이름 */
+    private static final String UNKNOWN_SENDER = "Unknown User";
+
+    /** 저장 실패 시 첫 재시도 대기 시간 (밀리초) */
+    private static final long INITIAL_RETRY_BACKOFF_MILLIS = 100;
+
+    /** 저장 실패 시 재시도 대기 시간의 상한 (밀리초) */
+    private static final long MAX_RETRY_BACKOFF_MILLIS = 5000;
+
+    /** 종료 시 남은 메시지를 저장하기 위해 쓰기 스레드를 기다리는 시간 (밀리초) */
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 10000;
+
+    private final ChatMessageService chatMessageService;
+    private final ChatMessageRepository chatMessageRepository;
+    private final SenderNameCache senderNameCache;
+    private final MeterRegistry meterRegistry;
+
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final long offerTimeoutMillis;
+    private final String journalDir;
+    private final DataSize journalSegmentSize;
+
+    private final BlockingQueue<PendingMessage> queue;
+    private final Counter discardedMessages;
+    private MessageJournal journal;
+    private Thread writerThread;
+    private volatile boolean running;
+
+    public WriteBehindMessageIngestService(ChatMessageService chatMessageService,
+                                           ChatMessageRepository chatMessageRepository,
+                                           SenderNameCache senderNameCache,
+                                           MeterRegistry meterRegistry,
+                                           @Value("${chat.ingest.write-behind.batch-size:200}") int batchSize,
+                                           @Value("${chat.ingest.write-behind.flush-interval:50ms}") Duration flushInterval,
+                                           @Value("${chat.ingest.write-behind.queue-capacity:10000}") int queueCapacity,
+                                           @Value("${chat.ingest.write-behind.offer-timeout:100ms}") Duration offerTimeout,
+                                           @Value("${chat.ingest.journal.dir:./data/chat-journal}") String journalDir,
+                                           @Value("${chat.ingest.journal.segment-size:64MB}") DataSize journalSegmentSize) {
+        this.chatMessageService = chatMessageService;
+        this.chatMessageRepository = chatMessageRepository;
+        this.senderNameCache = senderNameCache;
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushInterval.toMillis();
+        this.offerTimeoutMillis = offerTimeout.toMillis();
+        this.journalDir = journalDir;
+        this.journalSegmentSize = journalSegmentSize;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.discardedMessages = Counter.builder("chat.ingest.messages.discarded")
+                .description("Chat messages dropped because saving them failed permanently")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 저널에 남은 메시지를 복구하고 쓰기 스레드를 시작합니다.
+     */
+    @PostConstruct
+    public void start() throws IOException {
+        journal = new MessageJournal(Paths.get(journalDir), Math.toIntExact(journalSegmentSize.toBytes()));
+        running = true;
+        replayJournal();
+
+        Gauge.builder("chat.ingest.queue.size", queue, BlockingQueue::size)
+                .description("Chat messages waiting for the write-behind writer")
+                .register(meterRegistry);
+        Gauge.builder("chat.ingest.journal.segments", journal, MessageJournal::segmentCount)
+                .description("Journal segment files holding messages not yet released")
+                .register(meterRegistry);
+
+        writerThread = new Thread(this::runWriter, "chat-ingest-writer");
+        writerThread.start();
+        log.info("Write-behind message ingest started (batch size: {}, flush interval: {} ms, journal: {})",
+                batchSize, flushIntervalMillis, journalDir);
+    }
+
+    /**
+     * 쓰기 스레드를 멈추고 큐에 남은 메시지를 저장합니다.
+     */
+    @PreDestroy
+    public void stop() throws IOException {
+        running = false;
+        if (writerThread != null) {
+            try {
+                writerThread.join(SHUTDOWN_TIMEOUT_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (writerThread.isAlive()) {
+                log.warn("Write-behind writer did not finish in time; {} messages left for replay", queue.size());
+            }
+        }
+        journal.close();
+    }
+
+    @Override
+    public ChatMessageDto ingest(ChatMessageDto messageDto) {
+        String senderName = senderNameCache.getName(messageDto.getSenderId());
+        ChatMessageDto message = ChatMessageDto.builder()
+                .id(UUID.randomUUID().toString())
+                .chatRoomId(messageDto.getChatRoomId())
+                .senderId(messageDto.getSenderId())
+                .senderName(senderName != null ? senderName : UNKNOWN_SENDER)
+                .content(messageDto.getContent())
+                .type(ChatMessage.MessageType.valueOf(messageDto.getType()).name())
+                // 데이터베이스(timestamp) 정밀도에 맞춰 브로드캐스트 값과 저장 값을 일치시킴
+                .sentAt(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS))
+                .build();
+
+        PendingMessage pending;
+        try {
+            pending = new PendingMessage(message, journal.append(message));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append message to journal", e);
+        }
+
+        boolean queued;
+        try {
+            queued = queue.offer(pending, offerTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            queued = false;
+        }
+        if (!queued) {
+            log.warn("Ingest queue is full; saving message {} synchronously", message.getId());
+            try {
+                chatMessageService.saveMessagesBatch(Collections.singletonList(message));
+            } catch (RuntimeException e) {
+                // 일시적인 오류라면 저널에 남겨 재시작 시 다시 저장
+                if (!isTransient(e)) {
+                    discard(message, e);
+                    journal.release(pending.getSegmentId(), 1);
+                }
+                throw e;
+            }
+            journal.release(pending.getSegmentId(), 1);
+        }
+        return message;
+    }
+
+    /**
+     * 순번은 저장할 때 할당되므로 브로드캐스트하는 메시지에는 순번이 없습니다.
+     */
+    @Override
+    public boolean assignsSeq() {
+        return false;
+    }
+
+    /**
+     * 큐에서 메시지를 모아 저장하는 쓰기 스레드 본문
+     * 첫 메시지를 받은 뒤 배치 크기가 차거나 flush 간격이 지나면 저장합니다.
+     * 종료 요청 후에도 큐가 빌 때까지 계속 저장합니다.
+     */
+    private void runWriter() {
+        List<PendingMessage> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingMessage first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    PendingMessage next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.warn("Write-behind writer interrupted; {} messages left for replay", batch.size() + queue.size());
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * 메시지 묶음을 저장하고, 저장했거나 버린 메시지를 저널에서 해제합니다.
+     * 종료 중에 저장하지 못한 메시지는 저널에 남겨 재시작 시 복구합니다.
+     *
+     * @param batch 저장할 메시지 목록
+     */
+    private void flush(List<PendingMessage> batch) throws InterruptedException {
+        List<ChatMessageDto> messages = batch.stream()
+                .map(PendingMessage::getMessage)
+                .collect(Collectors.toList());
+        if (save(messages)) {
+            releaseJournal(batch);
+        }
+    }
+
+    /**
+     * 메시지 묶음을 한 번에 저장합니다.
+     * 일시적인 오류는 대기 시간을 늘려가며 재시도하며, 재시도 전에 이미 저장된 메시지는 제외합니다.
+     * 그 밖의 오류는 같은 묶음을 다시 저장해도 실패하므로 한 건씩 저장하여 실패하는 메시지만 버립니다.
+     *
+     * @param messages 저장할 메시지 목록
+     * @return 모든 메시지를 저장했거나 버렸으면 true, 종료 중이라 저장하지 못했으면 false
+     */
+    private boolean save(List<ChatMessageDto> messages) throws InterruptedException {
+        List<ChatMessageDto> pending = messages;
+        long backoffMillis = INITIAL_RETRY_BACKOFF_MILLIS;
+        while (true) {
+            try {
+                chatMessageService.saveMessagesBatch(pending);
+                return true;
+            } catch (RuntimeException e) {
+                if (!isTransient(e)) {
+                    log.warn("Failed to save {} messages ({}); saving them one by one", pending.size(), e.getMessage());
+                    return saveOneByOne(pending);
+                }
+                if (!running) {
+                    log.error("Failed to save {} messages during shutdown; left for replay", pending.size(), e);
+                    return false;
+                }
+                log.error("Failed to save {} messages, retrying in {} ms", pending.size(), backoffMillis, e);
+                Thread.sleep(backoffMillis);
+                backoffMillis = Math.min(backoffMillis * 2, MAX_RETRY_BACKOFF_MILLIS);
+                pending = filterUnsavedForRetry(pending);
+            }
+        }
+    }
+
+    /**
+     * 메시지를 한 건씩 저장하여 저장할 수 없는 메시지를 찾아 버립니다.
+     * 일시적인 오류는 해당 메시지만 다시 시도합니다.
+     *
+     * @param messages 저장할 메시지 목록
+     * @return 모든 메시지를 저장했거나 버렸으면 true, 종료 중이라 저장하지 못했으면 false
+     */
+    private boolean saveOneByOne(List<ChatMessageDto> messages) throws InterruptedException {
+        for (ChatMessageDto message : filterUnsavedForRetry(messages)) {
+            long backoffMillis = INITIAL_RETRY_BACKOFF_MILLIS;
+            List<ChatMessageDto> single = Collections.singletonList(message);
+            while (!single.isEmpty()) {
+                try {
+                    chatMessageService.saveMessagesBatch(single);
+                    break;
+                } catch (RuntimeException e) {
+                    if (!isTransient(e)) {
+                        discard(message, e);
+                        break;
+                    }
+                    if (!running) {
+                        log.error("Failed to save message {} during shutdown; left for replay", message.getId(), e);
+                        return false;
+                    }
+                    log.error("Failed to save message {}, retrying in {} ms", message.getId(), backoffMillis, e);
+                    Thread.sleep(backoffMillis);
+                    backoffMillis = Math.min(backoffMillis * 2, MAX_RETRY_BACKOFF_MILLIS);
+                    single = filterUnsavedForRetry(single);
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 저장할 수 없는 메시지를 버립니다.
+     * 복구할 수 있도록 메시지 전체를 오류 로그에 남깁니다.
+     */
+    private void discard(ChatMessageDto message, RuntimeException cause) {
+        discardedMessages.increment();
+        log.error("Discarding message that cannot be saved: {}", message, cause);
+    }
+
+    /**
+     * 다시 시도하면 성공할 수 있는 오류인지 확인합니다. (연결 실패, 타임아웃, 교착 상태 등)
+     */
+    private static boolean isTransient(RuntimeException e) {
+        return e instanceof TransientDataAccessException
+                || e instanceof RecoverableDataAccessException
+                || e instanceof DataAccessResourceFailureException
+                || e instanceof CannotCreateTransactionException;
+    }
+
+    /**
+     * 저널에 남아 있는 메시지 중 데이터베이스에 없는 메시지를 저장하고 복구한 세그먼트를 삭제합니다.
+     * 쓰기 스레드와 같은 방식으로 저장하므로 저장할 수 없는 메시지는 버리고 시작을 계속합니다.
+     */
+    private void replayJournal() throws IOException {
+        List<ChatMessageDto> logged = journal.readAll();
+        if (!logged.isEmpty()) {
+            List<ChatMessageDto> unsaved = filterUnsaved(logged);
+            try {
+                for (int from = 0; from < unsaved.size(); from += batchSize) {
+                    if (!save(unsaved.subList(from, Math.min(from + batchSize, unsaved.size())))) {
+                        return;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.warn("Journal replay interrupted; recovered segments kept for the next start");
+                return;
+            }
+            log.info("Replayed message journal: {} journaled, {} restored", logged.size(), unsaved.size());
+        }
+        journal.discardRecovered();
+    }
+
+    /**
+     * 재시도 전에 이미 저장된 메시지를 제외합니다. 조회에 실패하면 목록을 그대로 반환합니다.
+     */
+    private List<ChatMessageDto> filterUnsavedForRetry(List<ChatMessageDto> messages) {
+        try {
+            return filterUnsaved(messages);
+        } catch (RuntimeException e) {
+            log.warn("Failed to check saved messages before retry: {}", e.getMessage());
+            return messages;
+        }
+    }
+
+    /**
+     * 아직 데이터베이스에 저장되지 않은 메시지만 골라냅니다.
+     * 조회 쿼리의 IN 목록이 커지지 않도록 배치 크기 단위로 나누어 조회합니다.
+     *
+     * @param messages 확인할 메시지 목록
+     * @return 저장되지 않은 메시지 목록
+     */
+    private List<ChatMessageDto> filterUnsaved(List<ChatMessageDto> messages) {
+        List<ChatMessageDto> unsaved = new ArrayList<>();
+        for (int from = 0; from < messages.size(); from += batchSize) {
+            List<ChatMessageDto> chunk = messages.subList(from, Math.min(from + batchSize, messages.size()));
+            Set<String> savedIds = chatMessageRepository.findAllById(chunk.stream()
+                            .map(ChatMessageDto::getId)
+                            .collect(Collectors.toList()))
+                    .stream()
+                    .map(ChatMessage::getId)
+                    .collect(Collectors.toSet());
+            chunk.stream()
+                    .filter(message -> !savedIds.contains(message.getId()))
+                    .forEach(unsaved::add);
+        }
+        return unsaved;
+    }
+
+    /**
+     * 저장된 메시지를 세그먼트별로 묶어 저널에 알립니다.
+     *
+     * @param batch 저장된 메시지 목록
+     */
+    private void releaseJournal(List<PendingMessage> batch) {
+        Map<Long, Long> countsBySegment = batch.stream()
+                .collect(Collectors.groupingBy(PendingMessage::getSegmentId, Collectors.counting()));
+        countsBySegment.forEach((segmentId, count) -> journal.release(segmentId, count.intValue()));
+    }
+
+    /**
+     * 저장을 기다리는 메시지와 메시지가 기록된 저널 세그먼트
+     */
+    @Getter
+    @RequiredArgsConstructor
+    private static final class PendingMessage {
+        private final ChatMessageDto message;
+        private final long segmentId;
+    }
+}
@@ -0,0 +1,166 @@
+package com.makestar.chat.typing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.makestar.chat.broadcast.RoomBroadcaster;
+import com.makestar.chat.broadcast.RoomDestinations;
+import com.makestar.chat.dto.TypingIndicatorDto;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 입력 중 이벤트를 채팅방 단위로 모아 전달하는 컴포넌트
+ * 키 입력마다 오는 이벤트는 (채팅방, 사용자)별 만료 시간만 연장하고,
+ * 입력 중인 사용자 목록이 바뀐 채팅방에 대해서만 publish-interval마다 한 번 전체 목록을 브로드캐스트합니다.
+ * ttl 동안 이벤트가 없는 사용자는 목록에서 제거되며, 그 변경도 다음 주기에 전달됩니다.
+ */
+@Component
+@Slf4j
+public class TypingIndicatorAggregator {
+
+    private final RoomBroadcaster roomBroadcaster;
+    private final long ttlMillis;
+    private final long publishIntervalMillis;
+    private final Counter receivedEvents;
+    private final Counter publishedFrames;
+
+    /** 채팅방 ID별 입력 상태 */
+    private final Map<String, RoomTyping> rooms = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService scheduler;
+
+    public TypingIndicatorAggregator(RoomBroadcaster roomBroadcaster,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${chat.typing.ttl:3s}") Duration ttl,
+                                     @Value("${chat.typing.publish-interval:500ms}") Duration publishInterval) {
+        this.roomBroadcaster = roomBroadcaster;
+        this.ttlMillis = ttl.toMillis();
+        this.publishIntervalMillis = publishInterval.toMillis();
+        this.receivedEvents = Counter.builder("chat.typing.events.received")
+                .description("Typing events received from clients")
+                .register(meterRegistry);
+        this.publishedFrames = Counter.builder("chat.typing.frames.published")
+                .description("Aggregated typing frames broadcast to rooms")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "chat-typing-publisher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(this::publishChanges,
+                publishIntervalMillis, publishIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * 사용자가 입력 중임을 기록합니다.
+     *
+     * @param roomId 채팅방 ID
+     * @param userId 입력 중인 사용자 ID
+     */
+    public void onTyping(String roomId, String userId) {
+        receivedEvents.increment();
+        long expiresAt = System.currentTimeMillis() + ttlMillis;
+        // 비어서 제거되는 중인 채팅방 상태를 받은 경우 새 상태가 만들어질 때까지 다시 시도
+        while (!rooms.computeIfAbsent(roomId, id -> new RoomTyping()).touch(userId, expiresAt)) {
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * 만료된 사용자를 정리하고, 목록이 바뀐 채팅방에 입력 중인 사용자 목록을 브로드캐스트합니다.
+     */
+    private void publishChanges() {
+        long now = System.currentTimeMillis();
+        for (Map.Entry<String, RoomTyping> entry : rooms.entrySet()) {
+            String roomId = entry.getKey();
+            RoomTyping room = entry.getValue();
+            List<String> typingUserIds = room.collectIfChanged(now);
+            if (typingUserIds != null) {
+                try {
+                    roomBroadcaster.broadcast(roomId, RoomDestinations.TYPING, TypingIndicatorDto.builder()
+                            .chatRoomId(roomId)
+                            .typingUserIds(typingUserIds)
+                            .build());
+                    publishedFrames.increment();
+                } catch (RuntimeException e) {
+                    // 예외가 전파되면 주기 작업이 중단되므로 기록만 함
+                    log.warn("Failed to broadcast typing indicator for room {}: {}", roomId, e.getMessage());
+                }
+            }
+            if (room.markRemovedIfEmpty()) {
+                rooms.remove(roomId, room);
+            }
+        }
+    }
+
+    /**
+     * 채팅방 하나의 입력 상태
+     */
+    private static final class RoomTyping {
+        /** 사용자 ID별 만료 시각 (밀리초) */
+        private final Map<String, Long> expiresAtByUser = new HashMap<>();
+        /** 마지막 브로드캐스트 이후 목록이 바뀌었는지 여부 */
+        private boolean changed;
+        /** 맵에서 제거되어 더 이상 사용하지 않는 상태인지 여부 */
+        private boolean removed;
+
+        synchronized boolean touch(String userId, long expiresAt) {
+            if (removed) {
+                return false;
+            }
+            if (expiresAtByUser.put(userId, expiresAt) == null) {
+                changed = true;
+            }
+            return true;
+        }
+
+        synchronized List<String> collectIfChanged(long now) {
+            Iterator<Long> iterator = expiresAtByUser.values().iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next() <= now) {
+                    iterator.remove();
+                    changed = true;
+                }
+            }
+            if (!changed) {
+                return null;
+            }
+            changed = false;
+            List<String> userIds = new ArrayList<>(expiresAtByUser.keySet());
+            Collections.sort(userIds);
+            return userIds;
+        }
+
+        synchronized boolean markRemovedIfEmpty() {
+            if (expiresAtByUser.isEmpty() && !changed) {
+                removed = true;
+            }
+            return removed;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.makestar.chat.websocket;
+
+import org.springframework.util.MimeType;
+
+import com.makestar.chat.codec.CompactEncoding;
+import com.makestar.chat.dto.ChatMessageDto;
+import com.makestar.chat.model.ChatMessage;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collections;
+
+/**
+ * WebSocket 바이너리 채팅 메시지 형식 (chat-codec: v1)
+ * JSON 대신 필드 이름 없이 정해진 순서로 값을 기록합니다.
+ * <pre>
+ * version(1) | id | chatRoomId | senderId | senderName | content | type(1) | sentAt | read(1) | readAt | seq
+ * </pre>
+ * ID(메시지, 채팅방, 발신자)는 UUID이면 16바이트로, 문자열은 {@link CompactEncoding} 규칙으로,
+ * 시간은 서버 시간대 기준 epoch 밀리초 zigzag varint로 기록합니다(null은 0, 그 외에는 값 + 1).
+ * 채팅방 순번(seq)은 varint로 마지막에 기록하며(null은 0), 순번이 없는 이전 프레임도 디코딩할 수 있습니다.
+ * 한 프레임이 다른 프레임에 의존하지 않으므로 브로드캐스트 한 번에 한 번만 인코딩하여 모든 구독자가 공유합니다.
+ */
+public final class BinaryChatMessageCodec {
+
+    /** 클라이언트가 CONNECT 프레임에서 사용할 코덱을 알리는 헤더 */
+    public static final String CODEC_HEADER = "chat-codec";
+
+    /** 바이너리 형식 버전 1의 이름 */
+    public static final String CODEC_V1 = "v1";
+
+    /**
+     * 바이너리 메시지의 content-type
+     * STOMP 핸들러는 application/octet-stream 프레임만 WebSocket 바이너리 메시지로 보내므로 해당 타입에 파라미터를 붙여 구분합니다.
+     */
+    public static final MimeType MIME_TYPE = new MimeType("application", "octet-stream",
+            Collections.singletonMap(CODEC_HEADER, CODEC_V1));
+
+    private static final byte FORMAT_VERSION = 1;
+
+    private static final ChatMessage.MessageType[] MESSAGE_TYPES = ChatMessage.MessageType.values();
+
+    private BinaryChatMessageCodec() {
+    }
+
+    /**
+     * 메시지를 바이너리 형식으로 인코딩합니다.
+     *
+     * @param message 인코딩할 메시지
+     * @return 인코딩된 바이트
+     */
+    public static byte[] encode(ChatMessageDto message) {
+        String content = message.getContent();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64 + (content != null ? content.length() * 3 : 0));
+        out.write(FORMAT_VERSION);
+        CompactEncoding.writeId(out, message.getId());
+        CompactEncoding.writeId(out, message.getChatRoomId());
+        CompactEncoding.writeId(out, message.getSenderId());
+        CompactEncoding.writeString(out, message.getSenderName());
+        CompactEncoding.writeString(out, content);
+        out.write(message.getType() != null ? ChatMessage.MessageType.valueOf(message.getType()).ordinal() + 1 : 0);
+        writeTime(out, message.getSentAt());
+        out.write(message.isRead() ? 1 : 0);
+        writeTime(out, message.getReadAt());
+        CompactEncoding.writeVarLong(out, message.getSeq() != null ? message.getSeq() : 0);
+        return out.toByteArray();
+    }
+
+    /**
+     * 바이너리 형식을 메시지로 디코딩합니다.
+     *
+     * @param payload 인코딩된 바이트
+     * @return 디코딩된 메시지
+     * @throws IllegalArgumentException 형식이 올바르지 않은 경우
+     */
+    public static ChatMessageDto decode(byte[] payload) {
+        ByteBuffer in = ByteBuffer.wrap(payload);
+        byte version = CompactEncoding.get(in);
+        if (version != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported binary chat message version: " + version);
+        }
+        ChatMessageDto message = new ChatMessageDto();
+        message.setId(CompactEncoding.readId(in));
+        message.setChatRoomId(CompactEncoding.readId(in));
+        message.setSenderId(CompactEncoding.readId(in));
+        message.setSenderName(CompactEncoding.readString(in));
+        message.setContent(CompactEncoding.readString(in));
+        int type = CompactEncoding.get(in);
+        if (type < 0 || type > MESSAGE_TYPES.length) {
+            throw new IllegalArgumentException("Unknown message type ordinal: " + (type - 1));
+        }
+        message.setType(type == 0 ? null : MESSAGE_TYPES[type - 1].name());
+        message.setSentAt(readTime(in));
+        message.setRead(CompactEncoding.get(in) != 0);
+        message.setReadAt(readTime(in));
+        if (in.hasRemaining()) {
+            long seq = CompactEncoding.readVarLong(in);
+            message.setSeq(seq != 0 ? seq : null);
+        }
+        return message;
+    }
+
+    private static void writeTime(ByteArrayOutputStream out, LocalDateTime time) {
+        if (time == null) {
+            CompactEncoding.writeVarLong(out, 0);
+            return;
+        }
+        long epochMillis = time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        CompactEncoding.writeVarLong(out, zigZag(epochMillis) + 1);
+    }
+
+    private static LocalDateTime readTime(ByteBuffer in) {
+        long encoded = CompactEncoding.readVarLong(in);
+        if (encoded == 0) {
+            return null;
+        }
+        long zigZagged = encoded - 1;
+        long epochMillis = (zigZagged >>> 1) ^ -(zigZagged & 1);
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+}
@@ -0,0 +1,43 @@
+package com.makestar.chat.websocket;
+
+import org.springframework.lang.Nullable;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.converter.AbstractMessageConverter;
+import org.springframework.messaging.converter.MessageConversionException;
+
+import com.makestar.chat.dto.ChatMessageDto;
+
+/**
+ * 바이너리 채팅 메시지 형식({@link BinaryChatMessageCodec})과 ChatMessageDto를 변환하는 메시지 컨버터
+ * 바이너리 코덱을 사용하는 클라이언트가 보낸 SEND 프레임을 @Payload ChatMessageDto로 받을 수 있게 합니다.
+ */
+public class BinaryChatMessageConverter extends AbstractMessageConverter {
+
+    public BinaryChatMessageConverter() {
+        super(BinaryChatMessageCodec.MIME_TYPE);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return ChatMessageDto.class.equals(clazz);
+    }
+
+    @Override
+    protected Object convertFromInternal(Message<?> message, Class<?> targetClass, @Nullable Object conversionHint) {
+        Object payload = message.getPayload();
+        if (!(payload instanceof byte[])) {
+            return null;
+        }
+        try {
+            return BinaryChatMessageCodec.decode((byte[]) payload);
+        } catch (IllegalArgumentException e) {
+            throw new MessageConversionException(message, "Invalid binary chat message: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    protected Object convertToInternal(Object payload, @Nullable MessageHeaders headers, @Nullable Object conversionHint) {
+        return BinaryChatMessageCodec.encode((ChatMessageDto) payload);
+    }
+}
@@ -0,0 +1,98 @@
+package com.makestar.chat.websocket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+
+import com.makestar.chat.broadcast.RoomDestinations;
+import com.makestar.chat.dto.ChatMessageDto;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * 바이너리 코덱 세션으로 가는 채팅방 메시지를 바이너리 형식으로 바꾸는 아웃바운드 채널 인터셉터
+ * 채팅방 메시지 목적지(/topic/chat/{roomId})의 JSON ChatMessageDto만 변환하며,
+ * 같은 브로드캐스트의 JSON 페이로드 배열은 한 번만 변환하여 모든 바이너리 세션이 같은 배열을 공유합니다.
+ */
+@Component
+@Slf4j
+public class BinaryRoomMessageInterceptor implements ChannelInterceptor {
+
+    private final ChatCodecNegotiator chatCodecNegotiator;
+    private final ObjectMapper objectMapper;
+
+    /** JSON 페이로드 배열(동일성 기준)별 바이너리 페이로드 */
+    private final Cache<byte[], byte[]> binaryPayloads = Caffeine.newBuilder()
+            .weakKeys()
+            .maximumSize(1024)
+            .expireAfterWrite(Duration.ofSeconds(10))
+            .build();
+
+    public BinaryRoomMessageInterceptor(ChatCodecNegotiator chatCodecNegotiator,
+                                        ObjectMapper objectMapper,
+                                        MeterRegistry meterRegistry) {
+        this.chatCodecNegotiator = chatCodecNegotiator;
+        this.objectMapper = objectMapper;
+        Gauge.builder("chat.websocket.binary.sessions", chatCodecNegotiator, ChatCodecNegotiator::binarySessionCount)
+                .description("WebSocket sessions using the binary chat message codec")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        SimpMessageHeaderAccessor accessor =
+                SimpMessageHeaderAccessor.getAccessor(message, SimpMessageHeaderAccessor.class);
+        if (accessor == null
+                || !SimpMessageType.MESSAGE.equals(accessor.getMessageType())
+                || !(message.getPayload() instanceof byte[])
+                || !chatCodecNegotiator.isBinary(accessor.getSessionId())
+                || !isRoomMessageDestination(accessor.getDestination())
+                || !isJson(accessor.getContentType())) {
+            return message;
+        }
+
+        byte[] binaryPayload;
+        try {
+            binaryPayload = binaryPayloads.get((byte[]) message.getPayload(), this::toBinary);
+        } catch (IllegalStateException e) {
+            log.warn("Sending JSON to binary session {}: {}", accessor.getSessionId(), e.getMessage());
+            return message;
+        }
+
+        SimpMessageHeaderAccessor converted = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        converted.copyHeaders(message.getHeaders());
+        converted.setContentType(BinaryChatMessageCodec.MIME_TYPE);
+        converted.setLeaveMutable(true);
+        return MessageBuilder.createMessage(binaryPayload, converted.getMessageHeaders());
+    }
+
+    private byte[] toBinary(byte[] json) {
+        try {
+            return BinaryChatMessageCodec.encode(objectMapper.readValue(json, ChatMessageDto.class));
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IllegalStateException("Room payload is not a chat message", e);
+        }
+    }
+
+    private static boolean isRoomMessageDestination(String destination) {
+        String roomId = RoomDestinations.roomIdOf(destination);
+        return roomId != null && destination.equals(RoomDestinations.room(roomId));
+    }
+
+    private static boolean isJson(MimeType contentType) {
+        return contentType != null && MimeTypeUtils.APPLICATION_JSON.isCompatibleWith(contentType);
+    }
+}
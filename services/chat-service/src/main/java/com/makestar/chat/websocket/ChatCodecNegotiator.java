@@ -0,0 +1,72 @@
+package com.makestar.chat.websocket;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 세션별 채팅 메시지 코덱을 정하는 인바운드 채널 인터셉터
+ * 클라이언트가 CONNECT 프레임에 chat-codec: v1 헤더를 보내고 SockJS가 아닌 WebSocket으로 연결한 경우
+ * 바이너리 코덱을 사용합니다. 그 외에는 JSON을 유지합니다.
+ * 클라이언트는 MESSAGE 프레임의 content-type으로 실제 사용된 형식을 확인합니다.
+ */
+@Component
+@Slf4j
+public class ChatCodecNegotiator implements ChannelInterceptor {
+
+    /** 바이너리 코덱을 사용하는 세션 ID */
+    private final Set<String> binarySessions = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() == null || accessor.getSessionId() == null) {
+            return message;
+        }
+        if (StompCommand.CONNECT.equals(accessor.getCommand()) || StompCommand.STOMP.equals(accessor.getCommand())) {
+            if (BinaryChatMessageCodec.CODEC_V1.equals(accessor.getFirstNativeHeader(BinaryChatMessageCodec.CODEC_HEADER))
+                    && isWebSocketTransport(accessor.getSessionAttributes())) {
+                log.debug("Session {} negotiated binary chat codec", accessor.getSessionId());
+                binarySessions.add(accessor.getSessionId());
+            }
+        } else if (StompCommand.DISCONNECT.equals(accessor.getCommand())) {
+            binarySessions.remove(accessor.getSessionId());
+        }
+        return message;
+    }
+
+    /**
+     * 세션이 바이너리 코덱을 사용하는지 확인합니다.
+     *
+     * @param sessionId 세션 ID
+     * @return 바이너리 코덱을 사용하면 true
+     */
+    public boolean isBinary(String sessionId) {
+        return sessionId != null && binarySessions.contains(sessionId);
+    }
+
+    /**
+     * 바이너리 코덱을 사용하는 세션 수를 반환합니다.
+     *
+     * @return 세션 수
+     */
+    public int binarySessionCount() {
+        return binarySessions.size();
+    }
+
+    /**
+     * SockJS는 텍스트 프레임만 전달하므로 바이너리 코덱은 WebSocket 전송에서만 사용합니다.
+     */
+    private static boolean isWebSocketTransport(Map<String, Object> sessionAttributes) {
+        return TransportSessionRegistry.isRawWebSocket(sessionAttributes);
+    }
+}
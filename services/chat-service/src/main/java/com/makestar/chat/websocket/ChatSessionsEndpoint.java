@@ -0,0 +1,38 @@
+package com.makestar.chat.websocket;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 전송이 밀린 WebSocket 세션을 조회하는 Actuator 엔드포인트 (/actuator/chatsessions)
+ * 전송 버퍼 크기, 진행 중인 쓰기 시간 순으로 상위 세션을 반환합니다.
+ * 노출 설정은 commons 프로파일의 management.endpoints.web.exposure.include를 따릅니다.
+ */
+@Component
+@Endpoint(id = "chatsessions")
+@ConditionalOnProperty(name = "chat.websocket.slow-consumer.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class ChatSessionsEndpoint {
+
+    /** 기본 조회 세션 수 */
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final SlowConsumerGuard slowConsumerGuard;
+
+    /**
+     * 전송이 가장 밀린 세션을 조회합니다.
+     *
+     * @param limit 최대 세션 수 (기본 20)
+     * @return 세션별 전송 상태
+     */
+    @ReadOperation
+    public List<SlowConsumerGuard.SessionOutboundState> worstSessions(@Nullable Integer limit) {
+        return slowConsumerGuard.worstSessions(limit != null && limit > 0 ? limit : DEFAULT_LIMIT);
+    }
+}
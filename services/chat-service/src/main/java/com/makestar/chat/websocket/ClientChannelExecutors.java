@@ -0,0 +1,145 @@
+package com.makestar.chat.websocket;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * STOMP 클라이언트 인바운드/아웃바운드 채널 실행기를 만드는 컴포넌트
+ * 기본 실행기는 CPU 코어 수의 2배 스레드와 무제한 큐를 사용하므로, JPA나 Feign 호출로 대기하는 핸들러가 스레드를 모두 점유하면
+ * 이후 메시지는 큐에서 기다리기만 합니다. 채널별로 스레드 수와 큐 크기를 설정하거나 가상 스레드 실행기를 사용할 수 있습니다.
+ * <ul>
+ *   <li>스레드 풀: core-pool-size 스레드로 처리하다가 queue-capacity가 차면 max-pool-size까지 스레드를 늘리며,
+ *       그래도 처리할 수 없는 메시지는 거부합니다.</li>
+ *   <li>가상 스레드 (virtual-threads: true): 메시지마다 가상 스레드를 만들어 처리합니다. Java 21 이상에서만 사용할 수 있습니다.</li>
+ * </ul>
+ * 채널별로 큐 대기 수(chat.websocket.channel.queued), 실행 중 스레드 수(chat.websocket.channel.active),
+ * 스레드 수(chat.websocket.channel.pool.size), 거부 수(chat.websocket.channel.rejected) 지표를 기록합니다.
+ */
+@Component
+@Slf4j
+public class ClientChannelExecutors {
+
+    private static final String INBOUND = "inbound";
+    private static final String OUTBOUND = "outbound";
+
+    private final MeterRegistry meterRegistry;
+    private final Settings inbound;
+    private final Settings outbound;
+
+    public ClientChannelExecutors(MeterRegistry meterRegistry,
+                                  @Value("${chat.websocket.channel.inbound.virtual-threads:false}") boolean inboundVirtualThreads,
+                                  @Value("${chat.websocket.channel.inbound.core-pool-size:16}") int inboundCorePoolSize,
+                                  @Value("${chat.websocket.channel.inbound.max-pool-size:128}") int inboundMaxPoolSize,
+                                  @Value("${chat.websocket.channel.inbound.queue-capacity:1000}") int inboundQueueCapacity,
+                                  @Value("${chat.websocket.channel.inbound.keep-alive:60s}") Duration inboundKeepAlive,
+                                  @Value("${chat.websocket.channel.outbound.virtual-threads:false}") boolean outboundVirtualThreads,
+                                  @Value("${chat.websocket.channel.outbound.core-pool-size:16}") int outboundCorePoolSize,
+                                  @Value("${chat.websocket.channel.outbound.max-pool-size:64}") int outboundMaxPoolSize,
+                                  @Value("${chat.websocket.channel.outbound.queue-capacity:10000}") int outboundQueueCapacity,
+                                  @Value("${chat.websocket.channel.outbound.keep-alive:60s}") Duration outboundKeepAlive) {
+        this.meterRegistry = meterRegistry;
+        this.inbound = new Settings(inboundVirtualThreads, inboundCorePoolSize, inboundMaxPoolSize,
+                inboundQueueCapacity, inboundKeepAlive);
+        this.outbound = new Settings(outboundVirtualThreads, outboundCorePoolSize, outboundMaxPoolSize,
+                outboundQueueCapacity, outboundKeepAlive);
+    }
+
+    /**
+     * 클라이언트에서 들어오는 메시지(@MessageMapping 핸들러 등)를 처리할 실행기를 만듭니다.
+     */
+    public ThreadPoolTaskExecutor inboundExecutor() {
+        return create(INBOUND, inbound);
+    }
+
+    /**
+     * 클라이언트 세션으로 메시지를 전송할 실행기를 만듭니다.
+     */
+    public ThreadPoolTaskExecutor outboundExecutor() {
+        return create(OUTBOUND, outbound);
+    }
+
+    /**
+     * 실행기를 만들고 지표를 등록합니다.
+     * 스레드 이름, 초기화와 종료는 채널 실행기 빈(clientInboundChannelExecutor 등)으로 등록될 때 Spring이 처리합니다.
+     */
+    private ThreadPoolTaskExecutor create(String channel, Settings settings) {
+        ThreadPoolTaskExecutor executor;
+        if (settings.virtualThreads) {
+            log.info("Client {} channel uses a virtual thread per message", channel);
+            executor = new VirtualThreadTaskExecutor();
+            executor.setCorePoolSize(1);
+        } else {
+            log.info("Client {} channel uses a thread pool (core={}, max={}, queue={})",
+                    channel, settings.corePoolSize, settings.maxPoolSize, settings.queueCapacity);
+            executor = new ThreadPoolTaskExecutor();
+            executor.setCorePoolSize(settings.corePoolSize);
+            executor.setMaxPoolSize(settings.maxPoolSize);
+            executor.setQueueCapacity(settings.queueCapacity);
+            executor.setKeepAliveSeconds((int) settings.keepAlive.getSeconds());
+        }
+
+        Counter rejected = Counter.builder("chat.websocket.channel.rejected")
+                .tag("channel", channel)
+                .description("Messages rejected because the channel executor was saturated")
+                .register(meterRegistry);
+        executor.setRejectedExecutionHandler((task, pool) -> {
+            rejected.increment();
+            throw new RejectedExecutionException("Client " + channel + " channel executor is saturated (active="
+                    + pool.getActiveCount() + ", queued=" + pool.getQueue().size() + ")");
+        });
+
+        Gauge.builder("chat.websocket.channel.queued", executor, ClientChannelExecutors::queuedTasks)
+                .tag("channel", channel)
+                .description("Messages waiting for a channel executor thread")
+                .register(meterRegistry);
+        Gauge.builder("chat.websocket.channel.active", executor, ThreadPoolTaskExecutor::getActiveCount)
+                .tag("channel", channel)
+                .description("Channel executor threads currently handling a message")
+                .register(meterRegistry);
+        Gauge.builder("chat.websocket.channel.pool.size", executor, ThreadPoolTaskExecutor::getPoolSize)
+                .tag("channel", channel)
+                .description("Channel executor threads currently alive")
+                .register(meterRegistry);
+        return executor;
+    }
+
+    private static int queuedTasks(ThreadPoolTaskExecutor executor) {
+        if (executor instanceof VirtualThreadTaskExecutor) {
+            return 0;
+        }
+        try {
+            return executor.getThreadPoolExecutor().getQueue().size();
+        } catch (IllegalStateException ex) {
+            // 아직 초기화되지 않았거나 종료된 실행기
+            return 0;
+        }
+    }
+
+    /**
+     * 채널별 실행기 설정
+     */
+    private static final class Settings {
+
+        private final boolean virtualThreads;
+        private final int corePoolSize;
+        private final int maxPoolSize;
+        private final int queueCapacity;
+        private final Duration keepAlive;
+
+        private Settings(boolean virtualThreads, int corePoolSize, int maxPoolSize, int queueCapacity, Duration keepAlive) {
+            this.virtualThreads = virtualThreads;
+            this.corePoolSize = corePoolSize;
+            this.maxPoolSize = maxPoolSize;
+            this.queueCapacity = queueCapacity;
+            this.keepAlive = keepAlive;
+        }
+    }
+}
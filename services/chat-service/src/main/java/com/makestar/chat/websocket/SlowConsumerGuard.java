@@ -0,0 +1,260 @@
+package com.makestar.chat.websocket;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.SessionLimitExceededException;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.messaging.StompSubProtocolHandler;
+import org.springframework.web.socket.messaging.SubProtocolHandler;
+import org.springframework.web.socket.messaging.SubProtocolWebSocketHandler;
+
+import com.makestar.chat.broadcast.RoomDestinations;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+
+/**
+ * 느린 WebSocket 세션을 감지하여 부가 이벤트를 버리거나 연결을 끊는 컴포넌트 (chat.websocket.slow-consumer.enabled)
+ * 세션 전송은 ConcurrentWebSocketSessionDecorator가 직렬화하며, 한 세션의 소켓 쓰기가 막히면 이후 메시지는
+ * 세션 버퍼에 쌓이고 쓰기 중인 아웃바운드 스레드는 최대 send-time-limit 동안 묶입니다.
+ * 세션으로 메시지를 보내기 전에 해당 세션의 버퍼 크기와 진행 중인 쓰기 시간을 확인합니다.
+ * <ul>
+ *   <li>drop-buffer 또는 drop-after를 넘은 세션에는 다시 받을 수 있는 부가 이벤트(입력 중, 읽음)를 보내지 않습니다.</li>
+ *   <li>evict-buffer 또는 evict-after를 넘은 세션은 SESSION_NOT_RELIABLE로 연결을 끊어 클라이언트가 재연결 후
+ *       순번 기반 재전송(chat.resume)으로 누락 메시지를 받도록 합니다.</li>
+ * </ul>
+ * 전송 설정의 버퍼 크기 제한과 전송 시간 제한은 그대로 최종 제한으로 동작합니다.
+ */
+@Component
+@ConditionalOnProperty(name = "chat.websocket.slow-consumer.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class SlowConsumerGuard implements SmartInitializingSingleton {
+
+    /** 느린 세션에 보내지 않는 채팅방 부가 이벤트 */
+    private static final List<String> EPHEMERAL_EVENTS = List.of(
+            RoomDestinations.TYPING, RoomDestinations.READ, RoomDestinations.READ_RECEIPTS);
+
+    private final WebSocketHandler subProtocolWebSocketHandler;
+    private final long dropBufferBytes;
+    private final long dropAfterMillis;
+    private final long evictBufferBytes;
+    private final long evictAfterMillis;
+    private final Map<String, Counter> droppedFrames = new HashMap<>();
+    private final Counter evictedByBuffer;
+    private final Counter evictedBySendTime;
+
+    /** 세션 ID별 전송 상태 */
+    private final Map<String, TrackedSession> sessions = new ConcurrentHashMap<>();
+
+    public SlowConsumerGuard(@Qualifier("subProtocolWebSocketHandler") WebSocketHandler subProtocolWebSocketHandler,
+                             MeterRegistry meterRegistry,
+                             @Value("${chat.websocket.slow-consumer.drop-buffer:64KB}") DataSize dropBuffer,
+                             @Value("${chat.websocket.slow-consumer.drop-after:1s}") Duration dropAfter,
+                             @Value("${chat.websocket.slow-consumer.evict-buffer:256KB}") DataSize evictBuffer,
+                             @Value("${chat.websocket.slow-consumer.evict-after:5s}") Duration evictAfter) {
+        this.subProtocolWebSocketHandler = subProtocolWebSocketHandler;
+        this.dropBufferBytes = dropBuffer.toBytes();
+        this.dropAfterMillis = dropAfter.toMillis();
+        this.evictBufferBytes = evictBuffer.toBytes();
+        this.evictAfterMillis = evictAfter.toMillis();
+        for (String event : EPHEMERAL_EVENTS) {
+            droppedFrames.put(event, Counter.builder("chat.websocket.slow.dropped")
+                    .tag("event", event)
+                    .description("Ephemeral frames not sent to sessions that fell behind")
+                    .register(meterRegistry));
+        }
+        this.evictedByBuffer = Counter.builder("chat.websocket.slow.evicted")
+                .tag("reason", "buffer")
+                .description("Sessions closed because their outbound backlog grew too large")
+                .register(meterRegistry);
+        this.evictedBySendTime = Counter.builder("chat.websocket.slow.evicted")
+                .tag("reason", "send-time")
+                .description("Sessions closed because a single send was blocked too long")
+                .register(meterRegistry);
+        Gauge.builder("chat.websocket.slow.sessions", this, SlowConsumerGuard::countSlowSessions)
+                .description("Sessions currently past the ephemeral drop threshold")
+                .register(meterRegistry);
+        Gauge.builder("chat.websocket.slow.buffer.max", this, guard -> guard.max(TrackedSession::bufferedBytes))
+                .description("Largest outbound backlog of a single session")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("chat.websocket.slow.send.max", this, guard -> guard.max(TrackedSession::sendInProgressMillis))
+                .description("Longest send currently in progress on a single session")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * STOMP 하위 프로토콜 핸들러를 {@link SlowConsumerProtocolHandler}로 감쌉니다.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        WebSocketHandler handler = subProtocolWebSocketHandler;
+        if (handler instanceof WebSocketHandlerDecorator) {
+            handler = ((WebSocketHandlerDecorator) handler).getLastHandler();
+        }
+        if (!(handler instanceof SubProtocolWebSocketHandler)) {
+            log.warn("STOMP handler not found; slow consumer detection disabled");
+            return;
+        }
+        SubProtocolWebSocketHandler webSocketHandler = (SubProtocolWebSocketHandler) handler;
+        SubProtocolHandler defaultHandler = webSocketHandler.getDefaultProtocolHandler();
+        List<SubProtocolHandler> guarded = new ArrayList<>();
+        for (SubProtocolHandler protocolHandler : webSocketHandler.getProtocolHandlers()) {
+            if (protocolHandler instanceof StompSubProtocolHandler) {
+                SubProtocolHandler guardedHandler = new SlowConsumerProtocolHandler(protocolHandler, this);
+                if (protocolHandler == defaultHandler) {
+                    defaultHandler = guardedHandler;
+                }
+                guarded.add(guardedHandler);
+            } else {
+                guarded.add(protocolHandler);
+            }
+        }
+        webSocketHandler.setProtocolHandlers(guarded);
+        if (defaultHandler != null) {
+            webSocketHandler.setDefaultProtocolHandler(defaultHandler);
+        }
+    }
+
+    /**
+     * 세션으로 메시지를 보낼지 결정합니다.
+     *
+     * @param session 전송 대상 세션
+     * @param message 보낼 메시지
+     * @return 보내야 하면 true, 부가 이벤트를 버리는 경우 false
+     * @throws SessionLimitExceededException 세션이 퇴출 기준을 넘은 경우 (호출한 핸들러가 연결을 끊음)
+     */
+    boolean admit(WebSocketSession session, Message<?> message) {
+        TrackedSession tracked = sessions.get(session.getId());
+        if (tracked == null) {
+            return true;
+        }
+        long bufferedBytes = tracked.bufferedBytes();
+        long sendInProgressMillis = tracked.sendInProgressMillis();
+        if (bufferedBytes >= evictBufferBytes) {
+            evictedByBuffer.increment();
+            throw new SessionLimitExceededException("Outbound backlog of " + bufferedBytes
+                    + " bytes exceeds the slow consumer limit", CloseStatus.SESSION_NOT_RELIABLE);
+        }
+        if (sendInProgressMillis >= evictAfterMillis) {
+            evictedBySendTime.increment();
+            throw new SessionLimitExceededException("Send blocked for " + sendInProgressMillis
+                    + " ms exceeds the slow consumer limit", CloseStatus.SESSION_NOT_RELIABLE);
+        }
+        if (bufferedBytes >= dropBufferBytes || sendInProgressMillis >= dropAfterMillis) {
+            String event = RoomDestinations.eventOf(SimpMessageHeaderAccessor.getDestination(message.getHeaders()));
+            Counter dropped = event != null ? droppedFrames.get(event) : null;
+            if (dropped != null) {
+                dropped.increment();
+                tracked.droppedFrames.incrementAndGet();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    void register(WebSocketSession session) {
+        if (session instanceof ConcurrentWebSocketSessionDecorator) {
+            sessions.put(session.getId(), new TrackedSession((ConcurrentWebSocketSessionDecorator) session));
+        }
+    }
+
+    void unregister(WebSocketSession session) {
+        sessions.remove(session.getId());
+    }
+
+    /**
+     * 전송 버퍼가 크거나 쓰기가 오래 걸리고 있는 세션을 반환합니다.
+     *
+     * @param limit 최대 세션 수
+     * @return 전송 버퍼 크기, 진행 중인 쓰기 시간 순으로 정렬한 세션 상태
+     */
+    public List<SessionOutboundState> worstSessions(int limit) {
+        return sessions.entrySet().stream()
+                .map(entry -> entry.getValue().snapshot(entry.getKey()))
+                .filter(state -> state.getBufferedBytes() > 0 || state.getSendInProgressMillis() > 0
+                        || state.getDroppedFrames() > 0)
+                .sorted(Comparator.comparingLong(SessionOutboundState::getBufferedBytes)
+                        .thenComparingLong(SessionOutboundState::getSendInProgressMillis)
+                        .reversed())
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    private double countSlowSessions() {
+        return sessions.values().stream()
+                .filter(tracked -> tracked.bufferedBytes() >= dropBufferBytes
+                        || tracked.sendInProgressMillis() >= dropAfterMillis)
+                .count();
+    }
+
+    private double max(ToLongFunction<TrackedSession> metric) {
+        return sessions.values().stream().mapToLong(metric).max().orElse(0);
+    }
+
+    /**
+     * 세션의 전송 상태 (worstSessions 조회 결과)
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class SessionOutboundState {
+
+        private final String sessionId;
+        private final String transport;
+        private final long bufferedBytes;
+        private final long sendInProgressMillis;
+        private final long droppedFrames;
+    }
+
+    /**
+     * 전송 상태를 추적하는 세션
+     */
+    private static final class TrackedSession {
+
+        private final ConcurrentWebSocketSessionDecorator session;
+        private final AtomicLong droppedFrames = new AtomicLong();
+
+        private TrackedSession(ConcurrentWebSocketSessionDecorator session) {
+            this.session = session;
+        }
+
+        private long bufferedBytes() {
+            return session.getBufferSize();
+        }
+
+        private long sendInProgressMillis() {
+            return session.getTimeSinceSendStarted();
+        }
+
+        private SessionOutboundState snapshot(String sessionId) {
+            Object transport = session.getAttributes().get(TransportSessionRegistry.TRANSPORT_ATTRIBUTE);
+            return new SessionOutboundState(sessionId, transport != null ? transport.toString() : null,
+                    bufferedBytes(), sendInProgressMillis(), droppedFrames.get());
+        }
+    }
+}
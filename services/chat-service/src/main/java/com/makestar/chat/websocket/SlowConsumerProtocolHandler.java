@@ -0,0 +1,69 @@
+package com.makestar.chat.websocket;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.messaging.SubProtocolHandler;
+
+import java.util.List;
+
+/**
+ * 세션으로 보내는 메시지를 {@link SlowConsumerGuard}에 먼저 확인받는 하위 프로토콜 핸들러
+ * 전달받는 세션은 SubProtocolWebSocketHandler가 감싼 ConcurrentWebSocketSessionDecorator이므로
+ * 세션별 전송 버퍼 크기와 전송 시간을 확인할 수 있습니다. 그 외 처리는 원래 STOMP 핸들러에 위임합니다.
+ */
+public class SlowConsumerProtocolHandler implements SubProtocolHandler {
+
+    private final SubProtocolHandler delegate;
+    private final SlowConsumerGuard guard;
+
+    public SlowConsumerProtocolHandler(SubProtocolHandler delegate, SlowConsumerGuard guard) {
+        this.delegate = delegate;
+        this.guard = guard;
+    }
+
+    /**
+     * 감싼 원래 하위 프로토콜 핸들러를 반환합니다.
+     */
+    public SubProtocolHandler getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public List<String> getSupportedProtocols() {
+        return delegate.getSupportedProtocols();
+    }
+
+    @Override
+    public void handleMessageFromClient(WebSocketSession session, WebSocketMessage<?> message,
+                                        MessageChannel outputChannel) throws Exception {
+        delegate.handleMessageFromClient(session, message, outputChannel);
+    }
+
+    @Override
+    public void handleMessageToClient(WebSocketSession session, Message<?> message) throws Exception {
+        if (guard.admit(session, message)) {
+            delegate.handleMessageToClient(session, message);
+        }
+    }
+
+    @Override
+    public String resolveSessionId(Message<?> message) {
+        return delegate.resolveSessionId(message);
+    }
+
+    @Override
+    public void afterSessionStarted(WebSocketSession session, MessageChannel outputChannel) throws Exception {
+        guard.register(session);
+        delegate.afterSessionStarted(session, outputChannel);
+    }
+
+    @Override
+    public void afterSessionEnded(WebSocketSession session, CloseStatus closeStatus,
+                                  MessageChannel outputChannel) throws Exception {
+        guard.unregister(session);
+        delegate.afterSessionEnded(session, closeStatus, outputChannel);
+    }
+}
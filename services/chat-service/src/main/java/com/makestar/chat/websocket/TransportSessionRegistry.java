@@ -0,0 +1,148 @@
+package com.makestar.chat.websocket;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketExtension;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+import org.springframework.web.socket.sockjs.transport.SockJsSession;
+import org.springframework.web.socket.sockjs.transport.session.StreamingSockJsSession;
+import org.springframework.web.socket.sockjs.transport.session.WebSocketServerSockJsSession;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * WebSocket 세션의 전송 방식을 기록하고 전송 방식별 연결 지표를 제공하는 컴포넌트
+ * 세션 속성에 전송 방식(chat.transport)과 permessage-deflate 압축 사용 여부(chat.compressed)를 기록하여
+ * STOMP 메시지의 세션 속성(simpSessionAttributes)으로 확인할 수 있게 합니다.
+ * <ul>
+ *   <li>chat.websocket.sessions{transport}: 전송 방식별 현재 세션 수</li>
+ *   <li>chat.websocket.connections{transport}: 전송 방식별 누적 연결 수</li>
+ *   <li>chat.websocket.sessions.compressed: permessage-deflate를 사용하는 현재 세션 수</li>
+ * </ul>
+ */
+@Component
+public class TransportSessionRegistry implements WebSocketHandlerDecoratorFactory {
+
+    /** 전송 방식을 담는 세션 속성 이름 */
+    public static final String TRANSPORT_ATTRIBUTE = "chat.transport";
+
+    /** permessage-deflate 사용 여부를 담는 세션 속성 이름 */
+    public static final String COMPRESSED_ATTRIBUTE = "chat.compressed";
+
+    /** 프레이밍 없는 WebSocket 전송 (/api/chat-ws/native, /api/chat-ws/websocket) */
+    public static final String TRANSPORT_WEBSOCKET = "websocket";
+
+    /** SockJS 프레이밍 WebSocket 전송 */
+    public static final String TRANSPORT_SOCKJS_WEBSOCKET = "sockjs-websocket";
+
+    /** SockJS 스트리밍 전송 (xhr-streaming, eventsource, htmlfile) */
+    public static final String TRANSPORT_SOCKJS_STREAMING = "sockjs-streaming";
+
+    /** SockJS 폴링 전송 (xhr-polling, jsonp) */
+    public static final String TRANSPORT_SOCKJS_POLLING = "sockjs-polling";
+
+    /** permessage-deflate 확장 이름 */
+    private static final String PERMESSAGE_DEFLATE = "permessage-deflate";
+
+    private static final List<String> TRANSPORTS = Arrays.asList(
+            TRANSPORT_WEBSOCKET, TRANSPORT_SOCKJS_WEBSOCKET, TRANSPORT_SOCKJS_STREAMING, TRANSPORT_SOCKJS_POLLING);
+
+    private final Map<String, AtomicInteger> activeSessions = new ConcurrentHashMap<>();
+    private final Map<String, Counter> connections = new ConcurrentHashMap<>();
+    private final AtomicInteger compressedSessions = new AtomicInteger();
+
+    public TransportSessionRegistry(MeterRegistry meterRegistry) {
+        for (String transport : TRANSPORTS) {
+            AtomicInteger active = new AtomicInteger();
+            activeSessions.put(transport, active);
+            Gauge.builder("chat.websocket.sessions", active, AtomicInteger::get)
+                    .tag("transport", transport)
+                    .description("Open chat WebSocket sessions by transport")
+                    .register(meterRegistry);
+            connections.put(transport, Counter.builder("chat.websocket.connections")
+                    .tag("transport", transport)
+                    .description("Chat WebSocket sessions opened by transport")
+                    .register(meterRegistry));
+        }
+        Gauge.builder("chat.websocket.sessions.compressed", compressedSessions, AtomicInteger::get)
+                .description("Open chat WebSocket sessions using permessage-deflate")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                String transport = transportOf(session);
+                boolean compressed = isCompressed(session);
+                session.getAttributes().put(TRANSPORT_ATTRIBUTE, transport);
+                session.getAttributes().put(COMPRESSED_ATTRIBUTE, compressed);
+                activeSessions.get(transport).incrementAndGet();
+                connections.get(transport).increment();
+                if (compressed) {
+                    compressedSessions.incrementAndGet();
+                }
+                super.afterConnectionEstablished(session);
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                Object transport = session.getAttributes().remove(TRANSPORT_ATTRIBUTE);
+                if (transport != null) {
+                    activeSessions.get(transport).decrementAndGet();
+                    if (Boolean.TRUE.equals(session.getAttributes().remove(COMPRESSED_ATTRIBUTE))) {
+                        compressedSessions.decrementAndGet();
+                    }
+                }
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        };
+    }
+
+    /**
+     * 세션이 바이너리 프레임을 그대로 전달할 수 있는 WebSocket 전송인지 확인합니다.
+     *
+     * @param sessionAttributes 세션 속성
+     * @return SockJS가 아닌 WebSocket 전송이면 true
+     */
+    public static boolean isRawWebSocket(Map<String, Object> sessionAttributes) {
+        return sessionAttributes != null && TRANSPORT_WEBSOCKET.equals(sessionAttributes.get(TRANSPORT_ATTRIBUTE));
+    }
+
+    private static String transportOf(WebSocketSession session) {
+        if (!(session instanceof SockJsSession)) {
+            return TRANSPORT_WEBSOCKET;
+        }
+        if (session instanceof WebSocketServerSockJsSession) {
+            return TRANSPORT_SOCKJS_WEBSOCKET;
+        }
+        if (session instanceof StreamingSockJsSession) {
+            return TRANSPORT_SOCKJS_STREAMING;
+        }
+        return TRANSPORT_SOCKJS_POLLING;
+    }
+
+    /**
+     * 컨테이너(Tomcat)는 클라이언트가 permessage-deflate를 제안하면 세션마다 협상하며,
+     * 협상 결과는 세션의 확장 목록으로 확인합니다.
+     */
+    private static boolean isCompressed(WebSocketSession session) {
+        if (session instanceof SockJsSession) {
+            return false;
+        }
+        List<WebSocketExtension> extensions = session.getExtensions();
+        return extensions != null && extensions.stream()
+                .anyMatch(extension -> PERMESSAGE_DEFLATE.equalsIgnoreCase(extension.getName()));
+    }
+}
@@ -0,0 +1,128 @@
+package com.makestar.chat.websocket;
+
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.util.concurrent.ListenableFuture;
+import org.springframework.util.concurrent.ListenableFutureTask;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 작업마다 가상 스레드를 만들어 실행하는 채널 실행기 (Java 21 이상)
+ * STOMP 채널 설정은 ThreadPoolTaskExecutor만 받으므로 같은 타입을 유지하면서 실행만 가상 스레드로 위임합니다.
+ * JPA, Feign 호출처럼 대기가 긴 핸들러가 스레드 풀을 점유하지 않으므로 느린 메시지가 다른 메시지의 처리를 막지 않습니다.
+ * 동시 실행 수는 제한하지 않으며, 데이터베이스 커넥션 풀 등 실제 자원이 대기 수를 정합니다.
+ * 애플리케이션은 Java 17로 빌드하므로 가상 스레드 API는 리플렉션으로 사용합니다.
+ */
+public class VirtualThreadTaskExecutor extends ThreadPoolTaskExecutor {
+
+    private final AtomicInteger activeCount = new AtomicInteger();
+
+    private ExecutorService virtualExecutor;
+
+    /**
+     * 가상 스레드 실행기를 만듭니다.
+     * 상위 클래스의 스레드 풀도 만들어 두지만 작업을 받지 않으므로 스레드는 생성되지 않습니다.
+     */
+    @Override
+    protected ExecutorService initializeExecutor(ThreadFactory threadFactory, RejectedExecutionHandler rejectedExecutionHandler) {
+        this.virtualExecutor = newVirtualThreadPerTaskExecutor(getThreadNamePrefix());
+        return super.initializeExecutor(threadFactory, rejectedExecutionHandler);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        try {
+            virtualExecutor.execute(() -> {
+                activeCount.incrementAndGet();
+                try {
+                    task.run();
+                } finally {
+                    activeCount.decrementAndGet();
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            throw new TaskRejectedException("Virtual thread executor did not accept task: " + task, ex);
+        }
+    }
+
+    @Override
+    public Future<?> submit(Runnable task) {
+        FutureTask<Object> future = new FutureTask<>(task, null);
+        execute(future);
+        return future;
+    }
+
+    @Override
+    public <T> Future<T> submit(Callable<T> task) {
+        FutureTask<T> future = new FutureTask<>(task);
+        execute(future);
+        return future;
+    }
+
+    @Override
+    public ListenableFuture<?> submitListenable(Runnable task) {
+        ListenableFutureTask<Object> future = new ListenableFutureTask<>(task, null);
+        execute(future);
+        return future;
+    }
+
+    @Override
+    public <T> ListenableFuture<T> submitListenable(Callable<T> task) {
+        ListenableFutureTask<T> future = new ListenableFutureTask<>(task);
+        execute(future);
+        return future;
+    }
+
+    /**
+     * 실행 중인 가상 스레드 수를 반환합니다.
+     */
+    @Override
+    public int getActiveCount() {
+        return activeCount.get();
+    }
+
+    /**
+     * 가상 스레드는 풀에 보관하지 않으므로 실행 중인 가상 스레드 수를 반환합니다.
+     */
+    @Override
+    public int getPoolSize() {
+        return activeCount.get();
+    }
+
+    @Override
+    public void shutdown() {
+        if (virtualExecutor != null) {
+            virtualExecutor.shutdown();
+        }
+        super.shutdown();
+    }
+
+    /**
+     * Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(prefix, 0).factory())를 호출합니다.
+     *
+     * @throws IllegalStateException Java 21 미만에서 실행한 경우
+     */
+    private static ExecutorService newVirtualThreadPerTaskExecutor(String threadNamePrefix) {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, threadNamePrefix, 0L);
+            ThreadFactory factory = (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+            Method newThreadPerTaskExecutor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            return (ExecutorService) newThreadPerTaskExecutor.invoke(null, factory);
+        } catch (ReflectiveOperationException ex) {
+            throw new IllegalStateException("Virtual threads require Java 21 or later (running on Java "
+                    + Runtime.version().feature() + ")", ex);
+        }
+    }
+}
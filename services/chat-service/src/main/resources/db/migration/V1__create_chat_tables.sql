@@ -0,0 +1,56 @@
+-- 채팅 서비스 기본 스키마
+-- 기존 데이터베이스는 baseline-on-migrate로 이 버전을 기준선으로 등록하므로 실행되지 않습니다.
+-- 새 데이터베이스에서는 엔티티 매핑과 같은 테이블을 생성합니다.
+
+CREATE TABLE IF NOT EXISTS chat_rooms (
+    id          VARCHAR(255) PRIMARY KEY,
+    name        VARCHAR(255) NOT NULL,
+    description VARCHAR(255),
+    creator_id  VARCHAR(255),
+    type        INTEGER      NOT NULL,
+    created_at  TIMESTAMP    NOT NULL,
+    updated_at  TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS chat_room_participants (
+    chat_room_id VARCHAR(255) NOT NULL REFERENCES chat_rooms (id),
+    user_id      VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS chat_messages (
+    id           VARCHAR(255) PRIMARY KEY,
+    chat_room_id VARCHAR(255) NOT NULL,
+    sender_id    VARCHAR(255) NOT NULL,
+    content      VARCHAR(255) NOT NULL,
+    type         VARCHAR(255) NOT NULL,
+    sent_at      TIMESTAMP    NOT NULL,
+    read         BOOLEAN      NOT NULL DEFAULT FALSE,
+    read_at      TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS chat_inbox_entries (
+    id                   VARCHAR(255) PRIMARY KEY,
+    user_id              VARCHAR(255) NOT NULL,
+    chat_room_id         VARCHAR(255) NOT NULL,
+    last_message_id      VARCHAR(255),
+    last_message_snippet VARCHAR(100),
+    last_sender_id       VARCHAR(255),
+    last_sender_name     VARCHAR(255),
+    last_message_type    VARCHAR(255),
+    last_message_at      TIMESTAMP    NOT NULL,
+    unread_count         BIGINT       NOT NULL DEFAULT 0,
+    CONSTRAINT uk_chat_inbox_entries_user_room UNIQUE (user_id, chat_room_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_chat_inbox_entries_user_last_message
+    ON chat_inbox_entries (user_id, last_message_at);
+
+CREATE TABLE IF NOT EXISTS chat_read_cursors (
+    id                   VARCHAR(255) PRIMARY KEY,
+    chat_room_id         VARCHAR(255) NOT NULL,
+    user_id              VARCHAR(255) NOT NULL,
+    last_read_sent_at    TIMESTAMP    NOT NULL,
+    last_read_message_id VARCHAR(255),
+    updated_at           TIMESTAMP    NOT NULL,
+    CONSTRAINT uk_chat_read_cursors_room_user UNIQUE (chat_room_id, user_id)
+);
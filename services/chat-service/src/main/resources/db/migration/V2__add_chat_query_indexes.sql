@@ -0,0 +1,20 @@
+-- 채팅 조회 쿼리용 인덱스
+-- 운영 중인 테이블의 쓰기를 막지 않도록 CONCURRENTLY로 생성하며,
+-- Flyway는 이 스크립트를 트랜잭션 밖에서 실행합니다.
+
+-- 채팅방별 메시지 최신순 조회, 키셋 페이지네이션, 최근 메시지와 읽지 않은 메시지 수 계산
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_chat_messages_room_sent_at_id
+    ON chat_messages (chat_room_id, sent_at DESC, id DESC);
+
+-- 읽음 표시되지 않은 메시지만 포함하는 부분 인덱스 (일괄 읽음 처리)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_chat_messages_room_unread
+    ON chat_messages (chat_room_id, sent_at)
+    WHERE read = FALSE;
+
+-- 사용자가 참여한 채팅방 조회 (MEMBER OF, 참여자 조인)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_chat_room_participants_user_room
+    ON chat_room_participants (user_id, chat_room_id);
+
+-- 채팅방별 참여자 조회와 참여자 수 계산
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_chat_room_participants_room
+    ON chat_room_participants (chat_room_id);
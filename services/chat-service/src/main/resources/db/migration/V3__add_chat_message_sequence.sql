@@ -0,0 +1,42 @@
+-- 채팅방별 메시지 순번
+-- 메시지 저장 시 chat_rooms.last_seq를 증가시켜 채팅방 안에서 단조 증가하는 순번을 할당합니다.
+-- 재연결한 클라이언트는 마지막으로 받은 순번 이후의 메시지만 다시 받습니다.
+--
+-- 운영 중인 테이블을 오래 잠그지 않도록 다음과 같이 실행합니다.
+-- 컬럼 추가는 기본값이 상수이므로(PostgreSQL 11 이상) 테이블을 다시 쓰지 않고 잠깐만 잠급니다.
+-- 기존 메시지의 순번은 채팅방 단위 UPDATE로 채우고 100개 채팅방마다 커밋하므로,
+-- 한 번에 잠기는 행은 처리 중인 채팅방의 메시지뿐입니다.
+-- 유니크 인덱스는 CONCURRENTLY로 생성하며, 이 스크립트는 트랜잭션 밖에서 실행됩니다(spring.flyway.mixed).
+
+ALTER TABLE chat_rooms ADD COLUMN IF NOT EXISTS last_seq BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE chat_messages ADD COLUMN IF NOT EXISTS seq BIGINT;
+
+-- 기존 메시지는 채팅방마다 전송 시간 순서로 순번을 채움
+DO $$
+DECLARE
+    room RECORD;
+    processed_rooms INTEGER := 0;
+BEGIN
+    FOR room IN SELECT DISTINCT chat_room_id FROM chat_messages WHERE seq IS NULL LOOP
+        UPDATE chat_messages m
+        SET seq = numbered.seq
+        FROM (SELECT id, ROW_NUMBER() OVER (ORDER BY sent_at, id) AS seq
+              FROM chat_messages
+              WHERE chat_room_id = room.chat_room_id) numbered
+        WHERE m.id = numbered.id AND m.seq IS NULL;
+
+        UPDATE chat_rooms
+        SET last_seq = COALESCE((SELECT MAX(seq) FROM chat_messages WHERE chat_room_id = room.chat_room_id), 0)
+        WHERE id = room.chat_room_id;
+
+        processed_rooms := processed_rooms + 1;
+        IF processed_rooms % 100 = 0 THEN
+            COMMIT;
+        END IF;
+    END LOOP;
+END $$;
+
+-- 순번 이후 메시지 조회 (재연결 시 누락 구간 조회)
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS uk_chat_messages_room_seq
+    ON chat_messages (chat_room_id, seq);
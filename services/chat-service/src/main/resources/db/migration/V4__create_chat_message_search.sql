@@ -0,0 +1,18 @@
+-- 메시지 검색 색인
+-- 메시지 내용을 애플리케이션에서 한글 bigram 토큰으로 나눈 tsvector를 저장하고 GIN 인덱스로 검색합니다.
+-- 메시지가 삭제되면 색인 행도 함께 삭제되며, 기존 메시지는 애플리케이션 시작 후 백그라운드에서 색인됩니다.
+
+CREATE TABLE IF NOT EXISTS chat_message_search (
+    message_id   VARCHAR(255) PRIMARY KEY REFERENCES chat_messages (id) ON DELETE CASCADE,
+    chat_room_id VARCHAR(255) NOT NULL,
+    sent_at      TIMESTAMP    NOT NULL,
+    tokens       TSVECTOR     NOT NULL
+);
+
+-- 토큰 검색
+CREATE INDEX IF NOT EXISTS idx_chat_message_search_tokens
+    ON chat_message_search USING GIN (tokens);
+
+-- 채팅방별 검색 결과 정렬
+CREATE INDEX IF NOT EXISTS idx_chat_message_search_room_sent_at
+    ON chat_message_search (chat_room_id, sent_at DESC);
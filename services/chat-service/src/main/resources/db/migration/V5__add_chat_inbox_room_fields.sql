@@ -0,0 +1,54 @@
+-- 인박스 항목에 채팅방 정보 저장 및 기존 참여자의 인박스 채우기
+-- 채팅방 목록 조회가 인박스 테이블만 범위 조회하도록 목록에 필요한 채팅방 정보를 인박스 항목에 함께 저장합니다.
+-- 인박스 도입 이전에 참여한 채팅방의 항목은 여기서 한 번 만들어 두므로, 조회 시 인박스가 모든 채팅방을
+-- 포함하는지 확인하지 않습니다. 새로 만든 항목의 마지막 메시지 발신자 이름은 조회 시 발신자 이름 캐시로 채웁니다.
+-- 인박스 테이블 전체를 한 번 갱신하므로 배포 시 데이터 양에 비례하는 시간이 걸립니다.
+
+ALTER TABLE chat_inbox_entries ADD COLUMN IF NOT EXISTS chat_room_name VARCHAR(255);
+ALTER TABLE chat_inbox_entries ADD COLUMN IF NOT EXISTS chat_room_description VARCHAR(255);
+ALTER TABLE chat_inbox_entries ADD COLUMN IF NOT EXISTS chat_room_type VARCHAR(255);
+ALTER TABLE chat_inbox_entries ADD COLUMN IF NOT EXISTS chat_room_created_at TIMESTAMP;
+ALTER TABLE chat_inbox_entries ADD COLUMN IF NOT EXISTS chat_room_updated_at TIMESTAMP;
+ALTER TABLE chat_inbox_entries ADD COLUMN IF NOT EXISTS participant_ids TEXT;
+
+-- 인박스 항목이 없는 참여자의 항목 만들기 (마지막 메시지와 읽음 위치 이후의 읽지 않은 메시지 수 계산)
+INSERT INTO chat_inbox_entries (id, user_id, chat_room_id, last_message_id, last_message_snippet,
+                                last_sender_id, last_message_type, last_message_at, unread_count)
+SELECT md5(p.user_id || ':' || p.chat_room_id)::uuid::text,
+       p.user_id,
+       p.chat_room_id,
+       m.id,
+       LEFT(m.content, 100),
+       m.sender_id,
+       m.type,
+       COALESCE(m.sent_at, r.created_at),
+       (SELECT COUNT(*)
+        FROM chat_messages u
+        LEFT JOIN chat_read_cursors c ON c.chat_room_id = u.chat_room_id AND c.user_id = p.user_id
+        WHERE u.chat_room_id = p.chat_room_id
+          AND u.sender_id <> p.user_id
+          AND (c.id IS NULL OR u.sent_at > c.last_read_sent_at))
+FROM chat_room_participants p
+JOIN chat_rooms r ON r.id = p.chat_room_id
+LEFT JOIN LATERAL (SELECT id, content, sender_id, type, sent_at
+                   FROM chat_messages
+                   WHERE chat_room_id = p.chat_room_id
+                   ORDER BY sent_at DESC, id DESC
+                   LIMIT 1) m ON TRUE
+WHERE p.user_id IS NOT NULL
+  AND NOT EXISTS (SELECT 1 FROM chat_inbox_entries e
+                  WHERE e.user_id = p.user_id AND e.chat_room_id = p.chat_room_id)
+ON CONFLICT (user_id, chat_room_id) DO NOTHING;
+
+-- 모든 항목에 채팅방 정보 채우기 (chat_rooms.type은 열거형 순서: 0=DIRECT, 1=GROUP)
+UPDATE chat_inbox_entries e
+SET chat_room_name        = r.name,
+    chat_room_description = r.description,
+    chat_room_type        = CASE r.type WHEN 0 THEN 'DIRECT' ELSE 'GROUP' END,
+    chat_room_created_at  = r.created_at,
+    chat_room_updated_at  = r.updated_at,
+    participant_ids       = (SELECT string_agg(p.user_id, ',')
+                             FROM chat_room_participants p
+                             WHERE p.chat_room_id = r.id)
+FROM chat_rooms r
+WHERE r.id = e.chat_room_id;
@@ -4,7 +4,11 @@ import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 
+import com.makestar.commons.dto.user.UserSummaryDto;
+
+import java.util.Collection;
 import java.util.Map;
 
 /**
@@ -18,6 +22,7 @@ import java.util.Map;
  * <ul>
  *   <li>사용자 ID 기반 정보 조회</li>
  *   <li>사용자 이름 기반 정보 조회</li>
+ *   <li>여러 사용자의 요약 정보 일괄 조회</li>
  * </ul>
  * 
  * <p>사용 예시:</p>
@@ -64,4 +69,17 @@ public interface UserServiceClient {
      */
     @GetMapping("/api/users/username/{username}")
     ResponseEntity<Map<String, Object>> getUserByUsername(@PathVariable("username") String username);
-} 
\ No newline at end of file
+
+    /**
+     * 여러 사용자의 요약 정보를 한 번에 조회합니다.
+     * 
+     * <p>User Service의 '/api/users/names' 엔드포인트를 호출하여
+     * 여러 사용자의 ID, 사용자명, 상태를 IN 조건의 쿼리 한 번으로 가져옵니다.</p>
+     * 
+     * @param userIds 조회할 사용자 ID 목록
+     * @return 사용자 ID별 요약 정보가 담긴 ResponseEntity. 존재하지 않는 사용자는 포함되지 않습니다.
+     * @throws FeignException 기타 HTTP 통신 오류 발생 시
+     */
+    @GetMapping("/api/users/names")
+    ResponseEntity<Map<String, UserSummaryDto>> getUserSummaries(@RequestParam("userIds") Collection<String> userIds);
+}
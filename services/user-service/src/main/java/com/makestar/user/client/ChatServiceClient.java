@@ -0,0 +1,23 @@
+package com.makestar.user.client;
+
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+
+/**
+ * 채팅 서비스와의 통신을 담당하는 Feign 클라이언트 인터페이스
+ * 사용자 정보 변경을 채팅 서비스의 캐시에 알리는 API를 호출합니다.
+ */
+@FeignClient(name = "chat-service")
+public interface ChatServiceClient {
+
+    /**
+     * 채팅 서비스의 발신자 이름 캐시에서 사용자를 제거합니다.
+     *
+     * @param userId 사용자 ID
+     * @return 빈 응답
+     */
+    @DeleteMapping("/api/internal/sender-cache/{userId}")
+    ResponseEntity<Void> evictSenderName(@PathVariable("userId") String userId);
+}
@@ -8,9 +8,12 @@ import org.springframework.web.bind.annotation.*;
 
 import com.makestar.commons.dto.user.FriendRequestDto;
 import com.makestar.commons.dto.user.UserDto;
+import com.makestar.commons.dto.user.UserPresenceDto;
+import com.makestar.commons.dto.user.UserSummaryDto;
 import com.makestar.user.service.UserService;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * 사용자 관련 REST API를 제공하는 컨트롤러 클래스입니다.
@@ -60,6 +63,19 @@ public class UserController {
         return ResponseEntity.ok(userDto);
     }
 
+    /**
+     * 여러 사용자의 요약 정보를 한 번에 조회합니다.
+     * 다른 서비스에서 메시지 발신자나 채팅방 참여자의 이름을 일괄 조회할 때 사용합니다.
+     * 
+     * @param userIds 조회할 사용자 ID 목록
+     * @return 사용자 ID별 요약 정보를 포함한 ResponseEntity
+     */
+    @GetMapping("/names")
+    public ResponseEntity<Map<String, UserSummaryDto>> getUserSummaries(@RequestParam List<String> userIds) {
+        log.info("Fetching summaries for {} users", userIds.size());
+        return ResponseEntity.ok(userService.getUserSummaries(userIds));
+    }
+
     /**
      * 키워드로 사용자를 검색합니다.
      * 
@@ -101,6 +117,20 @@ public class UserController {
         return ResponseEntity.ok(updatedUser);
     }
 
+    /**
+     * 여러 사용자의 접속 상태와 마지막 접속 시간을 한 번에 저장합니다.
+     * 채팅 서비스가 WebSocket 연결 상태를 모아 주기적으로 호출합니다.
+     * 
+     * @param presences 사용자별 접속 상태 목록
+     * @return 빈 ResponseEntity (204 No Content)
+     */
+    @PutMapping("/presence")
+    public ResponseEntity<Void> updatePresence(@RequestBody List<UserPresenceDto> presences) {
+        log.debug("Updating presence for {} users", presences.size());
+        userService.updatePresence(presences);
+        return ResponseEntity.noContent().build();
+    }
+
     /**
      * 특정 사용자의 친구 목록을 조회합니다.
      * 
@@ -0,0 +1,61 @@
+package com.makestar.user.presence;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.makestar.user.service.UserService;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 오래된 온라인 상태를 주기적으로 오프라인 처리하는 컴포넌트
+ * 채팅 서비스는 연결 중인 사용자의 마지막 접속 시간을 주기적으로 갱신하므로,
+ * stale-after 동안 갱신되지 않은 온라인 사용자는 연결이 끊긴 것으로 간주합니다.
+ */
+@Component
+@Slf4j
+public class StalePresenceExpirer {
+
+    private final UserService userService;
+    private final Duration staleAfter;
+    private final Duration expiryInterval;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "user-presence-expirer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public StalePresenceExpirer(UserService userService,
+                                @Value("${user.presence.stale-after:5m}") Duration staleAfter,
+                                @Value("${user.presence.expiry-interval:1m}") Duration expiryInterval) {
+        this.userService = userService;
+        this.staleAfter = staleAfter;
+        this.expiryInterval = expiryInterval;
+    }
+
+    @PostConstruct
+    public void start() {
+        long intervalMillis = expiryInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::expire, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    private void expire() {
+        try {
+            userService.expireStalePresence(LocalDateTime.now().minus(staleAfter));
+        } catch (Exception e) {
+            log.warn("Failed to expire stale online users: {}", e.getMessage());
+        }
+    }
+}
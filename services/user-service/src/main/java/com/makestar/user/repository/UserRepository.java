@@ -1,12 +1,15 @@
 package com.makestar.user.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.makestar.commons.model.User;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -64,4 +67,18 @@ public interface UserRepository extends JpaRepository<User, String> {
      */
     @Query("SELECT u FROM User u JOIN u.friends f WHERE f.id = :userId")
     List<User> findFriendsByUserId(@Param("userId") String userId);
-} 
\ No newline at end of file
+
+    /**
+     * 마지막 접속 시간이 기준 시간보다 오래된 온라인 사용자를 한 번의 UPDATE 문으로 오프라인 처리합니다.
+     * 접속 상태 갱신이 끊긴(인스턴스 종료 등) 사용자가 계속 온라인으로 남지 않도록 합니다.
+     * 
+     * @param cutoff 기준 시간
+     * @return 오프라인 처리된 사용자 수
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.status = com.makestar.commons.model.User$UserStatus.OFFLINE " +
+           "WHERE u.status = com.makestar.commons.model.User$UserStatus.ONLINE " +
+           "AND (u.lastSeen IS NULL OR u.lastSeen < :cutoff)")
+    int expireOnlineUsersSeenBefore(@Param("cutoff") LocalDateTime cutoff);
+}
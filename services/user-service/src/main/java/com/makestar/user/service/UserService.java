@@ -1,9 +1,14 @@
 package com.makestar.user.service;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 import com.makestar.commons.dto.user.FriendRequestDto;
 import com.makestar.commons.dto.user.UserDto;
+import com.makestar.commons.dto.user.UserPresenceDto;
+import com.makestar.commons.dto.user.UserSummaryDto;
 
 /**
  * 사용자 서비스의 비즈니스 로직을 정의하는 인터페이스입니다.
@@ -25,6 +30,13 @@ public interface UserService {
      */
     UserDto getUserByUsername(String username);
     
+    /**
+     * 여러 사용자의 요약 정보를 한 번에 조회합니다.
+     * @param userIds 조회할 사용자 ID 목록
+     * @return 사용자 ID별 요약 정보. 존재하지 않는 사용자는 포함되지 않습니다.
+     */
+    Map<String, UserSummaryDto> getUserSummaries(Collection<String> userIds);
+    
     /**
      * 키워드로 사용자를 검색합니다.
      * @param keyword 검색할 키워드
@@ -48,6 +60,21 @@ public interface UserService {
      */
     UserDto updateUserStatus(String userId, String status);
     
+    /**
+     * 여러 사용자의 접속 상태와 마지막 접속 시간을 한 번에 저장합니다.
+     * 채팅 서비스가 WebSocket 연결 상태를 모아 주기적으로 호출합니다.
+     * @param presences 사용자별 접속 상태 목록
+     * @return 갱신된 사용자 수
+     */
+    int updatePresence(Collection<UserPresenceDto> presences);
+    
+    /**
+     * 마지막 접속 시간이 기준 시간보다 오래된 온라인 사용자를 오프라인 처리합니다.
+     * @param cutoff 기준 시간
+     * @return 오프라인 처리된 사용자 수
+     */
+    int expireStalePresence(LocalDateTime cutoff);
+    
     /**
      * 특정 사용자의 친구 목록을 조회합니다.
      * @param userId 친구 목록을 조회할 사용자의 ID
@@ -4,18 +4,28 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import com.makestar.commons.dto.user.FriendRequestDto;
 import com.makestar.commons.dto.user.UserDto;
+import com.makestar.commons.dto.user.UserPresenceDto;
+import com.makestar.commons.dto.user.UserSummaryDto;
 import com.makestar.commons.model.FriendRequest;
 import com.makestar.commons.model.User;
+import com.makestar.user.client.ChatServiceClient;
 import com.makestar.user.repository.FriendRequestRepository;
 import com.makestar.user.repository.UserRepository;
 import com.makestar.user.service.UserService;
 
 import javax.persistence.EntityNotFoundException;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 /**
@@ -37,6 +47,7 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final FriendRequestRepository friendRequestRepository;
+    private final ChatServiceClient chatServiceClient;
 
     /**
      * 사용자 ID로 사용자 정보를 조회합니다.
@@ -80,8 +91,27 @@ public class UserServiceImpl implements UserService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * 여러 사용자의 요약 정보를 한 번에 조회합니다.
+     * 중복을 제거한 ID 목록에 대해 IN 조건의 쿼리 한 번으로 조회합니다.
+     * 
+     * @param userIds 조회할 사용자 ID 목록
+     * @return 사용자 ID별 요약 정보. 존재하지 않는 사용자는 포함되지 않습니다.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, UserSummaryDto> getUserSummaries(Collection<String> userIds) {
+        if (userIds.isEmpty()) {
+            return new HashMap<>();
+        }
+        
+        return userRepository.findAllById(new HashSet<>(userIds)).stream()
+                .collect(Collectors.toMap(User::getId, UserSummaryDto::fromEntity));
+    }
+
     /**
      * 사용자 프로필 정보를 업데이트합니다.
+     * 사용자명이 변경되면 커밋 후 채팅 서비스의 발신자 이름 캐시를 무효화합니다.
      * 
      * @param userId 업데이트할 사용자의 ID
      * @param userDto 업데이트할 사용자 정보
@@ -94,10 +124,14 @@ public class UserServiceImpl implements UserService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + userId));
         
+        boolean usernameChanged = !Objects.equals(user.getUsername(), userDto.getUsername());
         user.setUsername(userDto.getUsername());
         user.setEmail(userDto.getEmail());
         
         User savedUser = userRepository.save(user);
+        if (usernameChanged) {
+            evictChatSenderNameAfterCommit(userId);
+        }
         return UserDto.fromEntity(savedUser);
     }
 
@@ -123,6 +157,61 @@ public class UserServiceImpl implements UserService {
         return UserDto.fromEntity(savedUser);
     }
 
+    /**
+     * 여러 사용자의 접속 상태와 마지막 접속 시간을 한 번에 저장합니다.
+     * 사용자를 IN 조건의 쿼리 한 번으로 조회한 뒤 변경하며, UPDATE 문은 JDBC 배치로 전송됩니다.
+     * 저장된 시간보다 오래된 상태는 무시하며, 사용자가 직접 설정한 자리비움/다른 용무중 상태는
+     * 온라인 알림으로 덮어쓰지 않고 마지막 접속 시간만 갱신합니다.
+     * 
+     * @param presences 사용자별 접속 상태 목록
+     * @return 갱신된 사용자 수
+     */
+    @Override
+    @Transactional
+    public int updatePresence(Collection<UserPresenceDto> presences) {
+        if (presences.isEmpty()) {
+            return 0;
+        }
+        
+        Map<String, UserPresenceDto> presenceByUser = new HashMap<>();
+        for (UserPresenceDto presence : presences) {
+            presenceByUser.merge(presence.getUserId(), presence, (current, candidate) ->
+                    candidate.getLastSeen().isAfter(current.getLastSeen()) ? candidate : current);
+        }
+        
+        int updated = 0;
+        for (User user : userRepository.findAllById(presenceByUser.keySet())) {
+            UserPresenceDto presence = presenceByUser.get(user.getId());
+            if (user.getLastSeen() != null && presence.getLastSeen().isBefore(user.getLastSeen())) {
+                continue;
+            }
+            User.UserStatus status = User.UserStatus.valueOf(presence.getStatus().name());
+            boolean manualStatus = user.getStatus() == User.UserStatus.AWAY || user.getStatus() == User.UserStatus.BUSY;
+            if (status != User.UserStatus.ONLINE || !manualStatus) {
+                user.setStatus(status);
+            }
+            user.setLastSeen(presence.getLastSeen());
+            updated++;
+        }
+        log.debug("Updated presence for {} of {} users", updated, presenceByUser.size());
+        return updated;
+    }
+
+    /**
+     * 마지막 접속 시간이 기준 시간보다 오래된 온라인 사용자를 한 번의 UPDATE 문으로 오프라인 처리합니다.
+     * 
+     * @param cutoff 기준 시간
+     * @return 오프라인 처리된 사용자 수
+     */
+    @Override
+    public int expireStalePresence(LocalDateTime cutoff) {
+        int expired = userRepository.expireOnlineUsersSeenBefore(cutoff);
+        if (expired > 0) {
+            log.info("Marked {} stale online users as offline (last seen before {})", expired, cutoff);
+        }
+        return expired;
+    }
+
     /**
      * 특정 사용자의 친구 목록을 조회합니다.
      * 
@@ -330,4 +419,24 @@ public class UserServiceImpl implements UserService {
                 .updatedAt(friendRequest.getUpdatedAt())
                 .build();
     }
-} 
\ No newline at end of file
+
+    /**
+     * 트랜잭션이 커밋된 후 채팅 서비스의 발신자 이름 캐시를 무효화합니다.
+     * 커밋 전에 무효화하면 채팅 서비스가 변경 전 이름을 다시 캐시할 수 있기 때문입니다.
+     * 호출에 실패해도 채팅 서비스의 캐시는 만료 시간이 지나면 갱신되므로 오류를 전파하지 않습니다.
+     * 
+     * @param userId 사용자 ID
+     */
+    private void evictChatSenderNameAfterCommit(String userId) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    chatServiceClient.evictSenderName(userId);
+                } catch (Exception e) {
+                    log.warn("Failed to evict chat sender name cache for user {}: {}", userId, e.getMessage());
+                }
+            }
+        });
+    }
+}
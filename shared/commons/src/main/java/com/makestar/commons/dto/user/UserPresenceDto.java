@@ -0,0 +1,28 @@
+package com.makestar.commons.dto.user;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 사용자의 접속 상태와 마지막 접속 시간을 전달하는 DTO 클래스입니다.
+ * 채팅 서비스의 접속 상태 조회 응답과 User Service로의 일괄 저장 요청에 사용합니다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserPresenceDto {
+
+    /** 사용자의 고유 식별자 */
+    private String userId;
+
+    /** 사용자의 접속 상태 */
+    private UserDto.UserStatus status;
+
+    /** 마지막으로 활동이 확인된 시간 */
+    private LocalDateTime lastSeen;
+}
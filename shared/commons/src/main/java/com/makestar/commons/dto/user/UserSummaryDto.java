@@ -0,0 +1,46 @@
+package com.makestar.commons.dto.user;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import com.makestar.commons.model.User;
+
+/**
+ * 서비스 간 사용자 일괄 조회에 사용하는 요약 DTO 클래스입니다.
+ * 메시지 발신자나 채팅방 참여자 표시처럼 이름과 상태만 필요한 경우에 사용합니다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSummaryDto {
+
+    /** 사용자의 고유 식별자 */
+    private String id;
+
+    /** 사용자명 */
+    private String username;
+
+    /** 사용자의 현재 상태 */
+    private UserDto.UserStatus status;
+
+    /**
+     * User 엔티티를 UserSummaryDto 객체로 변환합니다.
+     *
+     * @param user 변환할 User 엔티티 객체
+     * @return 변환된 UserSummaryDto 객체
+     */
+    public static UserSummaryDto fromEntity(User user) {
+        if (user == null) {
+            return null;
+        }
+
+        return UserSummaryDto.builder()
+                .id(user.getId())
+                .username(user.getUsername())
+                .status(user.getStatus() != null ? UserDto.UserStatus.valueOf(user.getStatus().name()) : null)
+                .build();
+    }
+}